@@ -3,6 +3,7 @@ package com.fooddelivery.delivery;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * DELIVERY SERVICE - Main Application
@@ -10,9 +11,12 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
  * Handles delivery partner assignment and tracking
  *
  * ✅ Kafka ENABLED - Listens to order-events and delivery-events!
+ *
+ * @EnableScheduling: Runs background write-backs (e.g. partner location flushes)
  */
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class DeliveryServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(DeliveryServiceApplication.class, args);
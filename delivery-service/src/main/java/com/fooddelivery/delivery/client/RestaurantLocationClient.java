@@ -0,0 +1,105 @@
+package com.fooddelivery.delivery.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RESTAURANT LOCATION CLIENT - Pickup coordinates for dispatch
+ *
+ * Order events carry only the restaurant id. Restaurants practically never
+ * move, so their coordinates are fetched once from Restaurant Service
+ * (GET /restaurants/{id}) and kept for location-ttl-ms.
+ *
+ * Returns null when the restaurant has no coordinates or cannot be reached
+ * (and no earlier copy exists); dispatch then falls back to any available
+ * partner. Such misses and failures are remembered for failure-ttl-ms, so an
+ * unreachable Restaurant Service costs one bounded call (see
+ * RestTemplateConfig timeouts) per restaurant per interval, not one per
+ * assignment. Callers resolve the location once per order, and dispatch
+ * batches prefetch it before any assignment transaction starts.
+ */
+@Component
+@Slf4j
+public class RestaurantLocationClient {
+
+    private static final String RESTAURANT_URL = "http://restaurant-service/restaurants/%d";
+
+    private final RestTemplate restTemplate;
+    private final long ttlMillis;
+    private final long failureTtlMillis;
+
+    private final Map<Long, CachedLocation> locations = new ConcurrentHashMap<>();
+
+    public RestaurantLocationClient(RestTemplate restTemplate,
+                                    @Value("${delivery.dispatch.restaurant-location-ttl-ms:3600000}") long ttlMillis,
+                                    @Value("${delivery.dispatch.restaurant-location-failure-ttl-ms:30000}") long failureTtlMillis) {
+        this.restTemplate = restTemplate;
+        this.ttlMillis = ttlMillis;
+        this.failureTtlMillis = failureTtlMillis;
+    }
+
+    /**
+     * PICKUP LOCATION OF A RESTAURANT, or null if unknown
+     */
+    public Location getLocation(Long restaurantId) {
+        if (restaurantId == null) {
+            return null;
+        }
+        CachedLocation cached = locations.get(restaurantId);
+        if (cached == null || cached.expiresAt() < System.currentTimeMillis()) {
+            cached = refresh(restaurantId, cached);
+        }
+        return cached != null ? cached.location() : null;
+    }
+
+    private CachedLocation refresh(Long restaurantId, CachedLocation stale) {
+        try {
+            RestaurantDTO restaurant = restTemplate.getForObject(String.format(RESTAURANT_URL, restaurantId),
+                    RestaurantDTO.class);
+            Location location = restaurant != null && restaurant.getLatitude() != null && restaurant.getLongitude() != null
+                    ? new Location(restaurant.getLatitude(), restaurant.getLongitude())
+                    : null;
+            // No coordinates yet: asked again soon rather than in an hour
+            CachedLocation fresh = new CachedLocation(location,
+                    System.currentTimeMillis() + (location != null ? ttlMillis : failureTtlMillis));
+            locations.put(restaurantId, fresh);
+            return fresh;
+        } catch (Exception e) {
+            log.warn("Could not fetch location of restaurant {}, using {}: {}",
+                    restaurantId, stale != null ? "stale copy" : "no pickup location", e.getMessage());
+            CachedLocation retryLater = new CachedLocation(stale != null ? stale.location() : null,
+                    System.currentTimeMillis() + failureTtlMillis);
+            locations.put(restaurantId, retryLater);
+            return retryLater;
+        }
+    }
+
+    public record Location(double latitude, double longitude) {
+    }
+
+    private record CachedLocation(Location location, long expiresAt) {
+    }
+
+    /**
+     * Simple DTO for the restaurant fields dispatch needs
+     */
+    public static class RestaurantDTO {
+        private Long id;
+        private Double latitude;
+        private Double longitude;
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public Double getLatitude() { return latitude; }
+        public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+        public Double getLongitude() { return longitude; }
+        public void setLongitude(Double longitude) { this.longitude = longitude; }
+    }
+}
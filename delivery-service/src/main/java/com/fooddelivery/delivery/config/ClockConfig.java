@@ -0,0 +1,25 @@
+package com.fooddelivery.delivery.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Clock;
+
+/**
+ * CLOCK CONFIGURATION
+ *
+ * Dispatch timestamps (assignment, pickup, delivery, queue waits, location
+ * fixes) are taken from this clock rather than the system time directly,
+ * so the dispatch simulator can run the same code on simulated time
+ * (profile "simulation", see SimulationConfig).
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    @Profile("!simulation")
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
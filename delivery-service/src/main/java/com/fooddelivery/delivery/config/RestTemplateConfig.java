@@ -0,0 +1,41 @@
+package com.fooddelivery.delivery.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * REST TEMPLATE CONFIGURATION
+ *
+ * Configures RestTemplate for making HTTP calls to other microservices.
+ *
+ * @LoadBalanced annotation enables:
+ * - Service discovery via Eureka
+ * - Client-side load balancing
+ * - Automatic service URL resolution (e.g., http://restaurant-service)
+ *
+ * Connect and read timeouts are bounded: calls are made on dispatch paths,
+ * and a hanging Restaurant Service must not stall partner assignment.
+ */
+@Configuration
+public class RestTemplateConfig {
+
+    /**
+     * Creates a load-balanced RestTemplate bean
+     */
+    @Bean
+    @LoadBalanced
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${delivery.http.connect-timeout:500ms}") Duration connectTimeout,
+                                     @Value("${delivery.http.read-timeout:1s}") Duration readTimeout) {
+        return builder
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.fooddelivery.delivery.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * SINGLE INSTANCE LOCK - Delivery Service runs as exactly one instance
+ *
+ * Dispatch state lives in this process and is only updated by it:
+ * - PartnerGeoIndex        (available partners by location)
+ * - PartnerLocationTable   (latest pings, flushed to MySQL in batches)
+ * - PartnerRoutes          (stacked routes of busy partners)
+ * - TrackingHub            (live tracking sessions and their state)
+ * - PendingAssignmentQueue (in-memory order of the waiting orders)
+ * A second instance would build its own copies from a different subset of
+ * pings, assignments and WebSocket sessions, and the two would diverge
+ * (partners offered twice, routes unknown to one side, tracking frozen).
+ *
+ * So the service holds a MySQL named lock (GET_LOCK) on a dedicated
+ * connection for its whole lifetime. An instance that cannot get it fails
+ * at startup, before any Kafka listener or scheduled task runs. The lock is
+ * checked every check-interval-ms and taken again if the connection was
+ * lost. For a rolling deploy the old instance must be stopped first
+ * (or the new one started with a wait: delivery.single-instance.wait-seconds).
+ *
+ * Scaling out needs these structures fed across instances (e.g. a partner
+ * change topic) first; delivery.single-instance.enabled=false only for that.
+ */
+@Component
+@Profile("!simulation")
+@Slf4j
+public class SingleInstanceLock {
+
+    private static final String LOCK_NAME = "delivery-service.dispatch";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int waitSeconds;
+
+    private Connection connection;
+
+    public SingleInstanceLock(DataSource dataSource,
+                              @Value("${delivery.single-instance.enabled:true}") boolean enabled,
+                              @Value("${delivery.single-instance.wait-seconds:0}") int waitSeconds) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.waitSeconds = waitSeconds;
+    }
+
+    /**
+     * TAKE THE LOCK AT STARTUP (or fail the startup)
+     */
+    @PostConstruct
+    public void acquire() throws SQLException {
+        if (!enabled) {
+            log.warn("⚠️ Single-instance lock disabled: in-memory dispatch state is not shared between instances");
+            return;
+        }
+        if (!tryAcquire(waitSeconds)) {
+            throw new IllegalStateException("Another Delivery Service instance holds the lock '" + LOCK_NAME
+                    + "'; dispatch state is per process, so only one instance may run");
+        }
+        log.info("🔒 Holding single-instance lock '{}'", LOCK_NAME);
+    }
+
+    /**
+     * VERIFY THE LOCK IS STILL HELD (a dropped connection releases it)
+     */
+    @Scheduled(fixedDelayString = "${delivery.single-instance.check-interval-ms:30000}")
+    public synchronized void verify() {
+        if (!enabled || isHeld()) {
+            return;
+        }
+        log.error("🚨 Single-instance lock '{}' was lost, taking it again", LOCK_NAME);
+        try {
+            if (!tryAcquire(0)) {
+                log.error("🚨 Another Delivery Service instance took the lock '{}' - dispatch state will diverge",
+                        LOCK_NAME);
+            }
+        } catch (SQLException e) {
+            log.error("🚨 Could not take the single-instance lock '{}': {}", LOCK_NAME, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (connection == null) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Could not release single-instance lock '{}': {}", LOCK_NAME, e.getMessage());
+        } finally {
+            closeConnection();
+        }
+    }
+
+    private synchronized boolean tryAcquire(int timeoutSeconds) throws SQLException {
+        closeConnection();
+        Connection candidate = dataSource.getConnection();
+        try (PreparedStatement statement = candidate.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, timeoutSeconds);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next() && result.getInt(1) == 1) {
+                    connection = candidate;
+                    return true;
+                }
+            }
+        } catch (SQLException e) {
+            candidate.close();
+            throw e;
+        }
+        candidate.close();
+        return false;
+    }
+
+    private boolean isHeld() {
+        if (connection == null) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT IS_USED_LOCK(?) = CONNECTION_ID()")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing single-instance lock connection failed: {}", e.getMessage());
+        }
+        connection = null;
+    }
+}
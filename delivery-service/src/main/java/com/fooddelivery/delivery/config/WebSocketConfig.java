@@ -0,0 +1,45 @@
+package com.fooddelivery.delivery.config;
+
+import com.fooddelivery.delivery.tracking.TrackingWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+/**
+ * WEBSOCKET CONFIG - Live delivery tracking endpoint
+ *
+ * Plain WebSocket (no STOMP broker): TrackingHub decides per connection
+ * what to send and when, which a broker topic cannot.
+ *
+ * Clients only listen, so the per-connection receive buffers are kept
+ * small; at tens of thousands of connections the container's 8 KB
+ * defaults would cost hundreds of MB.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final TrackingWebSocketHandler trackingHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(trackingHandler, "/ws/deliveries/track").setAllowedOrigins("*");
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer(
+            @Value("${delivery.tracking.receive-buffer-bytes:1024}") int receiveBufferBytes,
+            @Value("${delivery.tracking.idle-timeout-ms:600000}") long idleTimeoutMillis) {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(receiveBufferBytes);
+        container.setMaxBinaryMessageBufferSize(receiveBufferBytes);
+        container.setMaxSessionIdleTimeout(idleTimeoutMillis);
+        return container;
+    }
+}
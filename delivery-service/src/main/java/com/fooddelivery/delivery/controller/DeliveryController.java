@@ -1,10 +1,14 @@
 package com.fooddelivery.delivery.controller;
 
 import com.fooddelivery.delivery.dto.DeliveryDTO;
+import com.fooddelivery.delivery.dto.NearbyPartnerDTO;
+import com.fooddelivery.delivery.dto.PartnerLocationDTO;
 import com.fooddelivery.delivery.entity.DeliveryStatus;
 import com.fooddelivery.delivery.service.DeliveryService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +22,11 @@ import java.util.List;
  * - GET /api/deliveries/partner/{partnerId} - Get all deliveries by partner
  * - PUT /api/deliveries/{id}/status - Update delivery status
  * - POST /api/deliveries/{orderId}/reassign - Reassign delivery partner
+ * - GET /api/deliveries/partners/nearby - Nearest available partners to a point
+ * - PUT /api/deliveries/partners/{partnerId}/location - Rider location ping
+ *
+ * Live tracking for customers: WebSocket /ws/deliveries/track?orderId=
+ * (TrackingWebSocketHandler)
  */
 @RestController
 @RequestMapping("/api/deliveries")
@@ -69,4 +78,38 @@ public class DeliveryController {
         DeliveryDTO reassignedDelivery = deliveryService.reassignDeliveryPartner(orderId);
         return ResponseEntity.ok(reassignedDelivery);
     }
+
+    /**
+     * RIDER LOCATION PING
+     * 202 Accepted: stored in memory, written to MySQL by the next batched flush.
+     * Not logged per request (riders ping every few seconds).
+     */
+    @PutMapping("/partners/{partnerId}/location")
+    public ResponseEntity<Void> updatePartnerLocation(
+            @PathVariable Long partnerId,
+            @Valid @RequestBody PartnerLocationDTO location) {
+        deliveryService.recordPartnerLocation(partnerId, location);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+
+    /**
+     * NEAREST AVAILABLE PARTNERS
+     * Example: GET /api/deliveries/partners/nearby?latitude=12.97&longitude=77.59&limit=5
+     */
+    @GetMapping("/partners/nearby")
+    public ResponseEntity<List<NearbyPartnerDTO>> getNearbyPartners(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("📥 GET /api/deliveries/partners/nearby - ({}, {}) limit {}", latitude, longitude, limit);
+        return ResponseEntity.ok(deliveryService.findNearbyPartners(latitude, longitude, limit));
+    }
+
+    /**
+     * Status change not allowed from the current status → 409 CONFLICT
+     */
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
 }
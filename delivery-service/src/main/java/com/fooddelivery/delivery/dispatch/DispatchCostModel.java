@@ -0,0 +1,70 @@
+package com.fooddelivery.delivery.dispatch;
+
+import com.fooddelivery.delivery.entity.VehicleType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * DISPATCH COST MODEL - How bad is sending this partner to this pickup?
+ *
+ * cost = pickup ETA (minutes) + rating-weight × (5 - partner rating)
+ *
+ * Pickup ETA is the straight-line distance at the vehicle's average city
+ * speed. The rating term makes a slightly farther, better-rated partner
+ * win over a close, poorly rated one; with the default weight one rating
+ * star is worth one minute of pickup time.
+ *
+ * Pairs beyond max-pickup-radius-km are infeasible.
+ */
+@Component
+public class DispatchCostModel {
+
+    private static final double MAX_RATING = 5.0;
+
+    private final double ratingWeight;
+    private final double maxPickupKm;
+    private final double bikeSpeedKmh;
+    private final double scooterSpeedKmh;
+    private final double carSpeedKmh;
+
+    public DispatchCostModel(@Value("${delivery.dispatch.rating-weight:1.0}") double ratingWeight,
+                             @Value("${delivery.dispatch.max-pickup-radius-km:15}") double maxPickupKm,
+                             @Value("${delivery.dispatch.speed-kmh.bike:15}") double bikeSpeedKmh,
+                             @Value("${delivery.dispatch.speed-kmh.scooter:22}") double scooterSpeedKmh,
+                             @Value("${delivery.dispatch.speed-kmh.car:18}") double carSpeedKmh) {
+        this.ratingWeight = ratingWeight;
+        this.maxPickupKm = maxPickupKm;
+        this.bikeSpeedKmh = bikeSpeedKmh;
+        this.scooterSpeedKmh = scooterSpeedKmh;
+        this.carSpeedKmh = carSpeedKmh;
+    }
+
+    /**
+     * COST OF ONE (order, partner) PAIR, or AssignmentSolver.INFEASIBLE
+     */
+    public double cost(double pickupDistanceKm, VehicleType vehicleType, Double rating) {
+        if (pickupDistanceKm > maxPickupKm) {
+            return AssignmentSolver.INFEASIBLE;
+        }
+        double ratingGap = MAX_RATING - (rating != null && rating > 0 ? Math.min(rating, MAX_RATING) : MAX_RATING / 2);
+        return travelMinutes(pickupDistanceKm, vehicleType) + ratingWeight * ratingGap;
+    }
+
+    /**
+     * TRAVEL TIME (minutes) for a distance at the vehicle's average speed
+     */
+    public double travelMinutes(double distanceKm, VehicleType vehicleType) {
+        return distanceKm / speedKmh(vehicleType) * 60.0;
+    }
+
+    private double speedKmh(VehicleType vehicleType) {
+        if (vehicleType == null) {
+            return bikeSpeedKmh;
+        }
+        return switch (vehicleType) {
+            case BIKE -> bikeSpeedKmh;
+            case SCOOTER -> scooterSpeedKmh;
+            case CAR -> carSpeedKmh;
+        };
+    }
+}
@@ -0,0 +1,254 @@
+package com.fooddelivery.delivery.dispatch;
+
+import com.fooddelivery.delivery.client.RestaurantLocationClient;
+import com.fooddelivery.delivery.dto.DeliveryDTO;
+import com.fooddelivery.delivery.entity.DispatchSubmission;
+import com.fooddelivery.delivery.entity.PartnerStatus;
+import com.fooddelivery.delivery.entity.PendingAssignment;
+import com.fooddelivery.delivery.event.PartnerChangedEvent;
+import com.fooddelivery.delivery.geo.PartnerGeoIndex;
+import com.fooddelivery.delivery.repository.DispatchSubmissionRepository;
+import com.fooddelivery.delivery.service.DeliveryService;
+import com.fooddelivery.order.event.OrderEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * DISPATCH ENGINE - Assigns partners to orders in batches
+ *
+ * Assigning each order greedily the moment it is paid gives poor global
+ * matches at peak: an early order grabs the partner a later, closer order
+ * needed. Instead:
+ * 1. PAYMENT_COMPLETED events are collected for batch-window-ms
+ *    (duplicates of one order collapse)
+ * 2. DispatchPlanner solves the whole batch at once
+ * 3. Each order is assigned through DeliveryService with its planned
+ *    partner; orders without a plan get the nearest free partner
+ *
+ * Collected orders are rows in dispatch_submissions, not memory, so a
+ * crash or restart between submit and batch loses nothing. A cancellation
+ * marks the row; DeliveryService.assignSubmitted locks the row and skips
+ * cancelled orders inside the assignment transaction, so an order cancelled
+ * after its batch was read is not assigned (or is cancelled right after).
+ *
+ * With delivery.dispatch.batching-enabled=false, orders are assigned
+ * immediately, one by one, as before.
+ *
+ * PENDING QUEUE: orders that found no free partner wait in
+ * PendingAssignmentQueue. The queue is drained, in its order, as soon as
+ * a partner becomes AVAILABLE (on the pending-drain thread, after the
+ * freeing transaction committed) and before every batch, so waiting
+ * orders are served before newer ones. (delivery.pending.drain-on-release=false
+ * leaves draining to the batches only, e.g. for a deterministic simulation.)
+ *
+ * Metrics: dispatch.batch.size, dispatch.batch.plan (planning latency)
+ */
+@Component
+@Slf4j
+public class DispatchEngine {
+
+    private final DeliveryService deliveryService;
+    private final DispatchPlanner planner;
+    private final RestaurantLocationClient restaurantLocationClient;
+    private final PendingAssignmentQueue pendingQueue;
+    private final PartnerGeoIndex partnerGeoIndex;
+    private final DispatchSubmissionRepository submissionRepository;
+    private final Clock clock;
+    private final boolean batchingEnabled;
+    private final int maxBatchSize;
+    private final long cancelledRetentionHours;
+    private final int drainBatchSize;
+    private final boolean drainOnRelease;
+    private final DistributionSummary batchSize;
+    private final Timer planTimer;
+
+    private final Object drainLock = new Object();
+    private final ExecutorService drainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pending-drain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DispatchEngine(DeliveryService deliveryService, DispatchPlanner planner,
+                          RestaurantLocationClient restaurantLocationClient, PendingAssignmentQueue pendingQueue,
+                          PartnerGeoIndex partnerGeoIndex, DispatchSubmissionRepository submissionRepository,
+                          MeterRegistry meterRegistry, Clock clock,
+                          @Value("${delivery.dispatch.batching-enabled:true}") boolean batchingEnabled,
+                          @Value("${delivery.dispatch.max-batch-size:1000}") int maxBatchSize,
+                          @Value("${delivery.dispatch.cancelled-retention-hours:24}") long cancelledRetentionHours,
+                          @Value("${delivery.pending.drain-batch-size:100}") int drainBatchSize,
+                          @Value("${delivery.pending.drain-on-release:true}") boolean drainOnRelease) {
+        this.deliveryService = deliveryService;
+        this.planner = planner;
+        this.restaurantLocationClient = restaurantLocationClient;
+        this.pendingQueue = pendingQueue;
+        this.partnerGeoIndex = partnerGeoIndex;
+        this.submissionRepository = submissionRepository;
+        this.clock = clock;
+        this.batchingEnabled = batchingEnabled;
+        this.maxBatchSize = maxBatchSize;
+        this.cancelledRetentionHours = cancelledRetentionHours;
+        this.drainBatchSize = drainBatchSize;
+        this.drainOnRelease = drainOnRelease;
+        this.batchSize = DistributionSummary.builder("dispatch.batch.size")
+                .description("Orders per dispatch batch")
+                .register(meterRegistry);
+        this.planTimer = Timer.builder("dispatch.batch.plan")
+                .description("Time to plan one dispatch batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * QUEUE AN ORDER FOR THE NEXT BATCH
+     */
+    public void submit(OrderEvent event) {
+        if (!batchingEnabled) {
+            // Fetched outside the assignment transaction
+            restaurantLocationClient.getLocation(event.getRestaurantId());
+            deliveryService.assignDeliveryPartner(event);
+            return;
+        }
+        if (submissionRepository.existsByOrderId(event.getOrderId())) {
+            return;
+        }
+        try {
+            submissionRepository.save(new DispatchSubmission(null, event.getOrderId(), event.getUserId(),
+                    event.getRestaurantId(), LocalDateTime.now(clock), false));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Order #{} was submitted concurrently", event.getOrderId());
+        }
+    }
+
+    /**
+     * DROP A CANCELLED ORDER THAT IS STILL WAITING
+     *
+     * Recorded durably: the submission row is marked cancelled, or a marker
+     * row is written if the order was never submitted (or already assigned).
+     * Queued orders and existing deliveries are handled by DeliveryService.cancelDelivery.
+     */
+    public void cancel(Long orderId) {
+        if (!batchingEnabled || submissionRepository.markCancelled(orderId) > 0) {
+            return;
+        }
+        try {
+            submissionRepository.save(new DispatchSubmission(null, orderId, null, null, LocalDateTime.now(clock), true));
+        } catch (DataIntegrityViolationException e) {
+            submissionRepository.markCancelled(orderId);
+        }
+    }
+
+    /**
+     * PLAN AND ASSIGN EVERYTHING COLLECTED IN THE LAST WINDOW
+     */
+    @Scheduled(fixedDelayString = "${delivery.dispatch.batch-window-ms:2000}")
+    public void dispatchBatch() {
+        drainPending();
+
+        List<OrderEvent> batch = new ArrayList<>();
+        for (DispatchSubmission submission
+                : submissionRepository.findByCancelledFalseOrderBySubmittedAtAsc(PageRequest.of(0, maxBatchSize))) {
+            OrderEvent event = new OrderEvent();
+            event.setOrderId(submission.getOrderId());
+            event.setUserId(submission.getUserId());
+            event.setRestaurantId(submission.getRestaurantId());
+            event.setEventType("PAYMENT_COMPLETED");
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSize.record(batch.size());
+
+        Map<Long, Long> plan = planTimer.record(() -> plan(batch));
+        log.info("🧮 Dispatch batch: {} orders, {} planned", batch.size(), plan.size());
+
+        for (OrderEvent event : batch) {
+            try {
+                deliveryService.assignSubmitted(event, plan.get(event.getOrderId()));
+            } catch (Exception e) {
+                log.error("❌ Error assigning delivery partner for Order #{}: {}",
+                        event.getOrderId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * PURGE OLD CANCELLATION MARKERS (a redelivered payment event is long past by then)
+     */
+    @Scheduled(fixedDelayString = "${delivery.dispatch.cancelled-purge-interval-ms:3600000}")
+    public void purgeCancelled() {
+        int purged = submissionRepository.deleteCancelledBefore(LocalDateTime.now(clock).minusHours(cancelledRetentionHours));
+        if (purged > 0) {
+            log.info("🧹 Purged {} cancelled dispatch submissions", purged);
+        }
+    }
+
+    /**
+     * A PARTNER WAS FREED - serve the pending queue
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartnerChanged(PartnerChangedEvent event) {
+        if (drainOnRelease && event.getStatus() == PartnerStatus.AVAILABLE && !pendingQueue.isEmpty()) {
+            drainExecutor.execute(this::drainPending);
+        }
+    }
+
+    /**
+     * ASSIGN QUEUED ORDERS, in queue order, while partners are free
+     *
+     * An order that still gets no partner stays queued; draining only stops
+     * once the geo index has no available partner left (an order far from
+     * every free partner must not block the ones behind it).
+     */
+    public void drainPending() {
+        synchronized (drainLock) {
+            for (PendingAssignment pendingAssignment : pendingQueue.head(drainBatchSize)) {
+                try {
+                    // Fetched outside the assignment transaction
+                    restaurantLocationClient.getLocation(pendingAssignment.getRestaurantId());
+                    DeliveryDTO delivery = deliveryService.assignPending(pendingAssignment);
+                    if (delivery == null && partnerGeoIndex.isLoaded() && partnerGeoIndex.anyAvailable() == null) {
+                        return;
+                    }
+                } catch (Exception e) {
+                    log.error("❌ Error assigning queued Order #{}: {}",
+                            pendingAssignment.getOrderId(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void dispatchOnShutdown() {
+        drainExecutor.shutdownNow();
+        dispatchBatch();
+    }
+
+    private Map<Long, Long> plan(List<OrderEvent> batch) {
+        List<DispatchPlanner.Pickup> pickups = new ArrayList<>(batch.size());
+        for (OrderEvent event : batch) {
+            RestaurantLocationClient.Location location = restaurantLocationClient.getLocation(event.getRestaurantId());
+            if (location != null) {
+                pickups.add(new DispatchPlanner.Pickup(event.getOrderId(), location.latitude(), location.longitude()));
+            }
+        }
+        return planner.plan(pickups);
+    }
+}
@@ -0,0 +1,101 @@
+package com.fooddelivery.delivery.dispatch;
+
+import com.fooddelivery.delivery.dto.NearbyPartnerDTO;
+import com.fooddelivery.delivery.entity.VehicleType;
+import com.fooddelivery.delivery.geo.PartnerGeoIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DISPATCH PLANNER - Solves one batch of pickups against available partners
+ *
+ * 1. For every pickup, the candidates-per-order nearest partners come from
+ *    PartnerGeoIndex (so the matrix only holds plausible pairs)
+ * 2. The union of candidates forms the columns of a cost matrix
+ *    (DispatchCostModel; non-candidate pairs are infeasible)
+ * 3. Batches up to hungarian-max-size orders are solved optimally
+ *    (Hungarian), larger ones greedily
+ *
+ * The plan is only a proposal: DeliveryService still claims every
+ * partner atomically and falls back to the nearest free one if the
+ * planned partner was taken in the meantime.
+ */
+@Component
+public class DispatchPlanner {
+
+    private final PartnerGeoIndex partnerGeoIndex;
+    private final DispatchCostModel costModel;
+    private final int candidatesPerOrder;
+    private final int hungarianMaxSize;
+
+    public DispatchPlanner(PartnerGeoIndex partnerGeoIndex, DispatchCostModel costModel,
+                           @Value("${delivery.dispatch.candidates-per-order:20}") int candidatesPerOrder,
+                           @Value("${delivery.dispatch.hungarian-max-size:1000}") int hungarianMaxSize) {
+        this.partnerGeoIndex = partnerGeoIndex;
+        this.costModel = costModel;
+        this.candidatesPerOrder = candidatesPerOrder;
+        this.hungarianMaxSize = hungarianMaxSize;
+    }
+
+    /**
+     * PLAN A BATCH
+     *
+     * @return orderId -> proposed partnerId (orders without a feasible partner are absent)
+     */
+    public Map<Long, Long> plan(List<Pickup> pickups) {
+        if (pickups.isEmpty()) {
+            return Map.of();
+        }
+
+        // Candidate partners per pickup, and one matrix column per distinct partner
+        List<List<NearbyPartnerDTO>> candidates = new ArrayList<>(pickups.size());
+        Map<Long, Integer> columns = new LinkedHashMap<>();
+        for (Pickup pickup : pickups) {
+            List<NearbyPartnerDTO> nearby = partnerGeoIndex.nearest(pickup.latitude(), pickup.longitude(), candidatesPerOrder);
+            candidates.add(nearby);
+            nearby.forEach(partner -> columns.putIfAbsent(partner.getPartnerId(), columns.size()));
+        }
+        if (columns.isEmpty()) {
+            return Map.of();
+        }
+
+        double[][] cost = new double[pickups.size()][columns.size()];
+        for (int row = 0; row < pickups.size(); row++) {
+            Arrays.fill(cost[row], AssignmentSolver.INFEASIBLE);
+            for (NearbyPartnerDTO partner : candidates.get(row)) {
+                cost[row][columns.get(partner.getPartnerId())] = costModel.cost(partner.getDistanceKm(),
+                        partner.getVehicleType() != null ? VehicleType.valueOf(partner.getVehicleType()) : null,
+                        partner.getRating());
+            }
+        }
+
+        int[] assignment = solve(cost);
+
+        Long[] partnerIds = columns.keySet().toArray(new Long[0]);
+        Map<Long, Long> plan = new HashMap<>();
+        for (int row = 0; row < assignment.length; row++) {
+            if (assignment[row] >= 0) {
+                plan.put(pickups.get(row).orderId(), partnerIds[assignment[row]]);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Optimal for small batches, greedy beyond hungarian-max-size
+     */
+    public int[] solve(double[][] cost) {
+        int size = Math.max(cost.length, cost.length == 0 ? 0 : cost[0].length);
+        return size <= hungarianMaxSize ? AssignmentSolver.hungarian(cost) : AssignmentSolver.greedy(cost);
+    }
+
+    public record Pickup(Long orderId, double latitude, double longitude) {
+    }
+}
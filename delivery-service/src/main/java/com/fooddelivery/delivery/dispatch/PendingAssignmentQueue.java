@@ -0,0 +1,209 @@
+package com.fooddelivery.delivery.dispatch;
+
+import com.fooddelivery.delivery.entity.PendingAssignment;
+import com.fooddelivery.delivery.repository.PendingAssignmentRepository;
+import com.fooddelivery.delivery.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * PENDING ASSIGNMENT QUEUE - Orders waiting for a free delivery partner
+ *
+ * Without it, an order dispatched while every partner is busy is simply
+ * lost. Instead:
+ * 1. DeliveryService enqueues it (row in pending_assignments, written in
+ *    the same transaction as the failed assignment)
+ * 2. DispatchEngine drains the queue whenever a partner becomes AVAILABLE
+ *    and before every dispatch batch
+ * 3. A successful assignment (or a cancellation) deletes the row
+ *
+ * ORDERING: by rank = enqueue time - priority × priority-boost-ms, so the
+ * longest wait goes first, and one priority level is worth priority-boost-ms
+ * of waiting (a failed delivery's reassignment jumps ahead of new orders
+ * queued up to 5 minutes before it, by default). Every entry ages at the
+ * same rate, so the rank never changes and a sorted set is enough.
+ *
+ * The in-memory set mirrors the table: it is loaded at startup and only
+ * changed after the writing transaction commits.
+ *
+ * Metrics: dispatch.pending.depth, dispatch.pending.oldest.seconds (gauges),
+ * dispatch.pending.wait (enqueue -> assignment), dispatch.pending.enqueued
+ */
+@Component
+@Slf4j
+public class PendingAssignmentQueue {
+
+    private final PendingAssignmentRepository repository;
+    private final long priorityBoostMillis;
+    private final Clock clock;
+    private final Timer waitTimer;
+    private final Counter enqueuedCounter;
+
+    private final NavigableSet<Entry> queue = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Entry::rank).thenComparing(entry -> entry.assignment().getOrderId()));
+    private final Map<Long, Entry> byOrderId = new ConcurrentHashMap<>();
+
+    public PendingAssignmentQueue(PendingAssignmentRepository repository, MeterRegistry meterRegistry, Clock clock,
+                                  @Value("${delivery.pending.priority-boost-ms:300000}") long priorityBoostMillis) {
+        this.repository = repository;
+        this.priorityBoostMillis = priorityBoostMillis;
+        this.clock = clock;
+        this.waitTimer = Timer.builder("dispatch.pending.wait")
+                .description("Time orders waited for a free delivery partner")
+                .register(meterRegistry);
+        this.enqueuedCounter = Counter.builder("dispatch.pending.enqueued")
+                .description("Orders queued because no delivery partner was free")
+                .register(meterRegistry);
+        Gauge.builder("dispatch.pending.depth", byOrderId, Map::size)
+                .description("Orders waiting for a delivery partner")
+                .register(meterRegistry);
+        Gauge.builder("dispatch.pending.oldest.seconds", this, PendingAssignmentQueue::oldestWaitSeconds)
+                .description("Wait so far of the longest-waiting order")
+                .register(meterRegistry);
+    }
+
+    /**
+     * LOAD QUEUE ON STARTUP
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<PendingAssignment> rows = repository.findAll();
+        rows.forEach(this::addToMemory);
+        if (!rows.isEmpty()) {
+            log.info("⏳ Loaded {} orders waiting for a delivery partner", rows.size());
+        }
+    }
+
+    /**
+     * QUEUE AN ORDER (no-op if it is already waiting)
+     * Call inside the transaction that failed to find a partner.
+     */
+    public void enqueue(Long orderId, Long userId, Long restaurantId, int priority) {
+        if (byOrderId.containsKey(orderId) || repository.existsByOrderId(orderId)) {
+            return;
+        }
+        PendingAssignment saved = repository.save(
+                new PendingAssignment(null, orderId, userId, restaurantId, priority, LocalDateTime.now(clock)));
+        TransactionHooks.afterCommit(() -> {
+            addToMemory(saved);
+            enqueuedCounter.increment();
+        });
+    }
+
+    /**
+     * ORDER GOT A PARTNER - remove it and record how long it waited
+     * Always hits the table: the row may not be in memory yet (before load(),
+     * or enqueued by a transaction whose after-commit hook has not run).
+     */
+    public void complete(Long orderId) {
+        repository.deleteByOrderId(orderId);
+        TransactionHooks.afterCommit(() -> {
+            Entry entry = removeFromMemory(orderId);
+            if (entry != null) {
+                waitTimer.record(Duration.between(entry.assignment().getEnqueuedAt(), LocalDateTime.now(clock)));
+            }
+        });
+    }
+
+    /**
+     * ORDER NO LONGER NEEDS A PARTNER (cancelled)
+     * Always hits the table: cancellations may arrive before load() at startup.
+     */
+    public void cancel(Long orderId) {
+        if (repository.deleteByOrderId(orderId) > 0 || byOrderId.containsKey(orderId)) {
+            TransactionHooks.afterCommit(() -> removeFromMemory(orderId));
+        }
+    }
+
+    /**
+     * LOCK A WAITING ORDER for the assigning transaction
+     * Call before assigning a queued order: a cancellation committed since
+     * head() was read has deleted the row, one arriving now waits for the lock.
+     *
+     * @return false if the order is no longer waiting (it is dropped from memory too)
+     */
+    public boolean lockIfWaiting(Long orderId) {
+        if (repository.findWithLockByOrderId(orderId).isPresent()) {
+            return true;
+        }
+        TransactionHooks.afterCommit(() -> removeFromMemory(orderId));
+        return false;
+    }
+
+    /**
+     * NEXT ORDERS TO SERVE, in queue order
+     */
+    public List<PendingAssignment> head(int max) {
+        List<PendingAssignment> head = new ArrayList<>(Math.min(max, byOrderId.size()));
+        for (Entry entry : queue) {
+            if (head.size() >= max) {
+                break;
+            }
+            head.add(entry.assignment());
+        }
+        return head;
+    }
+
+    public boolean contains(Long orderId) {
+        return byOrderId.containsKey(orderId);
+    }
+
+    public boolean isEmpty() {
+        return byOrderId.isEmpty();
+    }
+
+    public int size() {
+        return byOrderId.size();
+    }
+
+    private void addToMemory(PendingAssignment assignment) {
+        long enqueuedAtMillis = assignment.getEnqueuedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Entry entry = new Entry(enqueuedAtMillis - assignment.getPriority() * priorityBoostMillis, assignment);
+        Entry previous = byOrderId.put(assignment.getOrderId(), entry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.add(entry);
+    }
+
+    private Entry removeFromMemory(Long orderId) {
+        Entry entry = byOrderId.remove(orderId);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+        return entry;
+    }
+
+    private double oldestWaitSeconds() {
+        LocalDateTime oldest = null;
+        for (Entry entry : byOrderId.values()) {
+            LocalDateTime enqueuedAt = entry.assignment().getEnqueuedAt();
+            if (oldest == null || enqueuedAt.isBefore(oldest)) {
+                oldest = enqueuedAt;
+            }
+        }
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now(clock)).toMillis() / 1000.0;
+    }
+
+    private record Entry(long rank, PendingAssignment assignment) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.fooddelivery.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * NEARBY PARTNER DTO
+ *
+ * An available delivery partner and its straight-line distance (km)
+ * from a pickup point.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyPartnerDTO {
+
+    private Long partnerId;
+    private String vehicleType;
+    private Double rating;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
+}
@@ -0,0 +1,41 @@
+package com.fooddelivery.delivery.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * PARTNER LOCATION DTO
+ *
+ * One location ping from a rider app, received over
+ * PUT /api/deliveries/partners/{partnerId}/location or the
+ * "partner-locations" Kafka topic.
+ *
+ * partnerId: taken from the URL for REST pings, required on Kafka
+ * recordedAt: when the phone took the fix (optional, defaults to arrival time);
+ *             pings older than the latest known fix are ignored
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartnerLocationDTO {
+
+    private Long partnerId;
+
+    @NotNull(message = "Latitude is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    private LocalDateTime recordedAt;
+}
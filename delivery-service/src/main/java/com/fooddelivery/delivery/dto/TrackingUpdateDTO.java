@@ -0,0 +1,31 @@
+package com.fooddelivery.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * TRACKING UPDATE DTO
+ *
+ * One message on the live tracking WebSocket (/ws/deliveries/track).
+ *
+ * status: delivery status, or WAITING_FOR_PARTNER before a partner is assigned
+ * latitude / longitude: latest rider position (null until the rider has pinged)
+ * remainingMinutes: until estimatedDeliveryTime, when the update was built
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingUpdateDTO {
+
+    private Long orderId;
+    private String status;
+    private Long partnerId;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime locationUpdatedAt;
+    private LocalDateTime estimatedDeliveryTime;
+    private Double remainingMinutes;
+}
@@ -35,7 +35,8 @@ public class Delivery {
     @Column(name = "pickup_address")
     private String pickupAddress;
 
-    @Column(name = "delivery_address", nullable = false)
+    // Order events carry no address (it lives in Order Service), so assignment leaves it unset
+    @Column(name = "delivery_address")
     private String deliveryAddress;
 
     @Column(name = "status", nullable = false)
@@ -54,14 +55,31 @@ public class Delivery {
     @Column(name = "estimated_delivery_time")
     private LocalDateTime estimatedDeliveryTime;
 
+    // Partner -> restaurant travel estimated at assignment; the ETA engine
+    // learns restaurant handover time as the observed pickup time minus this
+    @Column(name = "pickup_travel_minutes")
+    private Double pickupTravelMinutes;
+
+    // Shared the partner's route with other orders; its timings say little
+    // about this restaurant, so the ETA engine does not learn from it
+    @Column(name = "stacked")
+    private Boolean stacked = false;
+
     @Column(name = "notes")
     private String notes;
 
+    // Sequence number of the last delivery-events message for this order;
+    // changed only by DeliveryRepository.incrementEventSequence, never by entity saves
+    @Column(name = "event_sequence", nullable = false, updatable = false)
+    private Long eventSequence = 0L;
+
     @PrePersist
     protected void onCreate() {
         if (status == null) {
             status = DeliveryStatus.ASSIGNED;
         }
-        assignedAt = LocalDateTime.now();
+        if (assignedAt == null) {
+            assignedAt = LocalDateTime.now();
+        }
     }
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "delivery_partners")
@@ -29,8 +30,22 @@ public class DeliveryPartner {
     @Enumerated(EnumType.STRING)
     private PartnerStatus status = PartnerStatus.AVAILABLE;
     
+    // Written only by PartnerLocationTable's batched flush, never by entity saves,
+    // so saving a partner loaded before the last flush cannot roll its location back
+    @Column(updatable = false)
     private Double currentLatitude;
+    @Column(updatable = false)
     private Double currentLongitude;
+    @Column(updatable = false)
+    private LocalDateTime locationUpdatedAt;
     private Double rating = 0.0;
     private Integer totalDeliveries = 0;
+
+    // Orders this partner may carry at once (null = default for the vehicle type)
+    private Integer maxActiveOrders;
+
+    // Orders currently assigned and not yet delivered; changed only by the
+    // conditional UPDATEs in DeliveryPartnerRepository, never by entity saves
+    @Column(nullable = false, updatable = false)
+    private Integer activeOrders = 0;
 }
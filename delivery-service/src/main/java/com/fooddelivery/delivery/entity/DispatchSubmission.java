@@ -0,0 +1,46 @@
+package com.fooddelivery.delivery.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * DISPATCH SUBMISSION ENTITY
+ *
+ * A paid order waiting for the next dispatch batch (DispatchEngine), so a
+ * crash between submit and batch does not lose it. The row is deleted by
+ * the transaction that assigns the order.
+ *
+ * A cancelled order keeps its row with cancelled = true (also when the
+ * cancellation arrived first): the assignment transaction skips it, and a
+ * redelivered PAYMENT_COMPLETED cannot submit it again. Old cancelled rows
+ * are purged by DispatchEngine.
+ */
+@Entity
+@Table(name = "dispatch_submissions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchSubmission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, unique = true)
+    private Long orderId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Column(name = "cancelled", nullable = false)
+    private boolean cancelled;
+}
@@ -0,0 +1,44 @@
+package com.fooddelivery.delivery.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * PENDING ASSIGNMENT ENTITY
+ *
+ * An order waiting for a delivery partner (none was free when it was
+ * dispatched, or its partner failed and no replacement was free).
+ * Rows survive restarts; PendingAssignmentQueue keeps them ordered in memory.
+ */
+@Entity
+@Table(name = "pending_assignments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingAssignment {
+
+    public static final int PRIORITY_NEW_ORDER = 0;
+    public static final int PRIORITY_REASSIGNMENT = 1;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, unique = true)
+    private Long orderId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+}
@@ -0,0 +1,288 @@
+package com.fooddelivery.delivery.eta;
+
+import com.fooddelivery.delivery.dispatch.DispatchCostModel;
+import com.fooddelivery.delivery.entity.Delivery;
+import com.fooddelivery.delivery.entity.DeliveryStatus;
+import com.fooddelivery.delivery.entity.VehicleType;
+import com.fooddelivery.delivery.repository.DeliveryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ETA ENGINE - Delivery time estimates from streaming aggregates
+ *
+ * ETA = pickup travel + handover + transit
+ * 1. PICKUP TRAVEL - partner -> restaurant distance at the vehicle's speed
+ *    (DispatchCostModel.travelMinutes, the same model dispatch uses)
+ * 2. HANDOVER - time at the restaurant: observed pickup time
+ *    (assignedAt -> pickedUpAt) minus the travel estimated at assignment
+ * 3. TRANSIT - pickedUpAt -> deliveredAt
+ *
+ * Handover and transit are learned per restaurant, per zone (grid cell of
+ * the restaurant, zone-size-degrees) and globally, as running means that
+ * turn into moving averages over the last `window` deliveries. A level with
+ * few observations is shrunk towards the level above it:
+ *   estimate = (n × mean + prior-weight × parent) / (n + prior-weight)
+ * so a new restaurant starts at its zone's average and a new zone at the
+ * global one (which starts at the configured defaults).
+ * Hour-of-day factors (observed / estimate, per hour) scale the result.
+ *
+ * Everything is in memory and updated as deliveries are picked up and
+ * delivered (warmed from recent deliveries at startup), so an estimate is
+ * a few map lookups - cheap enough for the dispatcher and tracking pages.
+ */
+@Component
+@Slf4j
+public class EtaEngine {
+
+    private static final double MAX_OBSERVED_MINUTES = 240;
+    private static final double MIN_HOUR_FACTOR = 0.25;
+    private static final double MAX_HOUR_FACTOR = 4.0;
+
+    private final DispatchCostModel costModel;
+    private final DeliveryRepository deliveryRepository;
+    private final double zoneSizeDegrees;
+    private final double priorWeight;
+    private final double defaultPickupKm;
+    private final double defaultHandoverMinutes;
+    private final double defaultTransitMinutes;
+    private final int window;
+    private final int warmupDeliveries;
+
+    private final Map<Long, Aggregates> byRestaurant = new ConcurrentHashMap<>();
+    private final Map<Long, Aggregates> byZone = new ConcurrentHashMap<>();
+    private final Map<Long, Long> restaurantZones = new ConcurrentHashMap<>();
+    private final Aggregates global;
+    private final RunningMean[] handoverHourFactor = new RunningMean[24];
+    private final RunningMean[] transitHourFactor = new RunningMean[24];
+
+    public EtaEngine(DispatchCostModel costModel, DeliveryRepository deliveryRepository,
+                     @Value("${delivery.eta.zone-size-degrees:0.05}") double zoneSizeDegrees,
+                     @Value("${delivery.eta.prior-weight:5}") double priorWeight,
+                     @Value("${delivery.eta.default-pickup-km:2.0}") double defaultPickupKm,
+                     @Value("${delivery.eta.default-handover-minutes:10}") double defaultHandoverMinutes,
+                     @Value("${delivery.eta.default-transit-minutes:20}") double defaultTransitMinutes,
+                     @Value("${delivery.eta.window:200}") int window,
+                     @Value("${delivery.eta.warmup-deliveries:5000}") int warmupDeliveries) {
+        this.costModel = costModel;
+        this.deliveryRepository = deliveryRepository;
+        this.zoneSizeDegrees = zoneSizeDegrees;
+        this.priorWeight = priorWeight;
+        this.defaultPickupKm = defaultPickupKm;
+        this.defaultHandoverMinutes = defaultHandoverMinutes;
+        this.defaultTransitMinutes = defaultTransitMinutes;
+        this.window = window;
+        this.warmupDeliveries = warmupDeliveries;
+        this.global = new Aggregates(window);
+        for (int hour = 0; hour < 24; hour++) {
+            handoverHourFactor[hour] = new RunningMean(window);
+            transitHourFactor[hour] = new RunningMean(window);
+        }
+    }
+
+    /**
+     * WARM UP FROM RECENT DELIVERIES
+     * Restaurant and global levels only (zones need restaurant coordinates,
+     * they fill in as deliveries are assigned).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Delivery> recent = deliveryRepository.findByStatusOrderByDeliveredAtDesc(
+                DeliveryStatus.DELIVERED, PageRequest.of(0, warmupDeliveries));
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            Delivery delivery = recent.get(i);
+            recordPickup(delivery.getRestaurantId(), null, null, delivery.getAssignedAt(),
+                    delivery.getPickedUpAt(), delivery.getPickupTravelMinutes());
+            recordDelivery(delivery.getRestaurantId(), null, null, delivery.getPickedUpAt(), delivery.getDeliveredAt());
+        }
+        log.info("⏱️ ETA engine warmed up from {} deliveries", recent.size());
+    }
+
+    /**
+     * ESTIMATE A NEW ASSIGNMENT
+     *
+     * @param pickupLatitude     restaurant location (null if unknown)
+     * @param pickupDistanceKm   partner -> restaurant (null if unknown: default-pickup-km)
+     * @param at                 assignment time (selects the hour-of-day factor)
+     */
+    public Eta estimate(Long restaurantId, Double pickupLatitude, Double pickupLongitude,
+                        Double pickupDistanceKm, VehicleType vehicleType, LocalDateTime at) {
+        Long zone = zoneOf(restaurantId, pickupLatitude, pickupLongitude);
+        int hour = at.getHour();
+        double travel = costModel.travelMinutes(pickupDistanceKm != null ? pickupDistanceKm : defaultPickupKm, vehicleType);
+        double handover = baseHandover(restaurantId, zone) * hourFactor(handoverHourFactor[hour]);
+        double transit = baseTransit(restaurantId, zone) * hourFactor(transitHourFactor[hour]);
+        return new Eta(travel, handover, transit);
+    }
+
+    /**
+     * ESTIMATE THE REST OF A PICKED-UP DELIVERY (minutes from pickup)
+     */
+    public double estimateTransit(Long restaurantId, LocalDateTime pickedUpAt) {
+        return baseTransit(restaurantId, zoneOf(restaurantId, null, null))
+                * hourFactor(transitHourFactor[pickedUpAt.getHour()]);
+    }
+
+    /**
+     * LEARN FROM A PICKUP
+     *
+     * @param pickupTravelMinutes travel estimated at assignment (null: not learnable)
+     */
+    public void recordPickup(Long restaurantId, Double pickupLatitude, Double pickupLongitude,
+                             LocalDateTime assignedAt, LocalDateTime pickedUpAt, Double pickupTravelMinutes) {
+        if (restaurantId == null || pickupTravelMinutes == null) {
+            return;
+        }
+        double pickupMinutes = minutes(assignedAt, pickedUpAt);
+        if (Double.isNaN(pickupMinutes)) {
+            return;
+        }
+        Long zone = zoneOf(restaurantId, pickupLatitude, pickupLongitude);
+        double handover = Math.max(0, pickupMinutes - pickupTravelMinutes);
+        observeHourFactor(handoverHourFactor[assignedAt.getHour()], handover, baseHandover(restaurantId, zone));
+        aggregates(restaurantId, zone).forEach(aggregates -> aggregates.handover.add(handover));
+    }
+
+    /**
+     * LEARN FROM A COMPLETED DELIVERY
+     */
+    public void recordDelivery(Long restaurantId, Double pickupLatitude, Double pickupLongitude,
+                               LocalDateTime pickedUpAt, LocalDateTime deliveredAt) {
+        if (restaurantId == null) {
+            return;
+        }
+        double transit = minutes(pickedUpAt, deliveredAt);
+        if (Double.isNaN(transit)) {
+            return;
+        }
+        Long zone = zoneOf(restaurantId, pickupLatitude, pickupLongitude);
+        observeHourFactor(transitHourFactor[pickedUpAt.getHour()], transit, baseTransit(restaurantId, zone));
+        aggregates(restaurantId, zone).forEach(aggregates -> aggregates.transit.add(transit));
+    }
+
+    private double baseHandover(Long restaurantId, Long zone) {
+        double globalMean = shrink(global.handover, defaultHandoverMinutes);
+        double zoneMean = zone != null ? shrink(handover(byZone.get(zone)), globalMean) : globalMean;
+        return shrink(handover(byRestaurant.get(restaurantId)), zoneMean);
+    }
+
+    private double baseTransit(Long restaurantId, Long zone) {
+        double globalMean = shrink(global.transit, defaultTransitMinutes);
+        double zoneMean = zone != null ? shrink(transit(byZone.get(zone)), globalMean) : globalMean;
+        return shrink(transit(byRestaurant.get(restaurantId)), zoneMean);
+    }
+
+    private double shrink(RunningMean level, double parent) {
+        if (level == null) {
+            return parent;
+        }
+        RunningMean.Snapshot snapshot = level.snapshot;
+        return (snapshot.weight() * snapshot.mean() + priorWeight * parent) / (snapshot.weight() + priorWeight);
+    }
+
+    private double hourFactor(RunningMean factor) {
+        return shrink(factor, 1.0);
+    }
+
+    private void observeHourFactor(RunningMean factor, double observed, double estimate) {
+        if (estimate > 0) {
+            factor.add(Math.max(MIN_HOUR_FACTOR, Math.min(MAX_HOUR_FACTOR, observed / estimate)));
+        }
+    }
+
+    private List<Aggregates> aggregates(Long restaurantId, Long zone) {
+        Aggregates restaurant = byRestaurant.computeIfAbsent(restaurantId, id -> new Aggregates(window));
+        if (zone == null) {
+            return List.of(restaurant, global);
+        }
+        return List.of(restaurant, byZone.computeIfAbsent(zone, id -> new Aggregates(window)), global);
+    }
+
+    /**
+     * Zone of a restaurant; coordinates, when given, are remembered for later calls without them
+     */
+    private Long zoneOf(Long restaurantId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return restaurantId != null ? restaurantZones.get(restaurantId) : null;
+        }
+        long row = (long) Math.floor(latitude / zoneSizeDegrees);
+        long col = (long) Math.floor(longitude / zoneSizeDegrees);
+        Long zone = (row << 32) ^ (col & 0xffffffffL);
+        if (restaurantId != null) {
+            restaurantZones.put(restaurantId, zone);
+        }
+        return zone;
+    }
+
+    private static double minutes(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return Double.NaN;
+        }
+        double minutes = Duration.between(from, to).toMillis() / 60_000.0;
+        return minutes < 0 || minutes > MAX_OBSERVED_MINUTES ? Double.NaN : minutes;
+    }
+
+    private static RunningMean handover(Aggregates aggregates) {
+        return aggregates != null ? aggregates.handover : null;
+    }
+
+    private static RunningMean transit(Aggregates aggregates) {
+        return aggregates != null ? aggregates.transit : null;
+    }
+
+    /**
+     * Estimated minutes, split by leg
+     */
+    public record Eta(double pickupTravelMinutes, double handoverMinutes, double transitMinutes) {
+
+        public double pickupMinutes() {
+            return pickupTravelMinutes + handoverMinutes;
+        }
+
+        public double totalMinutes() {
+            return pickupTravelMinutes + handoverMinutes + transitMinutes;
+        }
+    }
+
+    private static final class Aggregates {
+        private final RunningMean handover;
+        private final RunningMean transit;
+
+        private Aggregates(int window) {
+            this.handover = new RunningMean(window);
+            this.transit = new RunningMean(window);
+        }
+    }
+
+    /**
+     * Mean of all observations until `window` of them were seen, then an
+     * exponential moving average with alpha = 1 / window.
+     * Readers see one immutable snapshot (no locking on the read path).
+     */
+    private static final class RunningMean {
+        private final int window;
+        private volatile Snapshot snapshot = new Snapshot(0, 0);
+
+        private RunningMean(int window) {
+            this.window = window;
+        }
+
+        private synchronized void add(double value) {
+            double weight = Math.min(snapshot.weight() + 1, window);
+            snapshot = new Snapshot(snapshot.mean() + (value - snapshot.mean()) / weight, weight);
+        }
+
+        private record Snapshot(double mean, double weight) {
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.fooddelivery.delivery.event;
+
+import com.fooddelivery.delivery.entity.DeliveryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DELIVERY CHANGED EVENT - In-process Spring application event
+ *
+ * Published by DeliveryService whenever a delivery is written (assigned,
+ * stacked, status change, reassigned, cancelled). In-memory views of
+ * deliveries (live tracking, ...) listen to it instead of reading MySQL.
+ *
+ * Carries a snapshot of the delivery after the write.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryChangedEvent {
+
+    private Long orderId;
+    private Long partnerId;
+    private DeliveryStatus status;
+    private LocalDateTime estimatedDeliveryTime;
+}
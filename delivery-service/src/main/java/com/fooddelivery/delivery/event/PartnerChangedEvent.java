@@ -0,0 +1,29 @@
+package com.fooddelivery.delivery.event;
+
+import com.fooddelivery.delivery.entity.PartnerStatus;
+import com.fooddelivery.delivery.entity.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PARTNER CHANGED EVENT - In-process Spring application event
+ *
+ * Published by DeliveryService whenever a partner's status changes
+ * (assigned, released, reassigned). In-memory dispatch structures
+ * (partner geo index, ...) listen to it to stay current.
+ *
+ * Carries a snapshot of the partner after the write.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartnerChangedEvent {
+
+    private Long partnerId;
+    private PartnerStatus status;
+    private Double latitude;
+    private Double longitude;
+    private Double rating;
+    private VehicleType vehicleType;
+}
@@ -0,0 +1,274 @@
+package com.fooddelivery.delivery.geo;
+
+import com.fooddelivery.delivery.dto.NearbyPartnerDTO;
+import com.fooddelivery.delivery.entity.DeliveryPartner;
+import com.fooddelivery.delivery.entity.PartnerStatus;
+import com.fooddelivery.delivery.entity.VehicleType;
+import com.fooddelivery.delivery.event.PartnerChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PARTNER GEO INDEX - In-memory grid of AVAILABLE delivery partners
+ *
+ * The map is cut into square cells of cell-size-degrees (0.01° ≈ 1.1 km).
+ * Every available partner with a known location lives in exactly one cell.
+ * A k-nearest query starts at the pickup cell and walks outward ring by
+ * ring, stopping as soon as no unvisited ring can hold a closer partner,
+ * so its cost depends on how many partners are near the pickup, not on
+ * the size of the fleet.
+ *
+ * Available partners without a location are kept in a separate set and
+ * are only offered when no located partner is within range.
+ *
+ * How it stays current:
+ * 1. Loaded from MySQL once at startup (isLoaded() is false until then)
+ * 2. Status changes arrive as PartnerChangedEvent after the transaction commits
+ * 3. Location updates call updateLocation directly
+ *
+ * Reads are lock-free; writes are synchronized per index.
+ */
+@Component
+@Slf4j
+public class PartnerGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final double cellSizeDegrees;
+    private final double maxRadiusKm;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Set<Long> unlocated = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loaded;
+
+    public PartnerGeoIndex(@Value("${delivery.dispatch.cell-size-degrees:0.01}") double cellSizeDegrees,
+                           @Value("${delivery.dispatch.max-pickup-radius-km:15}") double maxRadiusKm) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    /**
+     * LOAD ALL AVAILABLE PARTNERS (startup)
+     */
+    public synchronized void load(List<DeliveryPartner> availablePartners) {
+        entries.clear();
+        cells.clear();
+        unlocated.clear();
+        for (DeliveryPartner partner : availablePartners) {
+            upsert(partner.getId(), partner.getCurrentLatitude(), partner.getCurrentLongitude(),
+                    partner.getRating(), partner.getVehicleType());
+        }
+        loaded = true;
+        log.info("Partner geo index loaded: {} located, {} without location", entries.size(), unlocated.size());
+    }
+
+    /**
+     * KEEP INDEX IN SYNC WITH PARTNER STATUS CHANGES
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartnerChanged(PartnerChangedEvent event) {
+        if (event.getStatus() == PartnerStatus.AVAILABLE) {
+            upsert(event.getPartnerId(), event.getLatitude(), event.getLongitude(),
+                    event.getRating(), event.getVehicleType());
+        } else {
+            remove(event.getPartnerId());
+        }
+    }
+
+    /**
+     * MOVE AN INDEXED PARTNER
+     * Ignored for partners that are not currently available.
+     */
+    public synchronized void updateLocation(Long partnerId, double latitude, double longitude) {
+        Entry previous = entries.get(partnerId);
+        if (previous != null) {
+            upsert(partnerId, latitude, longitude, previous.rating(), previous.vehicleType());
+        } else if (unlocated.contains(partnerId)) {
+            upsert(partnerId, latitude, longitude, null, null);
+        }
+    }
+
+    /**
+     * ADD OR MOVE AN AVAILABLE PARTNER
+     */
+    public synchronized void upsert(Long partnerId, Double latitude, Double longitude,
+                                    Double rating, VehicleType vehicleType) {
+        if (partnerId == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            removeLocated(partnerId);
+            unlocated.add(partnerId);
+            return;
+        }
+        unlocated.remove(partnerId);
+
+        long cell = cellKey(cellIndex(latitude), cellIndex(longitude));
+        Entry previous = entries.put(partnerId, new Entry(partnerId, latitude, longitude, rating, vehicleType, cell));
+        if (previous != null && previous.cell() != cell) {
+            removeFromCell(previous.cell(), partnerId);
+        }
+        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(partnerId);
+    }
+
+    /**
+     * REMOVE A PARTNER (no longer available)
+     */
+    public synchronized void remove(Long partnerId) {
+        unlocated.remove(partnerId);
+        removeLocated(partnerId);
+    }
+
+    /**
+     * K NEAREST AVAILABLE PARTNERS to (latitude, longitude), closest first,
+     * within max-pickup-radius-km
+     */
+    public List<NearbyPartnerDTO> nearest(double latitude, double longitude, int k) {
+        if (k <= 0 || entries.isEmpty()) {
+            return List.of();
+        }
+
+        // Smallest distance covered by one ring step (longitude cells shrink away from the equator)
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double ringKm = cellSizeDegrees * KM_PER_DEGREE * cosLat;
+        int maxRing = (int) Math.ceil(maxRadiusKm / ringKm) + 1;
+
+        // Max-heap of the best k so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distanceKm).reversed());
+        int latIdx = cellIndex(latitude);
+        int lngIdx = cellIndex(longitude);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every partner in this ring or beyond is at least (ring - 1) steps away
+            double ringMinKm = Math.max(ring - 1, 0) * ringKm;
+            if (ringMinKm > maxRadiusKm || (best.size() == k && best.peek().distanceKm() <= ringMinKm)) {
+                break;
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                boolean edgeRow = Math.abs(dLat) == ring;
+                for (int dLng = -ring; dLng <= ring; dLng += edgeRow ? 1 : 2 * ring) {
+                    collect(cells.get(cellKey(latIdx + dLat, lngIdx + dLng)), latitude, longitude, k, best);
+                    if (ring == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<Candidate> ordered = new ArrayList<>(best);
+        ordered.sort(Comparator.comparingDouble(Candidate::distanceKm));
+        List<NearbyPartnerDTO> result = new ArrayList<>(ordered.size());
+        for (Candidate candidate : ordered) {
+            Entry entry = candidate.entry();
+            result.add(new NearbyPartnerDTO(entry.partnerId(),
+                    entry.vehicleType() != null ? entry.vehicleType().name() : null,
+                    entry.rating(), entry.latitude(), entry.longitude(),
+                    Math.round(candidate.distanceKm() * 100.0) / 100.0));
+        }
+        return result;
+    }
+
+    /**
+     * ANY AVAILABLE PARTNER WITHOUT A KNOWN LOCATION (fallback), or null
+     */
+    public Long anyUnlocated() {
+        for (Long partnerId : unlocated) {
+            return partnerId;
+        }
+        return null;
+    }
+
+    /**
+     * ANY AVAILABLE PARTNER (pickup location unknown), or null
+     */
+    public Long anyAvailable() {
+        for (Long partnerId : entries.keySet()) {
+            return partnerId;
+        }
+        return anyUnlocated();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return entries.size() + unlocated.size();
+    }
+
+    /**
+     * HAVERSINE DISTANCE in kilometres
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void collect(Set<Long> ids, double latitude, double longitude, int k, PriorityQueue<Candidate> best) {
+        if (ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance > maxRadiusKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Candidate(entry, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Candidate(entry, distance));
+            }
+        }
+    }
+
+    private void removeLocated(Long partnerId) {
+        Entry previous = entries.remove(partnerId);
+        if (previous != null) {
+            removeFromCell(previous.cell(), partnerId);
+        }
+    }
+
+    private void removeFromCell(long cell, Long partnerId) {
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(partnerId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    private record Entry(Long partnerId, double latitude, double longitude,
+                         Double rating, VehicleType vehicleType, long cell) {
+    }
+
+    private record Candidate(Entry entry, double distanceKm) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.fooddelivery.delivery.kafka;
 
 import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.delivery.dispatch.DispatchEngine;
 import com.fooddelivery.delivery.service.DeliveryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +17,7 @@ import org.springframework.stereotype.Service;
  * Event Flow:
  * 1. Order Service → Publishes ORDER_CREATED
  * 2. Payment Service → Processes payment → Publishes PAYMENT_COMPLETED
- * 3. Delivery Service → Receives PAYMENT_COMPLETED → Assigns partner
+ * 3. Delivery Service → Receives PAYMENT_COMPLETED → DispatchEngine assigns partners per batch
  * 4. Delivery Service → Publishes DELIVERY_ASSIGNED
  *
  * This demonstrates the EVENT-DRIVEN ARCHITECTURE where services
@@ -28,6 +29,7 @@ import org.springframework.stereotype.Service;
 public class DeliveryEventConsumer {
 
     private final DeliveryService deliveryService;
+    private final DispatchEngine dispatchEngine;
 
     /**
      * LISTEN TO ORDER EVENTS
@@ -47,17 +49,15 @@ public class DeliveryEventConsumer {
         try {
             // Only process when payment is completed
             if ("PAYMENT_COMPLETED".equals(event.getEventType())) {
-                log.info("🚗 Assigning delivery partner for Order #{}", event.getOrderId());
+                log.info("🚗 Queueing Order #{} for dispatch", event.getOrderId());
 
-                // Assign delivery partner
-                deliveryService.assignDeliveryPartner(event);
-
-                log.info("✅ Delivery partner assigned successfully for Order #{}",
-                        event.getOrderId());
+                // Assigned with the next dispatch batch (or right away if batching is off)
+                dispatchEngine.submit(event);
             }
             else if ("ORDER_CANCELLED".equals(event.getEventType())) {
                 log.info("❌ Order cancelled: Order #{}", event.getOrderId());
-                // Cancel delivery assignment if exists
+                // Drop it from the pending dispatch batch, cancel delivery assignment if exists
+                dispatchEngine.cancel(event.getOrderId());
                 deliveryService.cancelDelivery(event.getOrderId());
             }
 
@@ -87,12 +87,13 @@ public class DeliveryEventConsumer {
                 event.getEventType(), event.getOrderId());
 
         try {
-            if ("DELIVERY_COMPLETED".equals(event.getEventType())) {
-                log.info("✅ Delivery completed for Order #{}", event.getOrderId());
-                // Mark delivery partner as available
-                deliveryService.markPartnerAvailable(event.getDeliveryPartnerId());
-            }
-            else if ("DELIVERY_FAILED".equals(event.getEventType())) {
+            // Partners are released by updateDeliveryStatus itself, per finished order
+            if ("DELIVERY_FAILED".equals(event.getEventType())) {
+                if (deliveryService.isStaleDeliveryEvent(event)) {
+                    log.info("⏭️ Skipping stale {} #{} for Order #{}", event.getEventType(),
+                            event.getSequence(), event.getOrderId());
+                    return;
+                }
                 log.info("⚠️ Delivery failed for Order #{}", event.getOrderId());
                 // Reassign to another partner
                 deliveryService.reassignDeliveryPartner(event.getOrderId());
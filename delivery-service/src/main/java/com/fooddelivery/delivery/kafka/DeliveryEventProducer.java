@@ -0,0 +1,93 @@
+package com.fooddelivery.delivery.kafka;
+
+import com.fooddelivery.delivery.entity.Delivery;
+import com.fooddelivery.delivery.repository.DeliveryRepository;
+import com.fooddelivery.delivery.util.TransactionHooks;
+import com.fooddelivery.order.event.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * KAFKA PRODUCER - Publishes Delivery Events ("delivery-events")
+ *
+ * Ordering guarantees for consumers (payment refunds, partner release, ...):
+ * 1. KEY = order id: all events of an order go to the same partition and
+ *    are consumed in order, whatever the consumer concurrency
+ * 2. SEQUENCE: every event carries a per-order number, taken from the
+ *    delivery row inside the writing transaction, so it follows commit
+ *    order even across threads and instances. A consumer that remembers
+ *    the last number per order can drop anything not larger (stale or
+ *    replayed)
+ * 3. Events are sent only after that transaction commits, so consumers
+ *    never see a change that was rolled back
+ *
+ * Call with the delivery already saved, inside the transaction that changed it.
+ *
+ * delivery.events.enabled=false numbers events but does not send them
+ * (dispatch simulation, no broker).
+ */
+@Service
+@Slf4j
+public class DeliveryEventProducer {
+
+    private static final String DELIVERY_TOPIC = "delivery-events";
+
+    private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    private final DeliveryRepository deliveryRepository;
+    private final Clock clock;
+    private final boolean enabled;
+
+    public DeliveryEventProducer(KafkaTemplate<String, OrderEvent> kafkaTemplate,
+                                 DeliveryRepository deliveryRepository, Clock clock,
+                                 @Value("${delivery.events.enabled:true}") boolean enabled) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.deliveryRepository = deliveryRepository;
+        this.clock = clock;
+        this.enabled = enabled;
+    }
+
+    /**
+     * PUBLISH DELIVERY EVENT
+     *
+     * @param userId ordering customer, if known (not stored on the delivery)
+     */
+    public void publish(Delivery delivery, String eventType, Long userId) {
+        deliveryRepository.incrementEventSequence(delivery.getId());
+        Long sequence = deliveryRepository.findEventSequence(delivery.getId());
+
+        OrderEvent event = new OrderEvent();
+        event.setOrderId(delivery.getOrderId());
+        event.setUserId(userId);
+        event.setRestaurantId(delivery.getRestaurantId());
+        event.setDeliveryPartnerId(delivery.getPartnerId());
+        event.setEventType(eventType);
+        event.setTimestamp(LocalDateTime.now(clock));
+        event.setSequence(sequence);
+
+        if (enabled) {
+            TransactionHooks.afterCommit(() -> send(event));
+        }
+    }
+
+    private void send(OrderEvent event) {
+        try {
+            kafkaTemplate.send(DELIVERY_TOPIC, event.getOrderId().toString(), event)
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.error("❌ Failed to publish {} #{} for Order ID: {}: {}", event.getEventType(),
+                                    event.getSequence(), event.getOrderId(), e.getMessage());
+                        }
+                    });
+            log.info("📨 Published {} #{} for Order ID: {}", event.getEventType(), event.getSequence(), event.getOrderId());
+        } catch (Exception e) {
+            // The delivery is committed either way
+            log.error("❌ Failed to publish {} #{} for Order ID: {}: {}", event.getEventType(),
+                    event.getSequence(), event.getOrderId(), e.getMessage());
+        }
+    }
+}
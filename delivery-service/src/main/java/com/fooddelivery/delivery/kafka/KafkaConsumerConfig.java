@@ -1,5 +1,6 @@
 package com.fooddelivery.delivery.kafka;
 
+import com.fooddelivery.delivery.dto.PartnerLocationDTO;
 import com.fooddelivery.order.event.OrderEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -19,6 +20,7 @@ import java.util.Map;
  * KAFKA CONSUMER CONFIGURATION - Delivery Service
  *
  * Configures Kafka consumers for receiving delivery-related events
+ * and rider location pings ("partner-locations", optional)
  */
 @Configuration
 @EnableKafka
@@ -27,6 +29,10 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    // false: order/delivery event listeners are not started (dispatch simulation, no broker)
+    @Value("${delivery.kafka.listeners-enabled:true}")
+    private boolean listenersEnabled;
+
     @Bean
     public Map<String, Object> consumerConfigs() {
         Map<String, Object> props = new HashMap<>();
@@ -57,6 +63,32 @@ public class KafkaConsumerConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.setConcurrency(3);
+        factory.setAutoStartup(listenersEnabled);
+        return factory;
+    }
+
+    /**
+     * LOCATION PINGS: plain JSON from rider apps/gateways, no type headers
+     */
+    @Bean
+    public ConsumerFactory<String, PartnerLocationDTO> partnerLocationConsumerFactory() {
+        JsonDeserializer<PartnerLocationDTO> deserializer = new JsonDeserializer<>(PartnerLocationDTO.class, false);
+        deserializer.addTrustedPackages("*");
+
+        return new DefaultKafkaConsumerFactory<>(
+                consumerConfigs(),
+                new StringDeserializer(),
+                deserializer
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PartnerLocationDTO> partnerLocationListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PartnerLocationDTO> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(partnerLocationConsumerFactory());
+        factory.setConcurrency(3);
+        factory.setBatchListener(true);
         return factory;
     }
 }
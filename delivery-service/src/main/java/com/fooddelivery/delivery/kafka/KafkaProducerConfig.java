@@ -0,0 +1,94 @@
+package com.fooddelivery.delivery.kafka;
+
+import com.fooddelivery.order.event.OrderEvent;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * KAFKA PRODUCER CONFIGURATION - Delivery Service
+ *
+ * Producer for the "delivery-events" topic (DeliveryEventProducer).
+ *
+ * Events are keyed by order id, so all events of one order land on one
+ * partition in send order. To keep that order across retries the producer
+ * is idempotent: the broker drops duplicates and rejects out-of-order
+ * batches, so with up to 5 in-flight requests per connection a retried
+ * batch can never overtake a later one.
+ *
+ * Throughput: events are small and bursty (dispatch batches), so they are
+ * collected for linger-ms into batches of up to batch-size bytes and
+ * compressed per batch.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${delivery.events.linger-ms:10}")
+    private int lingerMs;
+
+    @Value("${delivery.events.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${delivery.events.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${delivery.events.delivery-timeout-ms:120000}")
+    private int deliveryTimeoutMs;
+
+    /**
+     * PRODUCER CONFIGURATION PROPERTIES
+     */
+    @Bean
+    public Map<String, Object> producerConfigs() {
+        Map<String, Object> props = new HashMap<>();
+
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        // Idempotent: no duplicates, no reordering on retry (requires acks=all, in-flight <= 5)
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+
+        // Retry until delivery-timeout-ms instead of a fixed number of attempts
+        props.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+
+        // Batching
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+
+        return props;
+    }
+
+    /**
+     * PRODUCER FACTORY
+     */
+    @Bean
+    public ProducerFactory<String, OrderEvent> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    /**
+     * KAFKA TEMPLATE
+     */
+    @Bean
+    public KafkaTemplate<String, OrderEvent> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+}
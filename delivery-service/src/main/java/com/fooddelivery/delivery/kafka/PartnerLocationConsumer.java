@@ -0,0 +1,47 @@
+package com.fooddelivery.delivery.kafka;
+
+import com.fooddelivery.delivery.dto.PartnerLocationDTO;
+import com.fooddelivery.delivery.location.PartnerLocationTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * KAFKA CONSUMER - Rider location pings
+ *
+ * Optional high-volume alternative to PUT /api/deliveries/partners/{id}/location:
+ * gateways publish pings to "partner-locations" keyed by partner id, and
+ * this listener feeds them, a poll batch at a time, into PartnerLocationTable.
+ *
+ * Disabled unless delivery.location.kafka-enabled=true.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartnerLocationConsumer {
+
+    private final PartnerLocationTable locationTable;
+
+    @KafkaListener(
+            topics = "partner-locations",
+            groupId = "delivery-service-locations",
+            containerFactory = "partnerLocationListenerContainerFactory",
+            autoStartup = "${delivery.location.kafka-enabled:false}"
+    )
+    public void consumeLocations(List<PartnerLocationDTO> pings) {
+        for (PartnerLocationDTO ping : pings) {
+            if (ping == null || ping.getPartnerId() == null || ping.getLatitude() == null || ping.getLongitude() == null
+                    || Math.abs(ping.getLatitude()) > 90 || Math.abs(ping.getLongitude()) > 180) {
+                continue;
+            }
+            try {
+                locationTable.record(ping.getPartnerId(), ping);
+            } catch (Exception e) {
+                log.warn("Dropping location ping for partner {}: {}", ping.getPartnerId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.fooddelivery.delivery.location;
+
+import com.fooddelivery.delivery.dto.PartnerLocationDTO;
+import com.fooddelivery.delivery.geo.PartnerGeoIndex;
+import com.fooddelivery.delivery.repository.DeliveryPartnerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PARTNER LOCATION TABLE - Latest known location of every rider
+ *
+ * Riders ping every few seconds; writing each ping to MySQL would be
+ * thousands of UPDATEs per second. Each ping here is instead:
+ * 1. One compare-and-replace in an in-memory map (newest fix per partner wins,
+ *    out-of-order pings are dropped)
+ * 2. One "dirty" mark for the partner
+ * 3. A direct update of PartnerGeoIndex, so dispatch sees the new position at once
+ *
+ * A scheduled task writes the latest fix of every dirty partner back to
+ * MySQL in one JDBC batch, so the database sees at most one UPDATE per
+ * partner per flush interval however often the rider pings.
+ *
+ * Client timestamps are clamped to now: a phone with a clock running ahead
+ * would otherwise pin the rider's position, since every later real ping
+ * looks older. The flush UPDATE is conditional on location_updated_at too,
+ * so it never overwrites a newer fix (and replaces one stuck in the future).
+ *
+ * The location columns of DeliveryPartner are not updatable through JPA;
+ * this flush is their only writer.
+ *
+ * Metrics: partner.location.pings (tags result = accepted / stale),
+ * partner.location.flushed
+ */
+@Component
+@Slf4j
+public class PartnerLocationTable {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String UPDATE_SQL =
+            "UPDATE delivery_partners SET current_latitude = ?, current_longitude = ?, location_updated_at = ? "
+                    + "WHERE id = ? AND (location_updated_at IS NULL OR location_updated_at < ? OR location_updated_at > ?)";
+
+    private final DeliveryPartnerRepository partnerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PartnerGeoIndex partnerGeoIndex;
+    private final Clock clock;
+
+    private final Map<Long, LocationFix> latest = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // Partner ids known to exist (validates pings without a DB query per ping)
+    private final Set<Long> knownPartners = ConcurrentHashMap.newKeySet();
+
+    private final Counter acceptedPings;
+    private final Counter stalePings;
+    private final Counter flushedRows;
+
+    public PartnerLocationTable(DeliveryPartnerRepository partnerRepository, JdbcTemplate jdbcTemplate,
+                                PartnerGeoIndex partnerGeoIndex, MeterRegistry meterRegistry, Clock clock) {
+        this.partnerRepository = partnerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.partnerGeoIndex = partnerGeoIndex;
+        this.clock = clock;
+        this.acceptedPings = Counter.builder("partner.location.pings").tag("result", "accepted").register(meterRegistry);
+        this.stalePings = Counter.builder("partner.location.pings").tag("result", "stale").register(meterRegistry);
+        this.flushedRows = Counter.builder("partner.location.flushed").register(meterRegistry);
+    }
+
+    /**
+     * RECORD ONE PING
+     *
+     * @return false if a newer fix was already known (ping ignored)
+     */
+    public boolean record(Long partnerId, PartnerLocationDTO ping) {
+        if (!knownPartners.contains(partnerId)) {
+            if (!partnerRepository.existsById(partnerId)) {
+                throw new RuntimeException("Partner not found: " + partnerId);
+            }
+            knownPartners.add(partnerId);
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime recordedAt = ping.getRecordedAt() != null && ping.getRecordedAt().isBefore(now)
+                ? ping.getRecordedAt()
+                : now;
+        LocationFix fix = new LocationFix(ping.getLatitude(), ping.getLongitude(), recordedAt);
+        LocationFix stored = latest.merge(partnerId, fix,
+                (previous, next) -> next.recordedAt().isBefore(previous.recordedAt()) ? previous : next);
+        if (stored != fix) {
+            stalePings.increment();
+            return false;
+        }
+
+        dirty.add(partnerId);
+        partnerGeoIndex.updateLocation(partnerId, fix.latitude(), fix.longitude());
+        acceptedPings.increment();
+        return true;
+    }
+
+    /**
+     * LATEST KNOWN FIX, or null if this instance has not seen a ping yet
+     */
+    public LocationFix latest(Long partnerId) {
+        return latest.get(partnerId);
+    }
+
+    /**
+     * WRITE DIRTY LOCATIONS BACK TO MYSQL (batched)
+     */
+    @Scheduled(fixedDelayString = "${delivery.location.flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocationFix>> batch = new ArrayList<>();
+        for (Long partnerId : new ArrayList<>(dirty)) {
+            dirty.remove(partnerId);
+            LocationFix fix = latest.get(partnerId);
+            if (fix != null) {
+                batch.add(Map.entry(partnerId, fix));
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, BATCH_SIZE, (ps, write) -> {
+                Timestamp recordedAt = Timestamp.valueOf(write.getValue().recordedAt());
+                ps.setDouble(1, write.getValue().latitude());
+                ps.setDouble(2, write.getValue().longitude());
+                ps.setTimestamp(3, recordedAt);
+                ps.setLong(4, write.getKey());
+                ps.setTimestamp(5, recordedAt);
+                ps.setTimestamp(6, now);
+            });
+            flushedRows.increment(batch.size());
+            log.debug("Flushed {} partner locations to MySQL", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush {} partner locations, will retry: {}", batch.size(), e.getMessage());
+            batch.forEach(write -> dirty.add(write.getKey()));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public record LocationFix(double latitude, double longitude, LocalDateTime recordedAt) {
+    }
+}
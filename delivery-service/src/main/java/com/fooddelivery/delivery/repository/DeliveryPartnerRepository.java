@@ -3,8 +3,53 @@ package com.fooddelivery.delivery.repository;
 import com.fooddelivery.delivery.entity.DeliveryPartner;
 import com.fooddelivery.delivery.entity.PartnerStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface DeliveryPartnerRepository extends JpaRepository<DeliveryPartner, Long> {
     List<DeliveryPartner> findByStatus(PartnerStatus status);
+
+    /**
+     * Claim a free partner for a first order: AVAILABLE -> BUSY carrying one order.
+     * One statement, so two concurrent claims can never both succeed (no read-then-save race).
+     *
+     * @return 1 if this caller claimed the partner, 0 if it was not AVAILABLE
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeliveryPartner p SET p.status = com.fooddelivery.delivery.entity.PartnerStatus.BUSY, " +
+            "p.activeOrders = 1 WHERE p.id = :id AND p.status = com.fooddelivery.delivery.entity.PartnerStatus.AVAILABLE")
+    int claimAvailable(@Param("id") Long id);
+
+    /**
+     * Stack one more order on a busy partner. Only succeeds if the partner still
+     * carries exactly expectedOrders (the route the order was planned into) and
+     * has room for another one.
+     *
+     * @return 1 if the order was added, otherwise 0
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeliveryPartner p SET p.activeOrders = p.activeOrders + 1 WHERE p.id = :id " +
+            "AND p.status = com.fooddelivery.delivery.entity.PartnerStatus.BUSY " +
+            "AND p.activeOrders = :expectedOrders AND p.activeOrders < :capacity")
+    int stackOrder(@Param("id") Long id, @Param("expectedOrders") int expectedOrders, @Param("capacity") int capacity);
+
+    /**
+     * One order of this partner is finished (delivered, failed or cancelled)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeliveryPartner p SET p.activeOrders = p.activeOrders - 1 WHERE p.id = :id AND p.activeOrders > 0")
+    int releaseOrder(@Param("id") Long id);
+
+    /**
+     * BUSY -> AVAILABLE, only once the partner carries no order any more
+     *
+     * @return 1 if the partner was freed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeliveryPartner p SET p.status = com.fooddelivery.delivery.entity.PartnerStatus.AVAILABLE " +
+            "WHERE p.id = :id AND p.status = com.fooddelivery.delivery.entity.PartnerStatus.BUSY AND p.activeOrders = 0")
+    int freeIfIdle(@Param("id") Long id);
 }
@@ -2,7 +2,13 @@ package com.fooddelivery.delivery.repository;
 
 import com.fooddelivery.delivery.entity.Delivery;
 import com.fooddelivery.delivery.entity.DeliveryStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,6 +27,19 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
      */
     Optional<Delivery> findByOrderId(Long orderId);
 
+    /**
+     * Find delivery by ID with a row lock (SELECT ... FOR UPDATE)
+     * Status changes read through this, so two updates of one delivery run one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Delivery> findWithLockById(Long id);
+
+    /**
+     * Find delivery by order ID with a row lock (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Delivery> findWithLockByOrderId(Long orderId);
+
     /**
      * Find all deliveries by partner
      */
@@ -31,6 +50,11 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
      */
     List<Delivery> findByStatus(DeliveryStatus status);
 
+    /**
+     * Most recent deliveries in a status (ETA engine warm-up)
+     */
+    List<Delivery> findByStatusOrderByDeliveredAtDesc(DeliveryStatus status, Pageable pageable);
+
     /**
      * Find active deliveries by partner
      */
@@ -40,4 +64,25 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
      * Check if delivery exists for order
      */
     boolean existsByOrderId(Long orderId);
+
+    /**
+     * Next delivery-events sequence number of a delivery (step 1 of 2)
+     * Holds the row lock until commit, so concurrent writers of one order get
+     * increasing numbers in commit order.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Delivery d SET d.eventSequence = d.eventSequence + 1 WHERE d.id = :id")
+    int incrementEventSequence(@Param("id") Long id);
+
+    /**
+     * Current delivery-events sequence number (step 2 of 2)
+     */
+    @Query("SELECT d.eventSequence FROM Delivery d WHERE d.id = :id")
+    Long findEventSequence(@Param("id") Long id);
+
+    /**
+     * Current delivery-events sequence number of an order (null if no delivery)
+     */
+    @Query("SELECT d.eventSequence FROM Delivery d WHERE d.orderId = :orderId")
+    Long findEventSequenceByOrderId(@Param("orderId") Long orderId);
 }
@@ -0,0 +1,60 @@
+package com.fooddelivery.delivery.repository;
+
+import com.fooddelivery.delivery.entity.DispatchSubmission;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DISPATCH SUBMISSION REPOSITORY
+ *
+ * Durable inbox of DispatchEngine
+ */
+@Repository
+public interface DispatchSubmissionRepository extends JpaRepository<DispatchSubmission, Long> {
+
+    /**
+     * Check if an order was already submitted (or cancelled)
+     */
+    boolean existsByOrderId(Long orderId);
+
+    /**
+     * Orders for the next batch, oldest first
+     */
+    List<DispatchSubmission> findByCancelledFalseOrderBySubmittedAtAsc(Pageable pageable);
+
+    /**
+     * Read an order's row with a row lock (SELECT ... FOR UPDATE)
+     * Held until the assignment commits, so a concurrent cancellation waits for it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<DispatchSubmission> findWithLockByOrderId(Long orderId);
+
+    /**
+     * Mark a submitted order cancelled in one statement
+     *
+     * @return 1 if the order had a row, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DispatchSubmission s SET s.cancelled = true WHERE s.orderId = :orderId")
+    int markCancelled(@Param("orderId") Long orderId);
+
+    /**
+     * Purge cancellation markers older than the cutoff
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DispatchSubmission s WHERE s.cancelled = true AND s.submittedAt < :cutoff")
+    int deleteCancelledBefore(@Param("cutoff") LocalDateTime cutoff);
+}
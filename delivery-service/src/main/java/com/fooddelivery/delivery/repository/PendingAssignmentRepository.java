@@ -0,0 +1,42 @@
+package com.fooddelivery.delivery.repository;
+
+import com.fooddelivery.delivery.entity.PendingAssignment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * PENDING ASSIGNMENT REPOSITORY
+ *
+ * Durable backing store of PendingAssignmentQueue
+ */
+@Repository
+public interface PendingAssignmentRepository extends JpaRepository<PendingAssignment, Long> {
+
+    /**
+     * Check if an order is already waiting
+     */
+    boolean existsByOrderId(Long orderId);
+
+    /**
+     * Read a waiting order's row with a row lock (SELECT ... FOR UPDATE)
+     * Held until the assignment commits, so a concurrent cancellation waits for it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<PendingAssignment> findWithLockByOrderId(Long orderId);
+
+    /**
+     * Remove an order from the queue in one statement
+     *
+     * @return 1 if the order was waiting, otherwise 0
+     */
+    @Modifying
+    @Query("DELETE FROM PendingAssignment p WHERE p.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
@@ -1,17 +1,33 @@
 package com.fooddelivery.delivery.service;
 
+import com.fooddelivery.delivery.client.RestaurantLocationClient;
+import com.fooddelivery.delivery.dispatch.PendingAssignmentQueue;
 import com.fooddelivery.delivery.dto.DeliveryDTO;
+import com.fooddelivery.delivery.dto.NearbyPartnerDTO;
+import com.fooddelivery.delivery.dto.PartnerLocationDTO;
 import com.fooddelivery.delivery.entity.*;
+import com.fooddelivery.delivery.eta.EtaEngine;
+import com.fooddelivery.delivery.event.DeliveryChangedEvent;
+import com.fooddelivery.delivery.event.PartnerChangedEvent;
+import com.fooddelivery.delivery.geo.PartnerGeoIndex;
+import com.fooddelivery.delivery.kafka.DeliveryEventProducer;
+import com.fooddelivery.delivery.location.PartnerLocationTable;
 import com.fooddelivery.delivery.repository.DeliveryPartnerRepository;
 import com.fooddelivery.delivery.repository.DeliveryRepository;
+import com.fooddelivery.delivery.repository.DispatchSubmissionRepository;
+import com.fooddelivery.delivery.stacking.Route;
+import com.fooddelivery.delivery.stacking.StackingPlanner;
 import com.fooddelivery.order.event.OrderEvent;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +35,35 @@ import java.util.stream.Collectors;
  * DELIVERY SERVICE - Business Logic
  *
  * Handles delivery partner assignment and tracking
+ *
+ * Partner selection uses PartnerGeoIndex: the nearest available partners
+ * to the restaurant are looked up in memory and claimed in order of
+ * distance. Until the index is loaded at startup, the AVAILABLE partners
+ * from MySQL are tried instead.
+ *
+ * Claiming is one conditional UPDATE (status AVAILABLE -> BUSY, see
+ * DeliveryPartnerRepository.claimAvailable), so two concurrent
+ * assignments can never both get the same partner; the loser moves on
+ * to its next candidate.
+ *
+ * If no partner is free, the order is not dropped: it goes to
+ * PendingAssignmentQueue and is assigned by assignPending once
+ * DispatchEngine sees a partner become available.
+ *
+ * Estimated delivery times come from EtaEngine (partner distance, vehicle,
+ * learned restaurant/zone durations, time of day); it learns from every
+ * pickup and delivery reported through updateDeliveryStatus.
+ *
+ * STACKING: a busy partner may carry several orders (StackingPlanner). A new
+ * order is stacked onto a partner's route when it fits the route's ETA budget
+ * and costs less rider time than a fresh partner. The partner's activeOrders
+ * count is changed with conditional UPDATEs only; the partner is AVAILABLE
+ * again once its last order is finished.
+ *
+ * Every delivery write publishes a DeliveryChangedEvent, which keeps live
+ * tracking (TrackingHub) current without reading MySQL. Kafka
+ * "delivery-events" go through DeliveryEventProducer (keyed by order id,
+ * numbered per order, sent after commit).
  */
 @Service
 @Slf4j
@@ -26,37 +71,108 @@ public class DeliveryService {
 
     private final DeliveryRepository deliveryRepository;
     private final DeliveryPartnerRepository partnerRepository;
-
-    @Autowired(required = false)
-    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    private final PartnerGeoIndex partnerGeoIndex;
+    private final RestaurantLocationClient restaurantLocationClient;
+    private final PartnerLocationTable locationTable;
+    private final PendingAssignmentQueue pendingQueue;
+    private final DispatchSubmissionRepository submissionRepository;
+    private final EtaEngine etaEngine;
+    private final StackingPlanner stackingPlanner;
+    private final DeliveryEventProducer deliveryEventProducer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    // Nearest partners checked against MySQL per lookup (some may have been claimed meanwhile)
+    private static final int PARTNER_CANDIDATES = 5;
+    private static final int PARTNER_LOOKUP_ATTEMPTS = 3;
+    private static final int MAX_NEARBY_RESULTS = 50;
+    private static final List<DeliveryStatus> ACTIVE_STATUSES =
+            List.of(DeliveryStatus.ASSIGNED, DeliveryStatus.PICKED_UP, DeliveryStatus.IN_TRANSIT);
 
     public DeliveryService(DeliveryRepository deliveryRepository,
-                           DeliveryPartnerRepository partnerRepository) {
+                           DeliveryPartnerRepository partnerRepository,
+                           PartnerGeoIndex partnerGeoIndex,
+                           RestaurantLocationClient restaurantLocationClient,
+                           PartnerLocationTable locationTable,
+                           PendingAssignmentQueue pendingQueue,
+                           DispatchSubmissionRepository submissionRepository,
+                           EtaEngine etaEngine,
+                           StackingPlanner stackingPlanner,
+                           DeliveryEventProducer deliveryEventProducer,
+                           ApplicationEventPublisher eventPublisher,
+                           Clock clock) {
         this.deliveryRepository = deliveryRepository;
         this.partnerRepository = partnerRepository;
+        this.partnerGeoIndex = partnerGeoIndex;
+        this.restaurantLocationClient = restaurantLocationClient;
+        this.locationTable = locationTable;
+        this.pendingQueue = pendingQueue;
+        this.submissionRepository = submissionRepository;
+        this.etaEngine = etaEngine;
+        this.stackingPlanner = stackingPlanner;
+        this.deliveryEventProducer = deliveryEventProducer;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
     }
 
     /**
      * ASSIGN DELIVERY PARTNER (Called from Kafka Consumer)
      *
      * Automatically assigns an available partner when payment is completed
+     *
+     * @return the delivery, or null if no partner was free and the order was queued
      */
     @Transactional
     public DeliveryDTO assignDeliveryPartner(OrderEvent event) {
+        return assignDeliveryPartner(event, null);
+    }
+
+    /**
+     * ASSIGN DELIVERY PARTNER (Called from DispatchEngine)
+     *
+     * @param preferredPartnerId partner proposed by the batch plan, tried first (null = nearest)
+     * @return the delivery, or null if no partner was free and the order was queued
+     */
+    @Transactional
+    public DeliveryDTO assignDeliveryPartner(OrderEvent event, Long preferredPartnerId) {
         log.info("🚗 Assigning delivery partner for Order ID: {}", event.getOrderId());
 
         // Check if delivery already assigned
         if (deliveryRepository.existsByOrderId(event.getOrderId())) {
             log.warn("⚠️ Delivery already assigned for Order ID: {}", event.getOrderId());
+            pendingQueue.complete(event.getOrderId());
             return convertToDTO(deliveryRepository.findByOrderId(event.getOrderId()).get());
         }
 
-        // Find available delivery partner
-        List<DeliveryPartner> availablePartners = partnerRepository.findByStatus(PartnerStatus.AVAILABLE);
-        if (availablePartners.isEmpty()) {
-            throw new RuntimeException("No available delivery partners found");
+        // Resolved once for the whole assignment (cached; DispatchEngine prefetched it)
+        RestaurantLocationClient.Location pickup = restaurantLocationClient.getLocation(event.getRestaurantId());
+
+        // Ride along with a busy partner if that beats sending a free one
+        DeliveryDTO stacked = assignStacked(event, pickup);
+        if (stacked != null) {
+            return stacked;
+        }
+
+        // Claim planned or nearest available delivery partner (already BUSY when returned)
+        DeliveryPartner partner = preferredPartnerId != null ? claimPartner(preferredPartnerId) : null;
+        if (partner == null) {
+            if (preferredPartnerId != null) {
+                partnerGeoIndex.remove(preferredPartnerId);
+            }
+            partner = claimNearestAvailablePartner(pickup);
+        }
+        if (partner == null) {
+            // Nobody free: any route the order fits into is better than waiting
+            stacked = assignStacked(event, pickup);
+            if (stacked != null) {
+                return stacked;
+            }
+            pendingQueue.enqueue(event.getOrderId(), event.getUserId(), event.getRestaurantId(),
+                    PendingAssignment.PRIORITY_NEW_ORDER);
+            log.warn("⏳ No delivery partner available for Order ID: {} - waiting for the next free partner",
+                    event.getOrderId());
+            return null;
         }
-        DeliveryPartner partner = availablePartners.get(0);
 
         // Create delivery assignment
         Delivery delivery = new Delivery();
@@ -64,34 +180,42 @@ public class DeliveryService {
         delivery.setPartnerId(partner.getId());
         delivery.setRestaurantId(event.getRestaurantId());
         delivery.setStatus(DeliveryStatus.ASSIGNED);
-        delivery.setAssignedAt(LocalDateTime.now());
-        delivery.setEstimatedDeliveryTime(LocalDateTime.now().plusMinutes(30));
+        delivery.setAssignedAt(LocalDateTime.now(clock));
+        EtaEngine.Eta eta = applyEstimate(delivery, partner, pickup);
 
         Delivery savedDelivery = deliveryRepository.save(delivery);
-
-        // Mark partner as busy
-        partner.setStatus(PartnerStatus.BUSY);
-        partnerRepository.save(partner);
+        publishDeliveryChange(savedDelivery);
+        pendingQueue.complete(event.getOrderId());
+        stackingPlanner.startRoute(partner, event.getOrderId(), pickup, eta, delivery.getAssignedAt());
+        publishPartnerChange(partner);
 
         log.info("✅ Delivery partner {} assigned to Order ID: {}",
                 partner.getName(), event.getOrderId());
 
         // Publish DELIVERY_ASSIGNED event
-        publishDeliveryEvent(event, "DELIVERY_ASSIGNED", partner.getId());
+        deliveryEventProducer.publish(savedDelivery, "DELIVERY_ASSIGNED", event.getUserId());
 
         return convertToDTO(savedDelivery);
     }
 
     /**
-     * MARK PARTNER AS AVAILABLE
+     * ASSIGN A BATCHED ORDER (Called from DispatchEngine per batch)
+     *
+     * The order's submission row is locked first: an order cancelled since
+     * the batch was read is skipped, and a cancellation arriving now waits
+     * for this transaction (and then cancels the delivery it created).
+     *
+     * @return the delivery, or null if the order was cancelled or queued
      */
     @Transactional
-    public void markPartnerAvailable(Long partnerId) {
-        log.info("✅ Marking partner {} as available", partnerId);
-        DeliveryPartner partner = partnerRepository.findById(partnerId)
-                .orElseThrow(() -> new RuntimeException("Partner not found: " + partnerId));
-        partner.setStatus(PartnerStatus.AVAILABLE);
-        partnerRepository.save(partner);
+    public DeliveryDTO assignSubmitted(OrderEvent event, Long plannedPartnerId) {
+        DispatchSubmission submission = submissionRepository.findWithLockByOrderId(event.getOrderId()).orElse(null);
+        if (submission == null || submission.isCancelled()) {
+            log.info("⏭️ Order ID: {} was cancelled or dispatched meanwhile, not assigning", event.getOrderId());
+            return null;
+        }
+        submissionRepository.delete(submission);
+        return assignDeliveryPartner(event, plannedPartnerId);
     }
 
     /**
@@ -101,40 +225,56 @@ public class DeliveryService {
     public DeliveryDTO updateDeliveryStatus(Long deliveryId, DeliveryStatus newStatus) {
         log.info("📝 Updating delivery {} to status: {}", deliveryId, newStatus);
 
-        Delivery delivery = deliveryRepository.findById(deliveryId)
+        Delivery delivery = deliveryRepository.findWithLockById(deliveryId)
                 .orElseThrow(() -> new RuntimeException("Delivery not found: " + deliveryId));
 
+        // Checked before any counter is touched: a repeated DELIVERED must not release the partner twice
+        if (!isAllowedTransition(delivery.getStatus(), newStatus)) {
+            throw new IllegalStateException("Delivery " + deliveryId + " cannot go from "
+                    + delivery.getStatus() + " to " + newStatus);
+        }
+
+        boolean wasActive = ACTIVE_STATUSES.contains(delivery.getStatus());
+        boolean stacked = Boolean.TRUE.equals(delivery.getStacked());
         delivery.setStatus(newStatus);
 
         switch (newStatus) {
             case PICKED_UP:
-                delivery.setPickedUpAt(LocalDateTime.now());
+                delivery.setPickedUpAt(LocalDateTime.now(clock));
+                stackingPlanner.orderPickedUp(delivery.getPartnerId(), delivery.getOrderId());
+                // Shared routes keep their route-based ETA and are not learned from
+                if (!stacked) {
+                    etaEngine.recordPickup(delivery.getRestaurantId(), null, null, delivery.getAssignedAt(),
+                            delivery.getPickedUpAt(), delivery.getPickupTravelMinutes());
+                    // Only the transit leg is left
+                    delivery.setEstimatedDeliveryTime(delivery.getPickedUpAt().plusSeconds(
+                            Math.round(etaEngine.estimateTransit(delivery.getRestaurantId(), delivery.getPickedUpAt()) * 60)));
+                }
                 break;
             case DELIVERED:
-                delivery.setDeliveredAt(LocalDateTime.now());
-                // Mark partner as available
-                markPartnerAvailable(delivery.getPartnerId());
+                delivery.setDeliveredAt(LocalDateTime.now(clock));
+                if (!stacked) {
+                    etaEngine.recordDelivery(delivery.getRestaurantId(), null, null,
+                            delivery.getPickedUpAt(), delivery.getDeliveredAt());
+                }
+                // Partner is available once its last order is done
+                if (wasActive) {
+                    releasePartner(delivery.getPartnerId(), delivery.getOrderId());
+                }
                 break;
             case FAILED:
             case CANCELLED:
-                // Mark partner as available
-                markPartnerAvailable(delivery.getPartnerId());
+                if (wasActive) {
+                    releasePartner(delivery.getPartnerId(), delivery.getOrderId());
+                }
                 break;
         }
 
         Delivery updatedDelivery = deliveryRepository.save(delivery);
+        publishDeliveryChange(updatedDelivery);
 
         // Publish event
-        if (kafkaTemplate != null) {
-            OrderEvent event = new OrderEvent();
-            event.setOrderId(delivery.getOrderId());
-            event.setDeliveryPartnerId(delivery.getPartnerId());
-            event.setEventType("DELIVERY_" + newStatus.name());
-            event.setTimestamp(LocalDateTime.now());
-            kafkaTemplate.send("delivery-events", event);
-        } else {
-            log.warn("⚠️ Kafka not configured - delivery event not published");
-        }
+        deliveryEventProducer.publish(updatedDelivery, "DELIVERY_" + newStatus.name(), null);
 
         return convertToDTO(updatedDelivery);
     }
@@ -146,50 +286,112 @@ public class DeliveryService {
     public void cancelDelivery(Long orderId) {
         log.info("❌ Cancelling delivery for Order ID: {}", orderId);
 
-        Delivery delivery = deliveryRepository.findByOrderId(orderId)
+        // May still be waiting for a partner (new order or reassignment). Deleted before the
+        // delivery is read: waits for an assignment holding the row, then sees its delivery
+        pendingQueue.cancel(orderId);
+
+        Delivery delivery = deliveryRepository.findWithLockByOrderId(orderId)
                 .orElse(null);
 
+        // A FAILED delivery waiting for reassignment can still be cancelled
+        if (delivery != null && isFinished(delivery.getStatus())) {
+            log.info("⏭️ Delivery for Order ID: {} is already {}, not cancelling", orderId, delivery.getStatus());
+            return;
+        }
         if (delivery != null) {
+            boolean wasActive = ACTIVE_STATUSES.contains(delivery.getStatus());
             delivery.setStatus(DeliveryStatus.CANCELLED);
-            deliveryRepository.save(delivery);
+            publishDeliveryChange(deliveryRepository.save(delivery));
 
-            // Free up partner
-            markPartnerAvailable(delivery.getPartnerId());
+            // Free up partner (if this was its last order)
+            if (wasActive) {
+                releasePartner(delivery.getPartnerId(), delivery.getOrderId());
+            }
         }
     }
 
     /**
      * REASSIGN DELIVERY PARTNER
+     *
+     * If no partner is free, the delivery waits in the pending queue ahead of
+     * new orders, marked FAILED (its partner is already released) - the only
+     * status assignPending reassigns.
      */
     @Transactional
     public DeliveryDTO reassignDeliveryPartner(Long orderId) {
         log.info("🔄 Reassigning delivery partner for Order ID: {}", orderId);
 
-        Delivery delivery = deliveryRepository.findByOrderId(orderId)
+        Delivery delivery = deliveryRepository.findWithLockByOrderId(orderId)
                 .orElseThrow(() -> new RuntimeException("Delivery not found for order: " + orderId));
-
-        // Free up current partner
-        markPartnerAvailable(delivery.getPartnerId());
-
-        // Find new available partner
-        List<DeliveryPartner> availablePartners = partnerRepository.findByStatus(PartnerStatus.AVAILABLE);
-        if (availablePartners.isEmpty()) {
-            throw new RuntimeException("No available delivery partners found");
+        if (isFinished(delivery.getStatus())) {
+            throw new IllegalStateException("Delivery for order " + orderId + " is already " + delivery.getStatus());
         }
-        DeliveryPartner newPartner = availablePartners.get(0);
 
-        delivery.setPartnerId(newPartner.getId());
-        delivery.setAssignedAt(LocalDateTime.now());
+        // Free up current partner (already done if the delivery was reported FAILED)
+        if (ACTIVE_STATUSES.contains(delivery.getStatus())) {
+            releasePartner(delivery.getPartnerId(), delivery.getOrderId());
+        }
 
-        Delivery reassignedDelivery = deliveryRepository.save(delivery);
+        DeliveryDTO reassigned = assignReplacementPartner(delivery);
+        if (reassigned == null) {
+            if (delivery.getStatus() != DeliveryStatus.FAILED) {
+                delivery.setStatus(DeliveryStatus.FAILED);
+                publishDeliveryChange(deliveryRepository.save(delivery));
+            }
+            pendingQueue.enqueue(orderId, null, delivery.getRestaurantId(), PendingAssignment.PRIORITY_REASSIGNMENT);
+            // Moves the event sequence past the FAILED event, so a replay of it is stale
+            deliveryEventProducer.publish(delivery, "DELIVERY_REASSIGNMENT_PENDING", null);
+            log.warn("⏳ No delivery partner available to reassign Order ID: {} - waiting for the next free partner",
+                    orderId);
+            return convertToDTO(delivery);
+        }
+        return reassigned;
+    }
 
-        // Mark new partner as busy
-        newPartner.setStatus(PartnerStatus.BUSY);
-        partnerRepository.save(newPartner);
+    /**
+     * ASSIGN A QUEUED ORDER (Called from DispatchEngine when draining the queue)
+     *
+     * @return the delivery, or null if still no partner is free (the order stays queued)
+     */
+    @Transactional
+    public DeliveryDTO assignPending(PendingAssignment pending) {
+        if (!pendingQueue.lockIfWaiting(pending.getOrderId())) {
+            log.info("⏭️ Order ID: {} is no longer waiting for a partner", pending.getOrderId());
+            return null;
+        }
+        Delivery delivery = deliveryRepository.findByOrderId(pending.getOrderId()).orElse(null);
+        if (delivery == null) {
+            OrderEvent event = new OrderEvent();
+            event.setOrderId(pending.getOrderId());
+            event.setUserId(pending.getUserId());
+            event.setRestaurantId(pending.getRestaurantId());
+            event.setEventType("PAYMENT_COMPLETED");
+            return assignDeliveryPartner(event, null);
+        }
 
-        log.info("✅ Delivery reassigned to partner: {}", newPartner.getName());
+        // Waiting reassignment: only a FAILED delivery still needs a partner; anything else
+        // was reassigned, finished or cancelled by another path meanwhile
+        if (delivery.getStatus() != DeliveryStatus.FAILED) {
+            pendingQueue.complete(pending.getOrderId());
+            return convertToDTO(delivery);
+        }
+        return assignReplacementPartner(delivery);
+    }
 
-        return convertToDTO(reassignedDelivery);
+    /**
+     * IS A DELIVERY EVENT OUTDATED?
+     * True if the order's delivery has published a newer event since (e.g. a
+     * FAILED that was already followed by a reassignment and new status).
+     * Every reassignment publishes an event (DELIVERY_ASSIGNED, or
+     * DELIVERY_REASSIGNMENT_PENDING while queued), so a replayed FAILED is
+     * always behind.
+     */
+    public boolean isStaleDeliveryEvent(OrderEvent event) {
+        if (event.getSequence() == null) {
+            return false;
+        }
+        Long current = deliveryRepository.findEventSequenceByOrderId(event.getOrderId());
+        return current != null && event.getSequence() < current;
     }
 
     /**
@@ -212,23 +414,272 @@ public class DeliveryService {
     }
 
     /**
-     * PUBLISH DELIVERY EVENT TO KAFKA
+     * RECORD A RIDER LOCATION PING
+     * Goes to the in-memory location table; MySQL is updated by its batched flush.
+     *
+     * @return false if the ping was older than the latest known fix
      */
-    private void publishDeliveryEvent(OrderEvent originalEvent, String eventType, Long partnerId) {
-        if (kafkaTemplate != null) {
-            OrderEvent deliveryEvent = new OrderEvent();
-            deliveryEvent.setOrderId(originalEvent.getOrderId());
-            deliveryEvent.setUserId(originalEvent.getUserId());
-            deliveryEvent.setRestaurantId(originalEvent.getRestaurantId());
-            deliveryEvent.setDeliveryPartnerId(partnerId);
-            deliveryEvent.setEventType(eventType);
-            deliveryEvent.setTimestamp(LocalDateTime.now());
+    public boolean recordPartnerLocation(Long partnerId, PartnerLocationDTO ping) {
+        return locationTable.record(partnerId, ping);
+    }
 
-            kafkaTemplate.send("delivery-events", deliveryEvent);
-            log.info("📨 Published {} event to Kafka", eventType);
-        } else {
-            log.warn("⚠️ Kafka not configured - {} event not published", eventType);
+    /**
+     * FIND NEARBY AVAILABLE PARTNERS (served from the in-memory index)
+     */
+    public List<NearbyPartnerDTO> findNearbyPartners(double latitude, double longitude, int limit) {
+        return partnerGeoIndex.nearest(latitude, longitude, Math.min(Math.max(limit, 1), MAX_NEARBY_RESULTS));
+    }
+
+    /**
+     * LOAD PARTNER GEO INDEX ON STARTUP
+     * After that the index is kept current through PartnerChangedEvent
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPartnerIndex() {
+        partnerGeoIndex.load(partnerRepository.findByStatus(PartnerStatus.AVAILABLE));
+    }
+
+    /**
+     * HELPER METHOD: Give an existing delivery the nearest free partner
+     *
+     * @return the updated delivery, or null if no partner is free
+     */
+    private DeliveryDTO assignReplacementPartner(Delivery delivery) {
+        // Claim new available partner (already BUSY when returned)
+        RestaurantLocationClient.Location pickup = restaurantLocationClient.getLocation(delivery.getRestaurantId());
+        DeliveryPartner newPartner = claimNearestAvailablePartner(pickup);
+        if (newPartner == null) {
+            return null;
         }
+
+        delivery.setPartnerId(newPartner.getId());
+        delivery.setStatus(DeliveryStatus.ASSIGNED);
+        delivery.setAssignedAt(LocalDateTime.now(clock));
+        delivery.setStacked(false);
+        EtaEngine.Eta eta = applyEstimate(delivery, newPartner, pickup);
+
+        Delivery reassignedDelivery = deliveryRepository.save(delivery);
+        publishDeliveryChange(reassignedDelivery);
+        pendingQueue.complete(delivery.getOrderId());
+        stackingPlanner.startRoute(newPartner, delivery.getOrderId(), pickup, eta, delivery.getAssignedAt());
+        publishPartnerChange(newPartner);
+        deliveryEventProducer.publish(reassignedDelivery, "DELIVERY_ASSIGNED", null);
+
+        log.info("✅ Delivery reassigned to partner: {}", newPartner.getName());
+
+        return convertToDTO(reassignedDelivery);
+    }
+
+    /**
+     * HELPER METHOD: Claim the nearest available partner to the restaurant
+     *
+     * Candidates are claimed one by one with a conditional UPDATE. A failed
+     * claim means the partner was taken by a committed transaction (InnoDB
+     * waits for the row lock), so it is dropped from the index; after
+     * PARTNER_CANDIDATES misses the index is asked again.
+     *
+     * @return the claimed partner, already BUSY in MySQL, or null if none is free
+     */
+    private DeliveryPartner claimNearestAvailablePartner(RestaurantLocationClient.Location pickup) {
+        if (!partnerGeoIndex.isLoaded()) {
+            for (DeliveryPartner partner : partnerRepository.findByStatus(PartnerStatus.AVAILABLE)) {
+                DeliveryPartner claimed = claimPartner(partner.getId());
+                if (claimed != null) {
+                    return claimed;
+                }
+            }
+            return null;
+        }
+
+        for (int attempt = 0; attempt < PARTNER_LOOKUP_ATTEMPTS; attempt++) {
+            List<Long> candidates = partnerCandidates(pickup);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (Long partnerId : candidates) {
+                DeliveryPartner claimed = claimPartner(partnerId);
+                if (claimed != null) {
+                    return claimed;
+                }
+                partnerGeoIndex.remove(partnerId);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * HELPER METHOD: AVAILABLE -> BUSY in one statement
+     *
+     * @return the partner (re-read, status BUSY) if this call claimed it, otherwise null
+     */
+    private DeliveryPartner claimPartner(Long partnerId) {
+        if (partnerRepository.claimAvailable(partnerId) == 0) {
+            log.debug("Partner {} was claimed by another assignment, trying next candidate", partnerId);
+            return null;
+        }
+        return partnerRepository.findById(partnerId)
+                .orElseThrow(() -> new RuntimeException("Partner not found: " + partnerId));
+    }
+
+    private List<Long> partnerCandidates(RestaurantLocationClient.Location pickup) {
+        List<Long> candidates = new ArrayList<>();
+        if (pickup != null) {
+            partnerGeoIndex.nearest(pickup.latitude(), pickup.longitude(), PARTNER_CANDIDATES)
+                    .forEach(nearby -> candidates.add(nearby.getPartnerId()));
+        }
+        if (candidates.isEmpty()) {
+            // No pickup location, or nobody located within range: partners without a known location
+            Long fallback = pickup != null ? partnerGeoIndex.anyUnlocated() : partnerGeoIndex.anyAvailable();
+            if (fallback != null) {
+                candidates.add(fallback);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * HELPER METHOD: Estimated delivery time for a fresh assignment
+     * The partner -> restaurant travel part is kept so the ETA engine can learn handover time at pickup
+     */
+    private EtaEngine.Eta applyEstimate(Delivery delivery, DeliveryPartner partner,
+                                        RestaurantLocationClient.Location pickup) {
+        PartnerLocationTable.LocationFix position = latestPosition(partner);
+        Double pickupDistanceKm = pickup != null && position != null
+                ? PartnerGeoIndex.distanceKm(position.latitude(), position.longitude(), pickup.latitude(), pickup.longitude())
+                : null;
+
+        EtaEngine.Eta eta = etaEngine.estimate(delivery.getRestaurantId(),
+                pickup != null ? pickup.latitude() : null, pickup != null ? pickup.longitude() : null,
+                pickupDistanceKm, partner.getVehicleType(), delivery.getAssignedAt());
+        delivery.setPickupTravelMinutes(pickupDistanceKm != null ? eta.pickupTravelMinutes() : null);
+        delivery.setEstimatedDeliveryTime(delivery.getAssignedAt().plusSeconds(Math.round(eta.totalMinutes() * 60)));
+        return eta;
+    }
+
+    /**
+     * HELPER METHOD: Stack the order onto the best busy partner's route
+     *
+     * The partner's order count is bumped only if it still matches the route
+     * the order was planned into, so concurrent stackings cannot overfill it.
+     *
+     * @return the delivery, or null if no route fits (or the route changed meanwhile)
+     */
+    private DeliveryDTO assignStacked(OrderEvent event, RestaurantLocationClient.Location pickup) {
+        if (!stackingPlanner.isEnabled()) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        StackingPlanner.StackOption option = stackingPlanner.bestStack(event.getOrderId(), event.getRestaurantId(),
+                pickup, now);
+        if (option == null) {
+            return null;
+        }
+        Route route = option.base();
+        if (partnerRepository.stackOrder(route.partnerId(), route.orderCount(), route.capacity()) == 0) {
+            log.debug("Route of partner {} changed, not stacking Order ID: {}", route.partnerId(), event.getOrderId());
+            return null;
+        }
+
+        Delivery delivery = new Delivery();
+        delivery.setOrderId(event.getOrderId());
+        delivery.setPartnerId(route.partnerId());
+        delivery.setRestaurantId(event.getRestaurantId());
+        delivery.setStatus(DeliveryStatus.ASSIGNED);
+        delivery.setAssignedAt(now);
+        delivery.setStacked(true);
+        delivery.setEstimatedDeliveryTime(StackingPlanner.toDateTime(option.insertion().deliveredAt(event.getOrderId())));
+        Delivery savedDelivery = deliveryRepository.save(delivery);
+        publishDeliveryChange(savedDelivery);
+
+        // Orders already on the route now share it: new ETAs, and no ETA learning from them
+        for (Delivery other : deliveryRepository.findByPartnerIdAndStatusIn(route.partnerId(), ACTIVE_STATUSES)) {
+            Double deliveredAt = option.insertion().deliveredAt(other.getOrderId());
+            if (deliveredAt != null && !other.getOrderId().equals(event.getOrderId())) {
+                other.setStacked(true);
+                other.setEstimatedDeliveryTime(StackingPlanner.toDateTime(deliveredAt));
+                publishDeliveryChange(deliveryRepository.save(other));
+            }
+        }
+
+        pendingQueue.complete(event.getOrderId());
+        stackingPlanner.commit(option);
+
+        log.info("📦 Order ID: {} stacked onto partner {} ({} orders, +{} min route time)", event.getOrderId(),
+                route.partnerId(), route.orderCount() + 1, Math.round(option.insertion().addedMinutes()));
+
+        deliveryEventProducer.publish(savedDelivery, "DELIVERY_ASSIGNED", event.getUserId());
+
+        return convertToDTO(savedDelivery);
+    }
+
+    /**
+     * HELPER METHOD: Status changes only move forward
+     * ASSIGNED -> PICKED_UP -> IN_TRANSIT -> DELIVERED, FAILED / CANCELLED from any active status;
+     * nothing out of DELIVERED, FAILED and CANCELLED (a FAILED delivery is reassigned, or
+     * cancelled while it waits, through reassignDeliveryPartner / cancelDelivery)
+     */
+    private static boolean isAllowedTransition(DeliveryStatus from, DeliveryStatus to) {
+        if (!ACTIVE_STATUSES.contains(from)) {
+            return false;
+        }
+        return switch (to) {
+            case PICKED_UP, IN_TRANSIT, DELIVERED -> to.ordinal() > from.ordinal();
+            case FAILED, CANCELLED -> true;
+            case ASSIGNED -> false;
+        };
+    }
+
+    private static boolean isFinished(DeliveryStatus status) {
+        return status == DeliveryStatus.DELIVERED || status == DeliveryStatus.CANCELLED;
+    }
+
+    /**
+     * HELPER METHOD: One order of a partner is finished (delivered, failed, cancelled, reassigned)
+     * The partner becomes AVAILABLE once it carries no other order.
+     */
+    private void releasePartner(Long partnerId, Long orderId) {
+        stackingPlanner.orderFinished(partnerId, orderId);
+        partnerRepository.releaseOrder(partnerId);
+        if (partnerRepository.freeIfIdle(partnerId) > 0) {
+            DeliveryPartner partner = partnerRepository.findById(partnerId)
+                    .orElseThrow(() -> new RuntimeException("Partner not found: " + partnerId));
+            log.info("✅ Partner {} is available again", partnerId);
+            publishPartnerChange(partner);
+        }
+    }
+
+    /**
+     * HELPER METHOD: Latest known position of a partner (null if never located)
+     * The latest ping if there is one (MySQL may lag by one flush interval)
+     */
+    private PartnerLocationTable.LocationFix latestPosition(DeliveryPartner partner) {
+        PartnerLocationTable.LocationFix fix = locationTable.latest(partner.getId());
+        if (fix != null) {
+            return fix;
+        }
+        if (partner.getCurrentLatitude() == null || partner.getCurrentLongitude() == null) {
+            return null;
+        }
+        return new PartnerLocationTable.LocationFix(partner.getCurrentLatitude(), partner.getCurrentLongitude(),
+                partner.getLocationUpdatedAt());
+    }
+
+    /**
+     * HELPER METHOD: Publish in-process partner change event
+     */
+    private void publishPartnerChange(DeliveryPartner partner) {
+        PartnerLocationTable.LocationFix position = latestPosition(partner);
+        eventPublisher.publishEvent(new PartnerChangedEvent(partner.getId(), partner.getStatus(),
+                position != null ? position.latitude() : null, position != null ? position.longitude() : null,
+                partner.getRating(), partner.getVehicleType()));
+    }
+
+    /**
+     * HELPER METHOD: Publish in-process delivery change event (live tracking)
+     */
+    private void publishDeliveryChange(Delivery delivery) {
+        eventPublisher.publishEvent(new DeliveryChangedEvent(delivery.getOrderId(), delivery.getPartnerId(),
+                delivery.getStatus(), delivery.getEstimatedDeliveryTime()));
     }
 
     /**
@@ -0,0 +1,621 @@
+package com.fooddelivery.delivery.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.delivery.client.RestaurantLocationClient;
+import com.fooddelivery.delivery.dispatch.DispatchCostModel;
+import com.fooddelivery.delivery.dispatch.DispatchEngine;
+import com.fooddelivery.delivery.dto.PartnerLocationDTO;
+import com.fooddelivery.delivery.entity.DeliveryPartner;
+import com.fooddelivery.delivery.entity.DeliveryStatus;
+import com.fooddelivery.delivery.entity.PartnerStatus;
+import com.fooddelivery.delivery.entity.VehicleType;
+import com.fooddelivery.delivery.event.DeliveryChangedEvent;
+import com.fooddelivery.delivery.repository.DeliveryPartnerRepository;
+import com.fooddelivery.delivery.service.DeliveryService;
+import com.fooddelivery.order.event.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * DISPATCH SIMULATOR - Offline load harness for dispatch tuning (profile "simulation")
+ *
+ * Runs the production dispatch path in-process on simulated time and an
+ * in-memory H2 database, with no Kafka, Eureka or Restaurant Service:
+ * 1. Seeds synthetic restaurants (partly clustered in hubs) and riders on a
+ *    street grid of city-km × city-km with block-km blocks
+ * 2. Generates orders as a Poisson stream whose rate follows rate-curve
+ *    ("minute:multiplier,..." of orders-per-minute, linearly interpolated)
+ * 3. Every tick-seconds of simulated time: new orders go to
+ *    DispatchEngine.submit, every batch-window-seconds DispatchEngine.dispatchBatch
+ *    runs, and riders move along the grid to their nearest open stop
+ *    (pickup once the food is ready, drop-off once picked up), pinging their
+ *    location and reporting PICKED_UP / DELIVERED through DeliveryService
+ * 4. Afterwards, riders keep delivering for up to drain-minutes, then a
+ *    SimulationReport is printed and written to report-dir/<label>.json
+ *
+ * The same seed gives the same restaurants, riders and orders, so two runs
+ * that differ only in dispatch settings (delivery.dispatch.*,
+ * delivery.stacking.*, ...) are directly comparable; pass
+ * delivery.simulation.compare-to=<earlier report> to print both.
+ *
+ * Run:
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=simulation \
+ *     -Dspring-boot.run.arguments="--delivery.simulation.label=no-stacking --delivery.stacking.enabled=false"
+ *
+ * Riders move at the DispatchCostModel speeds but along the grid, so real
+ * trips are longer than the straight-line estimates dispatch works with.
+ */
+@Component
+@Profile("simulation")
+@Slf4j
+public class DispatchSimulator {
+
+    private static final double CENTER_LAT = 12.97;
+    private static final double CENTER_LNG = 77.59;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final int HUBS = 5;
+    private static final double HUB_SHARE = 0.6;
+    private static final double HUB_RADIUS_KM = 1.0;
+
+    private final DeliveryService deliveryService;
+    private final DispatchEngine dispatchEngine;
+    private final DeliveryPartnerRepository partnerRepository;
+    private final SimulatedRestaurantLocations restaurantLocations;
+    private final SimulationClock clock;
+    private final DispatchCostModel costModel;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${delivery.simulation.label:default}")
+    private String label;
+    @Value("${delivery.simulation.seed:42}")
+    private long seed;
+    @Value("${delivery.simulation.riders:150}")
+    private int riderCount;
+    @Value("${delivery.simulation.restaurants:200}")
+    private int restaurantCount;
+    @Value("${delivery.simulation.duration-minutes:180}")
+    private int durationMinutes;
+    @Value("${delivery.simulation.drain-minutes:120}")
+    private int drainMinutes;
+    @Value("${delivery.simulation.orders-per-minute:5.0}")
+    private double ordersPerMinute;
+    @Value("${delivery.simulation.rate-curve:0:0.6,45:1.0,90:1.8,135:1.0,180:0.6}")
+    private String rateCurve;
+    @Value("${delivery.simulation.city-km:10}")
+    private double cityKm;
+    @Value("${delivery.simulation.block-km:0.2}")
+    private double blockKm;
+    @Value("${delivery.simulation.max-dropoff-km:5}")
+    private double maxDropoffKm;
+    @Value("${delivery.simulation.min-prep-minutes:8}")
+    private double minPrepMinutes;
+    @Value("${delivery.simulation.max-prep-minutes:18}")
+    private double maxPrepMinutes;
+    @Value("${delivery.simulation.service-minutes:2}")
+    private double serviceMinutes;
+    @Value("${delivery.simulation.tick-seconds:1}")
+    private double tickSeconds;
+    @Value("${delivery.simulation.batch-window-seconds:2}")
+    private double batchWindowSeconds;
+    @Value("${delivery.simulation.ping-seconds:10}")
+    private double pingSeconds;
+    @Value("${delivery.simulation.report-dir:target/simulation}")
+    private String reportDir;
+    @Value("${delivery.simulation.compare-to:}")
+    private String compareTo;
+    @Value("${delivery.simulation.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    // Simulation state: only touched on the simulation thread (assignments
+    // and their events all happen inside its DispatchEngine/DeliveryService calls)
+    private final Map<Long, SimOrder> orders = new HashMap<>();
+    private final Map<Long, SimRider> riders = new LinkedHashMap<>();
+    private volatile boolean running;
+    private Instant startInstant;
+    private double now;
+    private long callStartNanos;
+    private int openOrders;
+
+    public DispatchSimulator(DeliveryService deliveryService, DispatchEngine dispatchEngine,
+                             DeliveryPartnerRepository partnerRepository,
+                             SimulatedRestaurantLocations restaurantLocations, SimulationClock clock,
+                             DispatchCostModel costModel, ObjectMapper objectMapper, Environment environment,
+                             ConfigurableApplicationContext context) {
+        this.deliveryService = deliveryService;
+        this.dispatchEngine = dispatchEngine;
+        this.partnerRepository = partnerRepository;
+        this.restaurantLocations = restaurantLocations;
+        this.clock = clock;
+        this.costModel = costModel;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.context = context;
+    }
+
+    /**
+     * START ONCE EVERYTHING ELSE HAS LOADED (geo index, pending queue, ETA engine)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void start() {
+        new Thread(this::runAndReport, "dispatch-simulation").start();
+    }
+
+    /**
+     * FOLLOW ASSIGNMENTS AND DELIVERIES (after commit, on the simulation thread)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryChanged(DeliveryChangedEvent event) {
+        if (!running) {
+            return;
+        }
+        SimOrder order = orders.get(event.getOrderId());
+        if (order == null) {
+            return;
+        }
+        switch (event.getStatus()) {
+            case ASSIGNED -> {
+                if (order.assignedAt == null) {
+                    order.assignedAt = now;
+                    order.assignmentLatencyMs = (System.nanoTime() - callStartNanos) / 1e6;
+                }
+                moveToRider(order, event.getPartnerId());
+            }
+            case PICKED_UP, IN_TRANSIT -> moveToRider(order, event.getPartnerId());
+            case DELIVERED -> {
+                order.deliveredAt = now;
+                moveToRider(order, null);
+                openOrders--;
+            }
+            default -> moveToRider(order, null);
+        }
+    }
+
+    private void runAndReport() {
+        int exitCode = 0;
+        try {
+            SimulationReport report = run();
+            SimulationReport baseline = readBaseline();
+            log.info("{}", report.format(baseline));
+            Path file = Path.of(reportDir, label + ".json");
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("📄 Report written to {}", file.toAbsolutePath());
+        } catch (Exception e) {
+            log.error("❌ Dispatch simulation failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    private SimulationReport run() {
+        long wallStart = System.nanoTime();
+        Random random = new Random(seed);
+        startInstant = clock.instant();
+
+        List<double[]> restaurants = seedRestaurants(random);
+        seedRiders(random);
+        List<SimOrder> arrivals = generateOrders(random, restaurants);
+        log.info("🧪 Simulating {} riders, {} orders over {} min (label \"{}\", seed {})",
+                riderCount, arrivals.size(), durationMinutes, label, seed);
+
+        double arrivalEnd = durationMinutes * 60.0;
+        double hardEnd = arrivalEnd + drainMinutes * 60.0;
+        double nextBatchAt = 0;
+        double busyRiderSeconds = 0;
+        int next = 0;
+        running = true;
+        try {
+            for (long tick = 0; ; tick++) {
+                now = tick * tickSeconds;
+                clock.set(startInstant.plusMillis(Math.round(now * 1000)));
+                if (now >= hardEnd || (now >= arrivalEnd && next == arrivals.size() && openOrders == 0)) {
+                    break;
+                }
+
+                while (next < arrivals.size() && arrivals.get(next).placedAt <= now) {
+                    SimOrder order = arrivals.get(next++);
+                    orders.put(order.id, order);
+                    openOrders++;
+                    callStartNanos = System.nanoTime();
+                    dispatchEngine.submit(order.toEvent());
+                }
+                if (now >= nextBatchAt) {
+                    callStartNanos = System.nanoTime();
+                    dispatchEngine.dispatchBatch();
+                    nextBatchAt += batchWindowSeconds;
+                }
+
+                for (SimRider rider : riders.values()) {
+                    if (now < arrivalEnd && !rider.orders.isEmpty()) {
+                        busyRiderSeconds += tickSeconds;
+                    }
+                    step(rider);
+                }
+                if (tick > 0 && tick % Math.round(1800 / tickSeconds) == 0) {
+                    log.info("⏱️ Minute {}: {} orders placed, {} open", Math.round(now / 60), next, openOrders);
+                }
+            }
+        } finally {
+            running = false;
+        }
+        return report(arrivals, busyRiderSeconds, arrivalEnd, (System.nanoTime() - wallStart) / 1e9);
+    }
+
+    /**
+     * HELPER METHOD: Advance one rider by one tick
+     */
+    private void step(SimRider rider) {
+        if (rider.orders.isEmpty()) {
+            rider.target = null;
+            return;
+        }
+        if (rider.target != null && !rider.orders.contains(rider.target.order())) {
+            rider.target = null; // reassigned or cancelled meanwhile
+        }
+        if (rider.target == null) {
+            rider.target = nearestStop(rider);
+            rider.arrived = false;
+        }
+
+        if (!rider.arrived) {
+            double[] destination = rider.target.pickup() ? rider.target.order().pickup : rider.target.order().dropoff;
+            if (moveAlongGrid(rider, destination, rider.speedKmPerSecond * tickSeconds)) {
+                rider.arrived = true;
+                double readyAt = rider.target.pickup() ? rider.target.order().readyAt : now;
+                rider.leavesAt = Math.max(now, readyAt) + serviceMinutes * 60;
+                ping(rider);
+            } else if (now - rider.lastPingAt >= pingSeconds) {
+                ping(rider);
+            }
+        }
+        if (rider.arrived && now >= rider.leavesAt) {
+            Stop done = rider.target;
+            rider.target = null;
+            rider.arrived = false;
+            SimOrder order = done.order();
+            if (order.deliveryId == null) {
+                order.deliveryId = deliveryService.getDeliveryByOrderId(order.id).getId();
+            }
+            if (done.pickup()) {
+                order.pickedUp = true;
+                deliveryService.updateDeliveryStatus(order.deliveryId, DeliveryStatus.PICKED_UP);
+            } else {
+                deliveryService.updateDeliveryStatus(order.deliveryId, DeliveryStatus.DELIVERED);
+            }
+        }
+    }
+
+    private Stop nearestStop(SimRider rider) {
+        Stop best = null;
+        double bestKm = Double.POSITIVE_INFINITY;
+        for (SimOrder order : rider.orders) {
+            double[] point = order.pickedUp ? order.dropoff : order.pickup;
+            double km = Math.abs(point[0] - rider.x) + Math.abs(point[1] - rider.y);
+            if (km < bestKm) {
+                best = new Stop(order, !order.pickedUp);
+                bestKm = km;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * HELPER METHOD: Move along the streets (x first, then y)
+     *
+     * @return true once the destination is reached
+     */
+    private static boolean moveAlongGrid(SimRider rider, double[] destination, double km) {
+        double dx = destination[0] - rider.x;
+        double stepX = Math.copySign(Math.min(Math.abs(dx), km), dx);
+        rider.x += stepX;
+        km -= Math.abs(stepX);
+        double dy = destination[1] - rider.y;
+        double stepY = Math.copySign(Math.min(Math.abs(dy), km), dy);
+        rider.y += stepY;
+        return Math.abs(destination[0] - rider.x) < 1e-9 && Math.abs(destination[1] - rider.y) < 1e-9;
+    }
+
+    private void ping(SimRider rider) {
+        rider.lastPingAt = now;
+        deliveryService.recordPartnerLocation(rider.partnerId, new PartnerLocationDTO(rider.partnerId,
+                latitude(rider.y), longitude(rider.x), LocalDateTime.now(clock)));
+    }
+
+    private void moveToRider(SimOrder order, Long partnerId) {
+        if (Objects.equals(order.riderId, partnerId)) {
+            return;
+        }
+        if (order.riderId != null) {
+            SimRider previous = riders.get(order.riderId);
+            if (previous != null) {
+                previous.orders.remove(order);
+            }
+        }
+        order.riderId = partnerId;
+        SimRider rider = partnerId != null ? riders.get(partnerId) : null;
+        if (rider != null) {
+            if (!rider.orders.isEmpty()) {
+                order.stacked = true;
+            }
+            rider.orders.add(order);
+        }
+    }
+
+    private List<double[]> seedRestaurants(Random random) {
+        double[][] hubs = new double[HUBS][];
+        for (int h = 0; h < HUBS; h++) {
+            hubs[h] = randomPoint(random, 0, 0, cityKm / 2 - HUB_RADIUS_KM);
+        }
+        List<double[]> restaurants = new ArrayList<>(restaurantCount);
+        for (int r = 0; r < restaurantCount; r++) {
+            double[] hub = hubs[random.nextInt(HUBS)];
+            double[] point = random.nextDouble() < HUB_SHARE
+                    ? randomPoint(random, hub[0], hub[1], HUB_RADIUS_KM)
+                    : randomPoint(random, 0, 0, cityKm / 2);
+            restaurants.add(point);
+            restaurantLocations.put((long) r + 1,
+                    new RestaurantLocationClient.Location(latitude(point[1]), longitude(point[0])));
+        }
+        return restaurants;
+    }
+
+    private void seedRiders(Random random) {
+        VehicleType[] vehicles = VehicleType.values();
+        List<DeliveryPartner> partners = new ArrayList<>(riderCount);
+        List<double[]> positions = new ArrayList<>(riderCount);
+        for (int i = 0; i < riderCount; i++) {
+            double[] position = randomPoint(random, 0, 0, cityKm / 2);
+            DeliveryPartner partner = new DeliveryPartner();
+            partner.setName("Simulated rider " + (i + 1));
+            partner.setPhone("sim-" + (i + 1));
+            partner.setVehicleType(vehicles[random.nextInt(vehicles.length)]);
+            partner.setVehicleNumber("SIM-" + (i + 1));
+            partner.setStatus(PartnerStatus.AVAILABLE);
+            partner.setCurrentLatitude(latitude(position[1]));
+            partner.setCurrentLongitude(longitude(position[0]));
+            partner.setLocationUpdatedAt(LocalDateTime.now(clock));
+            partner.setRating(3.5 + random.nextDouble() * 1.5);
+            partners.add(partner);
+            positions.add(position);
+        }
+        List<DeliveryPartner> saved = partnerRepository.saveAll(partners);
+        for (int i = 0; i < saved.size(); i++) {
+            DeliveryPartner partner = saved.get(i);
+            double speedKmPerSecond = 1 / (costModel.travelMinutes(1, partner.getVehicleType()) * 60);
+            riders.put(partner.getId(), new SimRider(partner.getId(), positions.get(i), speedKmPerSecond));
+        }
+        deliveryService.loadPartnerIndex();
+    }
+
+    /**
+     * HELPER METHOD: Poisson arrivals following the rate curve (thinning)
+     */
+    private List<SimOrder> generateOrders(Random random, List<double[]> restaurants) {
+        double[][] curve = parseRateCurve();
+        double maxMultiplier = 0;
+        for (double[] point : curve) {
+            maxMultiplier = Math.max(maxMultiplier, point[1]);
+        }
+        double maxPerSecond = ordersPerMinute * maxMultiplier / 60;
+
+        List<SimOrder> arrivals = new ArrayList<>();
+        double t = 0;
+        while (maxPerSecond > 0) {
+            t += -Math.log(1 - random.nextDouble()) / maxPerSecond;
+            if (t >= durationMinutes * 60.0) {
+                break;
+            }
+            double ratePerSecond = ordersPerMinute * multiplierAt(curve, t / 60) / 60;
+            if (random.nextDouble() >= ratePerSecond / maxPerSecond) {
+                continue;
+            }
+            int restaurant = random.nextInt(restaurants.size());
+            double[] pickup = restaurants.get(restaurant);
+            double[] dropoff = randomPoint(random, pickup[0], pickup[1], maxDropoffKm);
+            double readyAt = t + (minPrepMinutes + random.nextDouble() * (maxPrepMinutes - minPrepMinutes)) * 60;
+            arrivals.add(new SimOrder((long) arrivals.size() + 1, 1000L + random.nextInt(10_000),
+                    (long) restaurant + 1, pickup, dropoff, t, readyAt));
+        }
+        return arrivals;
+    }
+
+    private double[][] parseRateCurve() {
+        String[] points = rateCurve.split(",");
+        double[][] curve = new double[points.length][];
+        for (int i = 0; i < points.length; i++) {
+            String[] parts = points[i].trim().split(":");
+            curve[i] = new double[] {Double.parseDouble(parts[0]), Double.parseDouble(parts[1])};
+        }
+        return curve;
+    }
+
+    private static double multiplierAt(double[][] curve, double minute) {
+        if (minute <= curve[0][0]) {
+            return curve[0][1];
+        }
+        for (int i = 1; i < curve.length; i++) {
+            if (minute <= curve[i][0]) {
+                double fraction = (minute - curve[i - 1][0]) / (curve[i][0] - curve[i - 1][0]);
+                return curve[i - 1][1] + fraction * (curve[i][1] - curve[i - 1][1]);
+            }
+        }
+        return curve[curve.length - 1][1];
+    }
+
+    /**
+     * HELPER METHOD: Random grid point within radiusKm (per axis) of a point, inside the city
+     */
+    private double[] randomPoint(Random random, double x, double y, double radiusKm) {
+        double half = cityKm / 2;
+        return new double[] {
+                snap(Math.max(-half, Math.min(half, x + (random.nextDouble() * 2 - 1) * radiusKm))),
+                snap(Math.max(-half, Math.min(half, y + (random.nextDouble() * 2 - 1) * radiusKm)))
+        };
+    }
+
+    private double snap(double km) {
+        return Math.round(km / blockKm) * blockKm;
+    }
+
+    private static double latitude(double yKm) {
+        return CENTER_LAT + yKm / KM_PER_DEGREE;
+    }
+
+    private static double longitude(double xKm) {
+        return CENTER_LNG + xKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(CENTER_LAT)));
+    }
+
+    private SimulationReport report(List<SimOrder> arrivals, double busyRiderSeconds, double arrivalEnd,
+                                    double wallSeconds) {
+        List<Double> latency = new ArrayList<>();
+        List<Double> wait = new ArrayList<>();
+        List<Double> clickToDoor = new ArrayList<>();
+        int delivered = 0;
+        int deliveredInWindow = 0;
+        int stacked = 0;
+        for (SimOrder order : arrivals) {
+            if (order.assignedAt != null) {
+                latency.add(order.assignmentLatencyMs);
+                wait.add((order.assignedAt - order.placedAt) / 60);
+            }
+            if (order.deliveredAt != null) {
+                delivered++;
+                clickToDoor.add((order.deliveredAt - order.placedAt) / 60);
+                if (order.deliveredAt <= arrivalEnd) {
+                    deliveredInWindow++;
+                }
+            }
+            if (order.stacked) {
+                stacked++;
+            }
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("seed", seed);
+        settings.put("riders", riderCount);
+        settings.put("duration-minutes", durationMinutes);
+        settings.put("orders-per-minute", ordersPerMinute);
+        settings.put("rate-curve", rateCurve);
+        settings.put("batch-window-seconds", batchWindowSeconds);
+        for (String key : List.of("delivery.dispatch.batching-enabled", "delivery.dispatch.candidates-per-order",
+                "delivery.dispatch.hungarian-max-size", "delivery.dispatch.rating-weight",
+                "delivery.stacking.enabled", "delivery.stacking.max-delay-minutes",
+                "delivery.stacking.pickup-radius-km")) {
+            settings.put(key.substring("delivery.".length()), environment.getProperty(key, "(default)"));
+        }
+
+        double windowHours = arrivalEnd / 3600;
+        return new SimulationReport(label, settings, arrivals.size(), delivered, arrivals.size() - delivered, stacked,
+                SimulationReport.Stats.of(latency), SimulationReport.Stats.of(wait),
+                SimulationReport.Stats.of(clickToDoor),
+                busyRiderSeconds / (riderCount * arrivalEnd),
+                deliveredInWindow / windowHours, deliveredInWindow / (riderCount * windowHours), wallSeconds);
+    }
+
+    private SimulationReport readBaseline() {
+        if (compareTo == null || compareTo.isBlank()) {
+            return null;
+        }
+        File file = new File(compareTo);
+        if (!file.exists()) {
+            log.warn("⚠️ Baseline report {} not found, nothing to compare", compareTo);
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file, SimulationReport.class);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not read baseline report {}: {}", compareTo, e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class SimOrder {
+        private final Long id;
+        private final Long userId;
+        private final Long restaurantId;
+        private final double[] pickup;
+        private final double[] dropoff;
+        private final double placedAt;
+        private final double readyAt;
+        private Long riderId;
+        private Long deliveryId;
+        private boolean pickedUp;
+        private boolean stacked;
+        private Double assignedAt;
+        private Double deliveredAt;
+        private double assignmentLatencyMs;
+
+        private SimOrder(Long id, Long userId, Long restaurantId, double[] pickup, double[] dropoff,
+                         double placedAt, double readyAt) {
+            this.id = id;
+            this.userId = userId;
+            this.restaurantId = restaurantId;
+            this.pickup = pickup;
+            this.dropoff = dropoff;
+            this.placedAt = placedAt;
+            this.readyAt = readyAt;
+        }
+
+        private OrderEvent toEvent() {
+            OrderEvent event = new OrderEvent();
+            event.setOrderId(id);
+            event.setUserId(userId);
+            event.setRestaurantId(restaurantId);
+            event.setEventType("PAYMENT_COMPLETED");
+            return event;
+        }
+    }
+
+    private static final class SimRider {
+        private final Long partnerId;
+        private final double speedKmPerSecond;
+        private final List<SimOrder> orders = new ArrayList<>();
+        private double x;
+        private double y;
+        private Stop target;
+        private boolean arrived;
+        private double leavesAt;
+        private double lastPingAt;
+
+        private SimRider(Long partnerId, double[] position, double speedKmPerSecond) {
+            this.partnerId = partnerId;
+            this.x = position[0];
+            this.y = position[1];
+            this.speedKmPerSecond = speedKmPerSecond;
+        }
+    }
+
+    private record Stop(SimOrder order, boolean pickup) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.fooddelivery.delivery.simulation;
+
+import com.fooddelivery.delivery.client.RestaurantLocationClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SIMULATED RESTAURANT LOCATIONS - Synthetic restaurants instead of Restaurant Service
+ *
+ * Filled by DispatchSimulator; no HTTP calls.
+ */
+public class SimulatedRestaurantLocations extends RestaurantLocationClient {
+
+    private final Map<Long, Location> locations = new ConcurrentHashMap<>();
+
+    public SimulatedRestaurantLocations() {
+        super(null, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public void put(Long restaurantId, Location location) {
+        locations.put(restaurantId, location);
+    }
+
+    @Override
+    public Location getLocation(Long restaurantId) {
+        return restaurantId != null ? locations.get(restaurantId) : null;
+    }
+}
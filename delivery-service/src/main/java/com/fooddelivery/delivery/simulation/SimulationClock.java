@@ -0,0 +1,57 @@
+package com.fooddelivery.delivery.simulation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SIMULATION CLOCK - Clock moved forward by DispatchSimulator
+ *
+ * Replaces the system clock in profile "simulation", so assignment,
+ * pickup and delivery timestamps, queue waits and ETA learning all run on
+ * simulated time while the dispatch code runs as fast as it can.
+ */
+public class SimulationClock extends Clock {
+
+    private final AtomicLong millis;
+    private final ZoneId zone;
+
+    public SimulationClock(Instant start, ZoneId zone) {
+        this(new AtomicLong(start.toEpochMilli()), zone);
+    }
+
+    private SimulationClock(AtomicLong millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    public void set(Instant instant) {
+        millis.set(instant.toEpochMilli());
+    }
+
+    public void advance(Duration duration) {
+        millis.addAndGet(duration.toMillis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new SimulationClock(millis, zone);
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis.get());
+    }
+}
@@ -0,0 +1,38 @@
+package com.fooddelivery.delivery.simulation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * SIMULATION CONFIGURATION - Profile "simulation"
+ *
+ * Swaps the collaborators the dispatch simulator must control:
+ * - Clock: simulated time, starting at delivery.simulation.start-time
+ * - RestaurantLocationClient: synthetic restaurants, no Restaurant Service
+ *
+ * Everything else (DeliveryService, DispatchEngine, StackingPlanner,
+ * EtaEngine, JPA repositories on an in-memory H2) is the production code.
+ * See application-simulation.yml.
+ */
+@Configuration
+@Profile("simulation")
+public class SimulationConfig {
+
+    @Bean
+    public SimulationClock clock(@Value("${delivery.simulation.start-time:2024-01-05T18:00}") LocalDateTime startTime) {
+        ZoneId zone = ZoneId.systemDefault();
+        return new SimulationClock(startTime.atZone(zone).toInstant(), zone);
+    }
+
+    @Bean
+    @Primary
+    public SimulatedRestaurantLocations simulatedRestaurantLocations() {
+        return new SimulatedRestaurantLocations();
+    }
+}
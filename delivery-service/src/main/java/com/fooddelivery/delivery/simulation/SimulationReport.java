@@ -0,0 +1,102 @@
+package com.fooddelivery.delivery.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SIMULATION REPORT - Result of one DispatchSimulator run
+ *
+ * Written as JSON to delivery.simulation.report-dir/<label>.json; a later
+ * run with delivery.simulation.compare-to=<that file> prints both side by
+ * side, so dispatch strategies can be compared on the same seed.
+ *
+ * Times: assignmentLatencyMs is wall-clock compute time (dispatch call
+ * start until the order's assignment committed); everything in minutes is
+ * simulated time. Utilization and throughput cover the order arrival
+ * window only (the drain afterwards is not counted).
+ */
+public record SimulationReport(
+        String label,
+        Map<String, Object> settings,
+        int orders,
+        int delivered,
+        int undelivered,
+        int stackedOrders,
+        Stats assignmentLatencyMs,
+        Stats orderWaitMinutes,
+        Stats clickToDoorMinutes,
+        double riderUtilization,
+        double deliveriesPerHour,
+        double deliveriesPerRiderHour,
+        double wallSeconds) {
+
+    public record Stats(int count, double mean, double p50, double p90, double p99, double max) {
+
+        public static Stats of(List<Double> values) {
+            if (values.isEmpty()) {
+                return new Stats(0, 0, 0, 0, 0, 0);
+            }
+            List<Double> sorted = new ArrayList<>(values);
+            Collections.sort(sorted);
+            double sum = 0;
+            for (double value : sorted) {
+                sum += value;
+            }
+            return new Stats(sorted.size(), sum / sorted.size(), percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), sorted.get(sorted.size() - 1));
+        }
+
+        private static double percentile(List<Double> sorted, double quantile) {
+            return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1));
+        }
+    }
+
+    /**
+     * HUMAN-READABLE SUMMARY, optionally next to an earlier run
+     */
+    public String format(SimulationReport baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nDispatch simulation \"%s\"%n", label));
+        settings.forEach((key, value) -> out.append(String.format("  %-32s %s%n", key, value)));
+        out.append(String.format("%n  %-34s %12s", "metric", "this run"));
+        if (baseline != null) {
+            out.append(String.format(" %12s %9s", baseline.label(), "change"));
+        }
+        out.append(String.format("%n"));
+
+        row(out, "orders", orders, baseline != null ? (double) baseline.orders() : null);
+        row(out, "delivered", delivered, baseline != null ? (double) baseline.delivered() : null);
+        row(out, "undelivered at end", undelivered, baseline != null ? (double) baseline.undelivered() : null);
+        row(out, "stacked orders", stackedOrders, baseline != null ? (double) baseline.stackedOrders() : null);
+        stats(out, "assignment latency ms", assignmentLatencyMs, baseline != null ? baseline.assignmentLatencyMs() : null);
+        stats(out, "order wait min", orderWaitMinutes, baseline != null ? baseline.orderWaitMinutes() : null);
+        stats(out, "click-to-door min", clickToDoorMinutes, baseline != null ? baseline.clickToDoorMinutes() : null);
+        row(out, "rider utilization %", 100 * riderUtilization,
+                baseline != null ? 100 * baseline.riderUtilization() : null);
+        row(out, "deliveries / hour", deliveriesPerHour, baseline != null ? baseline.deliveriesPerHour() : null);
+        row(out, "deliveries / rider-hour", deliveriesPerRiderHour,
+                baseline != null ? baseline.deliveriesPerRiderHour() : null);
+        row(out, "wall seconds", wallSeconds, baseline != null ? baseline.wallSeconds() : null);
+        return out.toString();
+    }
+
+    private static void stats(StringBuilder out, String name, Stats stats, Stats baseline) {
+        row(out, name + " mean", stats.mean(), baseline != null ? baseline.mean() : null);
+        row(out, name + " p50", stats.p50(), baseline != null ? baseline.p50() : null);
+        row(out, name + " p90", stats.p90(), baseline != null ? baseline.p90() : null);
+        row(out, name + " p99", stats.p99(), baseline != null ? baseline.p99() : null);
+    }
+
+    private static void row(StringBuilder out, String name, double value, Double baseline) {
+        out.append(String.format("  %-34s %12.2f", name, value));
+        if (baseline != null) {
+            out.append(String.format(" %12.2f", baseline));
+            if (baseline != 0) {
+                out.append(String.format(" %+8.1f%%", 100 * (value - baseline) / Math.abs(baseline)));
+            }
+        }
+        out.append(String.format("%n"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.fooddelivery.delivery.stacking;
+
+import com.fooddelivery.delivery.util.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PARTNER ROUTES - In-memory remaining route of every busy partner
+ *
+ * Kept current by DeliveryService (assignment, stacking, pickup, delivery,
+ * cancellation); every change is applied after the MySQL write it mirrors
+ * has committed. Partners without a route here (busy since before a
+ * restart) are simply not offered for stacking until they are free again.
+ */
+@Component
+public class PartnerRoutes {
+
+    private final Map<Long, Route> routes = new ConcurrentHashMap<>();
+
+    public PartnerRoutes(MeterRegistry meterRegistry) {
+        Gauge.builder("dispatch.stacking.routes", routes, Map::size)
+                .description("Busy partners with a known route")
+                .register(meterRegistry);
+    }
+
+    public Route get(Long partnerId) {
+        return routes.get(partnerId);
+    }
+
+    public Collection<Route> all() {
+        return routes.values();
+    }
+
+    /**
+     * FIRST ORDER of a partner
+     */
+    public void start(Route route) {
+        TransactionHooks.afterCommit(() -> routes.put(route.partnerId(), route));
+    }
+
+    /**
+     * ORDER STACKED onto `base`. If the route changed meanwhile (a stop was
+     * completed), the new order is appended to the current route instead.
+     */
+    public void stack(Route base, Route stacked, RouteStop pickup, RouteStop dropoff) {
+        TransactionHooks.afterCommit(() -> routes.compute(base.partnerId(), (partnerId, current) -> {
+            if (base.equals(current)) {
+                return stacked;
+            }
+            Route from = current != null ? current : base.withStops(List.of());
+            return from.withOrderAppended(pickup, dropoff);
+        }));
+    }
+
+    public void pickedUp(Long partnerId, Long orderId) {
+        TransactionHooks.afterCommit(() -> routes.computeIfPresent(partnerId,
+                (id, route) -> route.withoutPickup(orderId)));
+    }
+
+    /**
+     * ORDER LEFT THE ROUTE (delivered, failed, cancelled, reassigned)
+     */
+    public void finished(Long partnerId, Long orderId) {
+        TransactionHooks.afterCommit(() -> routes.computeIfPresent(partnerId, (id, route) -> {
+            Route remaining = route.withoutOrder(orderId);
+            return remaining.isEmpty() ? null : remaining;
+        }));
+    }
+}
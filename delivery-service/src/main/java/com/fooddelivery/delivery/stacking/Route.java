@@ -0,0 +1,66 @@
+package com.fooddelivery.delivery.stacking;
+
+import com.fooddelivery.delivery.entity.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ROUTE - Remaining stops of one partner, in driving order (immutable)
+ *
+ * Every order on the route has a DROP-OFF stop; its PICKUP stop is gone
+ * once the order was picked up.
+ */
+public record Route(Long partnerId, VehicleType vehicleType, int capacity, List<RouteStop> stops) {
+
+    public Route {
+        stops = List.copyOf(stops);
+    }
+
+    /**
+     * Orders on the route (picked up or not)
+     */
+    public int orderCount() {
+        int count = 0;
+        for (RouteStop stop : stops) {
+            if (!stop.pickup()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean hasRoom() {
+        return orderCount() < capacity;
+    }
+
+    public boolean isEmpty() {
+        return stops.isEmpty();
+    }
+
+    public Route withStops(List<RouteStop> newStops) {
+        return new Route(partnerId, vehicleType, capacity, newStops);
+    }
+
+    public Route withoutPickup(Long orderId) {
+        List<RouteStop> remaining = new ArrayList<>(stops);
+        remaining.removeIf(stop -> stop.pickup() && stop.orderId().equals(orderId));
+        return withStops(remaining);
+    }
+
+    public Route withoutOrder(Long orderId) {
+        List<RouteStop> remaining = new ArrayList<>(stops);
+        remaining.removeIf(stop -> stop.orderId().equals(orderId));
+        return withStops(remaining);
+    }
+
+    /**
+     * Order appended at the end (used when the planned route changed underneath an insertion)
+     */
+    public Route withOrderAppended(RouteStop pickup, RouteStop dropoff) {
+        List<RouteStop> extended = new ArrayList<>(stops);
+        extended.add(pickup);
+        extended.add(dropoff);
+        return withStops(extended);
+    }
+}
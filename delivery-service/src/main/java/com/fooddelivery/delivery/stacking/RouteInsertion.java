@@ -0,0 +1,159 @@
+package com.fooddelivery.delivery.stacking;
+
+import com.fooddelivery.delivery.geo.PartnerGeoIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * ROUTE INSERTION - Does one more order fit into a partner's route?
+ *
+ * Cheapest insertion for a pickup/drop-off pair: every position for the
+ * pickup, every later position for the drop-off, each candidate route
+ * simulated from the partner's current position. A candidate is feasible if
+ * 1. the new order is delivered before its deadline
+ * 2. no order already on the route is delivered after its deadline (or,
+ *    if it is already running late, later than it would have been anyway)
+ * The feasible candidate that lengthens the route least wins.
+ *
+ * Routes hold at most a handful of stops (partner capacity), so trying
+ * all O(n²) positions, O(n) each, takes microseconds.
+ *
+ * Leg times: distance at the vehicle's speed when both ends are known;
+ * otherwise the drop-off's direct (restaurant -> customer) time.
+ */
+public final class RouteInsertion {
+
+    private RouteInsertion() {
+    }
+
+    /**
+     * Where and when the partner continues from (latitude null if unknown)
+     */
+    public record Start(Double latitude, Double longitude, double minute) {
+    }
+
+    /**
+     * Best placement of the new order
+     *
+     * @param completionMinutes when each stop of `stops` is done
+     * @param addedMinutes      how much longer the whole route takes
+     */
+    public record Insertion(List<RouteStop> stops, double[] completionMinutes, double addedMinutes) {
+
+        /**
+         * Delivery time of an order on the new route (null if it is not on it)
+         */
+        public Double deliveredAt(Long orderId) {
+            for (int i = 0; i < stops.size(); i++) {
+                RouteStop stop = stops.get(i);
+                if (!stop.pickup() && stop.orderId().equals(orderId)) {
+                    return completionMinutes[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * BEST INSERTION of a new order, or null if it does not fit (capacity or deadlines)
+     */
+    public static Insertion best(Route route, Start start, RouteStop pickup, RouteStop dropoff,
+                                 DoubleUnaryOperator kmToMinutes, double serviceMinutes) {
+        if (!route.hasRoom()) {
+            return null;
+        }
+        List<RouteStop> stops = route.stops();
+        int n = stops.size();
+        double[] current = schedule(start, stops, kmToMinutes, serviceMinutes);
+        double currentFinish = n == 0 ? start.minute() : current[n - 1];
+
+        Map<Long, Double> latestAllowed = new HashMap<>();
+        for (int k = 0; k < n; k++) {
+            if (!stops.get(k).pickup()) {
+                latestAllowed.put(stops.get(k).orderId(), Math.max(stops.get(k).deadlineMinute(), current[k]));
+            }
+        }
+        latestAllowed.put(dropoff.orderId(), dropoff.deadlineMinute());
+
+        Insertion best = null;
+        List<RouteStop> candidate = new ArrayList<>(n + 2);
+        for (int pickupAt = 0; pickupAt <= n; pickupAt++) {
+            for (int dropoffAt = pickupAt; dropoffAt <= n; dropoffAt++) {
+                candidate.clear();
+                for (int k = 0; k <= n; k++) {
+                    if (k == pickupAt) {
+                        candidate.add(pickup);
+                    }
+                    if (k == dropoffAt) {
+                        candidate.add(dropoff);
+                    }
+                    if (k < n) {
+                        candidate.add(stops.get(k));
+                    }
+                }
+                double[] completion = schedule(start, candidate, kmToMinutes, serviceMinutes);
+                if (!meetsDeadlines(candidate, completion, latestAllowed)) {
+                    continue;
+                }
+                double added = completion[completion.length - 1] - currentFinish;
+                if (best == null || added < best.addedMinutes()) {
+                    best = new Insertion(List.copyOf(candidate), completion, added);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * SIMULATE A ROUTE: completion minute of every stop
+     * (pickups wait until the food is ready; every stop takes serviceMinutes)
+     */
+    public static double[] schedule(Start start, List<RouteStop> stops, DoubleUnaryOperator kmToMinutes,
+                                    double serviceMinutes) {
+        double[] completion = new double[stops.size()];
+        double minute = start.minute();
+        Double latitude = start.latitude();
+        Double longitude = start.longitude();
+        RouteStop previous = null;
+        for (int i = 0; i < stops.size(); i++) {
+            RouteStop stop = stops.get(i);
+            minute += legMinutes(latitude, longitude, previous, stop, kmToMinutes);
+            if (stop.pickup()) {
+                minute = Math.max(minute, stop.readyAtMinute());
+            }
+            minute += serviceMinutes;
+            completion[i] = minute;
+            latitude = stop.latitude();
+            longitude = stop.longitude();
+            previous = stop;
+        }
+        return completion;
+    }
+
+    private static double legMinutes(Double fromLatitude, Double fromLongitude, RouteStop from, RouteStop to,
+                                     DoubleUnaryOperator kmToMinutes) {
+        if (fromLatitude != null && fromLongitude != null && to.located()) {
+            return kmToMinutes.applyAsDouble(
+                    PartnerGeoIndex.distanceKm(fromLatitude, fromLongitude, to.latitude(), to.longitude()));
+        }
+        if (!to.pickup()) {
+            return to.directMinutes();
+        }
+        // Back from a drop-off at an unknown location
+        return from != null && !from.pickup() ? from.directMinutes() : 0;
+    }
+
+    private static boolean meetsDeadlines(List<RouteStop> stops, double[] completion, Map<Long, Double> latestAllowed) {
+        for (int i = 0; i < stops.size(); i++) {
+            RouteStop stop = stops.get(i);
+            if (!stop.pickup() && completion[i] > latestAllowed.get(stop.orderId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
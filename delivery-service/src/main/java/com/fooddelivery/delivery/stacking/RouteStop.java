@@ -0,0 +1,31 @@
+package com.fooddelivery.delivery.stacking;
+
+/**
+ * ROUTE STOP - One pickup or drop-off on a partner's route
+ *
+ * Times are absolute epoch minutes (of the injected Clock, so simulated
+ * time under the dispatch simulator).
+ *
+ * @param latitude       null if unknown (drop-off coordinates are not known
+ *                       to this service yet)
+ * @param readyAtMinute  PICKUP: earliest pickup (food ready)
+ * @param deadlineMinute DROP-OFF: latest acceptable delivery
+ * @param directMinutes  DROP-OFF: restaurant -> customer time, used as the
+ *                       leg time whenever a location on the leg is unknown
+ */
+public record RouteStop(Long orderId, boolean pickup, Double latitude, Double longitude,
+                        double readyAtMinute, double deadlineMinute, double directMinutes) {
+
+    public static RouteStop pickup(Long orderId, Double latitude, Double longitude, double readyAtMinute) {
+        return new RouteStop(orderId, true, latitude, longitude, readyAtMinute, Double.POSITIVE_INFINITY, 0);
+    }
+
+    public static RouteStop dropoff(Long orderId, Double latitude, Double longitude,
+                                    double deadlineMinute, double directMinutes) {
+        return new RouteStop(orderId, false, latitude, longitude, Double.NEGATIVE_INFINITY, deadlineMinute, directMinutes);
+    }
+
+    public boolean located() {
+        return latitude != null && longitude != null;
+    }
+}
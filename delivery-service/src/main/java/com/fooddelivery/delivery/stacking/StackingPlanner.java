@@ -0,0 +1,239 @@
+package com.fooddelivery.delivery.stacking;
+
+import com.fooddelivery.delivery.client.RestaurantLocationClient;
+import com.fooddelivery.delivery.dispatch.DispatchCostModel;
+import com.fooddelivery.delivery.dto.NearbyPartnerDTO;
+import com.fooddelivery.delivery.entity.DeliveryPartner;
+import com.fooddelivery.delivery.entity.VehicleType;
+import com.fooddelivery.delivery.eta.EtaEngine;
+import com.fooddelivery.delivery.geo.PartnerGeoIndex;
+import com.fooddelivery.delivery.location.PartnerLocationTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * STACKING PLANNER - Lets a busy partner carry several orders
+ *
+ * For a new order, every busy partner whose route passes near the
+ * restaurant (a remaining pickup, or the partner's position, within
+ * pickup-radius-km) is tried with RouteInsertion. Deadlines:
+ * - new order: its solo ETA + max-delay-minutes
+ * - orders already on the route: their own solo ETA + max-delay-minutes
+ *
+ * The best insertion is only taken if it costs less rider time than
+ * sending the nearest free partner (that partner's whole solo trip);
+ * when nobody is free, any feasible insertion is better than waiting.
+ *
+ * CAPACITY: DeliveryPartner.maxActiveOrders, or the default for the
+ * vehicle type (capacity.bike / scooter / car).
+ *
+ * Metrics: dispatch.stacked (orders stacked), dispatch.stacking.added.minutes
+ */
+@Component
+public class StackingPlanner {
+
+    private final PartnerRoutes partnerRoutes;
+    private final PartnerGeoIndex partnerGeoIndex;
+    private final PartnerLocationTable locationTable;
+    private final DispatchCostModel costModel;
+    private final EtaEngine etaEngine;
+    private final boolean enabled;
+    private final double maxDelayMinutes;
+    private final double pickupRadiusKm;
+    private final double serviceMinutes;
+    private final int bikeCapacity;
+    private final int scooterCapacity;
+    private final int carCapacity;
+    private final Counter stackedCounter;
+    private final DistributionSummary addedMinutes;
+
+    public StackingPlanner(PartnerRoutes partnerRoutes, PartnerGeoIndex partnerGeoIndex,
+                           PartnerLocationTable locationTable, DispatchCostModel costModel, EtaEngine etaEngine,
+                           MeterRegistry meterRegistry,
+                           @Value("${delivery.stacking.enabled:true}") boolean enabled,
+                           @Value("${delivery.stacking.max-delay-minutes:10}") double maxDelayMinutes,
+                           @Value("${delivery.stacking.pickup-radius-km:1.5}") double pickupRadiusKm,
+                           @Value("${delivery.stacking.service-minutes:2}") double serviceMinutes,
+                           @Value("${delivery.stacking.capacity.bike:2}") int bikeCapacity,
+                           @Value("${delivery.stacking.capacity.scooter:3}") int scooterCapacity,
+                           @Value("${delivery.stacking.capacity.car:4}") int carCapacity) {
+        this.partnerRoutes = partnerRoutes;
+        this.partnerGeoIndex = partnerGeoIndex;
+        this.locationTable = locationTable;
+        this.costModel = costModel;
+        this.etaEngine = etaEngine;
+        this.enabled = enabled;
+        this.maxDelayMinutes = maxDelayMinutes;
+        this.pickupRadiusKm = pickupRadiusKm;
+        this.serviceMinutes = serviceMinutes;
+        this.bikeCapacity = bikeCapacity;
+        this.scooterCapacity = scooterCapacity;
+        this.carCapacity = carCapacity;
+        this.stackedCounter = Counter.builder("dispatch.stacked")
+                .description("Orders stacked onto a busy partner's route")
+                .register(meterRegistry);
+        this.addedMinutes = DistributionSummary.builder("dispatch.stacking.added.minutes")
+                .description("Route time added by each stacked order")
+                .baseUnit("minutes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ORDERS A PARTNER MAY CARRY AT ONCE
+     */
+    public int capacityOf(DeliveryPartner partner) {
+        if (partner.getMaxActiveOrders() != null) {
+            return Math.max(1, partner.getMaxActiveOrders());
+        }
+        if (partner.getVehicleType() == null) {
+            return 1;
+        }
+        return switch (partner.getVehicleType()) {
+            case BIKE -> bikeCapacity;
+            case SCOOTER -> scooterCapacity;
+            case CAR -> carCapacity;
+        };
+    }
+
+    /**
+     * ROUTE OF A PARTNER'S FIRST ORDER (after a normal assignment)
+     */
+    public void startRoute(DeliveryPartner partner, Long orderId, RestaurantLocationClient.Location pickup,
+                           EtaEngine.Eta eta, LocalDateTime assignedAt) {
+        if (!enabled) {
+            return;
+        }
+        double assignedMinute = toMinute(assignedAt);
+        partnerRoutes.start(new Route(partner.getId(), partner.getVehicleType(), capacityOf(partner), List.of(
+                RouteStop.pickup(orderId, pickup != null ? pickup.latitude() : null,
+                        pickup != null ? pickup.longitude() : null, assignedMinute + eta.pickupMinutes()),
+                RouteStop.dropoff(orderId, null, null,
+                        assignedMinute + eta.totalMinutes() + maxDelayMinutes, eta.transitMinutes()))));
+    }
+
+    /**
+     * BEST BUSY PARTNER TO STACK THIS ORDER ON, or null
+     */
+    public StackOption bestStack(Long orderId, Long restaurantId, RestaurantLocationClient.Location pickup,
+                                 LocalDateTime now) {
+        if (!enabled || pickup == null) {
+            return null;
+        }
+        double nowMinute = toMinute(now);
+
+        // Alternative: the nearest free partner, on a trip of its own
+        List<NearbyPartnerDTO> nearestFree = partnerGeoIndex.nearest(pickup.latitude(), pickup.longitude(), 1);
+        EtaEngine.Eta soloEta;
+        double freshRiderMinutes;
+        if (nearestFree.isEmpty()) {
+            soloEta = etaEngine.estimate(restaurantId, pickup.latitude(), pickup.longitude(), null, null, now);
+            freshRiderMinutes = Double.POSITIVE_INFINITY;
+        } else {
+            NearbyPartnerDTO free = nearestFree.get(0);
+            soloEta = etaEngine.estimate(restaurantId, pickup.latitude(), pickup.longitude(), free.getDistanceKm(),
+                    free.getVehicleType() != null ? VehicleType.valueOf(free.getVehicleType()) : null, now);
+            freshRiderMinutes = soloEta.totalMinutes();
+        }
+
+        RouteStop pickupStop = RouteStop.pickup(orderId, pickup.latitude(), pickup.longitude(),
+                nowMinute + soloEta.pickupMinutes());
+        RouteStop dropoffStop = RouteStop.dropoff(orderId, null, null,
+                nowMinute + soloEta.totalMinutes() + maxDelayMinutes, soloEta.transitMinutes());
+
+        Route bestRoute = null;
+        RouteInsertion.Insertion best = null;
+        for (Route route : partnerRoutes.all()) {
+            if (!route.hasRoom()) {
+                continue;
+            }
+            RouteInsertion.Start start = startOf(route, nowMinute);
+            if (!passesNear(route, start, pickup)) {
+                continue;
+            }
+            RouteInsertion.Insertion insertion = RouteInsertion.best(route, start, pickupStop, dropoffStop,
+                    km -> costModel.travelMinutes(km, route.vehicleType()), serviceMinutes);
+            if (insertion != null && insertion.addedMinutes() < freshRiderMinutes
+                    && (best == null || insertion.addedMinutes() < best.addedMinutes())) {
+                best = insertion;
+                bestRoute = route;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        return new StackOption(bestRoute, bestRoute.withStops(best.stops()), best, pickupStop, dropoffStop);
+    }
+
+    /**
+     * THE STACKED ASSIGNMENT WAS WRITTEN - adopt the new route (after commit)
+     */
+    public void commit(StackOption option) {
+        partnerRoutes.stack(option.base(), option.stacked(), option.pickup(), option.dropoff());
+        stackedCounter.increment();
+        addedMinutes.record(option.insertion().addedMinutes());
+    }
+
+    public void orderPickedUp(Long partnerId, Long orderId) {
+        partnerRoutes.pickedUp(partnerId, orderId);
+    }
+
+    public void orderFinished(Long partnerId, Long orderId) {
+        partnerRoutes.finished(partnerId, orderId);
+    }
+
+    private RouteInsertion.Start startOf(Route route, double nowMinute) {
+        PartnerLocationTable.LocationFix fix = locationTable.latest(route.partnerId());
+        if (fix != null) {
+            return new RouteInsertion.Start(fix.latitude(), fix.longitude(), nowMinute);
+        }
+        // Position unknown: assume the partner is at (heading for) the first located stop
+        for (RouteStop stop : route.stops()) {
+            if (stop.located()) {
+                return new RouteInsertion.Start(stop.latitude(), stop.longitude(), nowMinute);
+            }
+        }
+        return new RouteInsertion.Start(null, null, nowMinute);
+    }
+
+    private boolean passesNear(Route route, RouteInsertion.Start start, RestaurantLocationClient.Location pickup) {
+        if (start.latitude() != null && start.longitude() != null && PartnerGeoIndex.distanceKm(
+                start.latitude(), start.longitude(), pickup.latitude(), pickup.longitude()) <= pickupRadiusKm) {
+            return true;
+        }
+        for (RouteStop stop : route.stops()) {
+            if (stop.pickup() && stop.located() && PartnerGeoIndex.distanceKm(
+                    stop.latitude(), stop.longitude(), pickup.latitude(), pickup.longitude()) <= pickupRadiusKm) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static double toMinute(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 60_000.0;
+    }
+
+    public static LocalDateTime toDateTime(double minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Math.round(minute * 60_000)), ZoneId.systemDefault());
+    }
+
+    /**
+     * A feasible stacking: `base` is the route it was planned against (its
+     * order count is the expected value for DeliveryPartnerRepository.stackOrder)
+     */
+    public record StackOption(Route base, Route stacked, RouteInsertion.Insertion insertion,
+                              RouteStop pickup, RouteStop dropoff) {
+    }
+}
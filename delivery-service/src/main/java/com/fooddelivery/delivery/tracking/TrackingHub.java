@@ -0,0 +1,465 @@
+package com.fooddelivery.delivery.tracking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fooddelivery.delivery.dto.TrackingUpdateDTO;
+import com.fooddelivery.delivery.entity.Delivery;
+import com.fooddelivery.delivery.entity.DeliveryStatus;
+import com.fooddelivery.delivery.event.DeliveryChangedEvent;
+import com.fooddelivery.delivery.location.PartnerLocationTable;
+import com.fooddelivery.delivery.repository.DeliveryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TRACKING HUB - Live delivery tracking for customers (WebSocket fan-out)
+ *
+ * Every watched order has one topic holding its watchers and the last
+ * update built for it. Nothing is pushed per location ping; a fan-out tick
+ * (every tick-ms) instead:
+ * 1. Reads the rider's latest fix from PartnerLocationTable (in memory)
+ * 2. Builds and serializes the order's update ONCE if the fix or the
+ *    delivery changed, shared by all of the order's watchers
+ * 3. Sends it to each watcher whose own interval has passed
+ *    (intervalMs per connection, at least min-interval-ms), so a rider
+ *    pinging every second costs a watcher one message per interval
+ *
+ * Status, partner and ETA changes arrive as DeliveryChangedEvent (after
+ * commit) and go out on the next tick regardless of the watcher's interval.
+ * MySQL is read once when an order gets its first watcher, never per watcher
+ * or per tick.
+ *
+ * FAN-OUT COST CAP:
+ * - max-messages-per-second: position updates beyond the per-tick budget
+ *   wait for the next tick; the next tick starts where this one stopped, so
+ *   no order is starved (status changes are never deferred)
+ * - max-watchers / max-watchers-per-order: further connections are refused
+ * - Sends go through ConcurrentWebSocketSessionDecorator on sender-threads:
+ *   a slow client's messages are buffered up to buffer-size-limit (then
+ *   dropped), and a client blocking one send for send-time-limit-ms is
+ *   disconnected, so it cannot stall the others
+ *
+ * After DELIVERED or CANCELLED, watchers get the final update and are
+ * disconnected.
+ *
+ * Metrics: tracking.watchers, tracking.orders (gauges),
+ * tracking.messages (tags result = sent / failed), tracking.deferred,
+ * tracking.rejected, tracking.tick
+ */
+@Component
+@Slf4j
+public class TrackingHub {
+
+    private static final String WAITING_FOR_PARTNER = "WAITING_FOR_PARTNER";
+    private static final int SEND_BATCH_SIZE = 256;
+    // Rebuilt at least this often even if nothing moved (fresh remaining time, keeps the connection alive)
+    private static final long MAX_UPDATE_AGE_MILLIS = 30_000;
+
+    private final PartnerLocationTable locationTable;
+    private final DeliveryRepository deliveryRepository;
+    private final ObjectWriter updateWriter;
+    private final Clock clock;
+    private final long minIntervalMillis;
+    private final long defaultIntervalMillis;
+    private final int maxWatchers;
+    private final int maxWatchersPerOrder;
+    private final int messagesPerTick;
+    private final int sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+
+    private final Map<Long, OrderTopic> topics = new ConcurrentHashMap<>();
+    private final Map<String, OrderTopic> topicBySession = new ConcurrentHashMap<>();
+    private final AtomicInteger watcherCount = new AtomicInteger();
+
+    // Index of the topic the next tick starts at (fan-out tick thread only)
+    private int cursor;
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tracking-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    private final Counter sentMessages;
+    private final Counter failedMessages;
+    private final Counter deferredMessages;
+    private final Counter rejectedWatchers;
+    private final Timer tickTimer;
+
+    public TrackingHub(PartnerLocationTable locationTable, DeliveryRepository deliveryRepository,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry, Clock clock,
+                       @Value("${delivery.tracking.tick-ms:500}") long tickMillis,
+                       @Value("${delivery.tracking.min-interval-ms:1000}") long minIntervalMillis,
+                       @Value("${delivery.tracking.default-interval-ms:2000}") long defaultIntervalMillis,
+                       @Value("${delivery.tracking.max-watchers:50000}") int maxWatchers,
+                       @Value("${delivery.tracking.max-watchers-per-order:20}") int maxWatchersPerOrder,
+                       @Value("${delivery.tracking.max-messages-per-second:40000}") int maxMessagesPerSecond,
+                       @Value("${delivery.tracking.sender-threads:4}") int senderThreads,
+                       @Value("${delivery.tracking.send-time-limit-ms:5000}") int sendTimeLimitMillis,
+                       @Value("${delivery.tracking.buffer-size-limit:16384}") int bufferSizeLimit) {
+        this.locationTable = locationTable;
+        this.deliveryRepository = deliveryRepository;
+        this.updateWriter = objectMapper.writerFor(TrackingUpdateDTO.class);
+        this.clock = clock;
+        this.minIntervalMillis = minIntervalMillis;
+        this.defaultIntervalMillis = Math.max(minIntervalMillis, defaultIntervalMillis);
+        this.maxWatchers = maxWatchers;
+        this.maxWatchersPerOrder = maxWatchersPerOrder;
+        this.messagesPerTick = (int) Math.max(1, maxMessagesPerSecond * tickMillis / 1000);
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+
+        AtomicInteger senderIndex = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "tracking-send-" + senderIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sentMessages = Counter.builder("tracking.messages").tag("result", "sent").register(meterRegistry);
+        this.failedMessages = Counter.builder("tracking.messages").tag("result", "failed").register(meterRegistry);
+        this.deferredMessages = Counter.builder("tracking.deferred")
+                .description("Position updates pushed to a later tick by the fan-out budget")
+                .register(meterRegistry);
+        this.rejectedWatchers = Counter.builder("tracking.rejected")
+                .description("Tracking connections refused by the watcher limits")
+                .register(meterRegistry);
+        this.tickTimer = Timer.builder("tracking.tick")
+                .description("Time to plan one fan-out tick")
+                .register(meterRegistry);
+        Gauge.builder("tracking.watchers", watcherCount, AtomicInteger::get)
+                .description("Open live tracking connections")
+                .register(meterRegistry);
+        Gauge.builder("tracking.orders", topics, Map::size)
+                .description("Orders with at least one watcher")
+                .register(meterRegistry);
+
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * START WATCHING AN ORDER
+     *
+     * @param intervalMillis requested time between position updates (null = default)
+     * @return false if a watcher limit was reached (the caller closes the session)
+     */
+    public boolean subscribe(WebSocketSession session, Long orderId, Long intervalMillis) {
+        if (watcherCount.incrementAndGet() > maxWatchers) {
+            watcherCount.decrementAndGet();
+            rejectedWatchers.increment();
+            return false;
+        }
+        long interval = intervalMillis != null ? Math.max(minIntervalMillis, intervalMillis) : defaultIntervalMillis;
+        Watcher watcher = new Watcher(new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis,
+                bufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP), interval);
+
+        OrderTopic topic;
+        while (true) {
+            topic = topics.computeIfAbsent(orderId, OrderTopic::new);
+            synchronized (topic) {
+                if (topic.removed) {
+                    continue; // emptied and dropped meanwhile, take the new one
+                }
+                if (topic.watchers.size() >= maxWatchersPerOrder) {
+                    watcherCount.decrementAndGet();
+                    rejectedWatchers.increment();
+                    return false;
+                }
+                topic.watchers.put(session.getId(), watcher);
+                topicBySession.put(session.getId(), topic);
+                if (topic.loaded) {
+                    return true;
+                }
+            }
+            break;
+        }
+        load(topic);
+        return true;
+    }
+
+    /**
+     * STOP WATCHING (connection closed)
+     */
+    public void unsubscribe(WebSocketSession session) {
+        OrderTopic topic = topicBySession.remove(session.getId());
+        if (topic == null) {
+            return;
+        }
+        synchronized (topic) {
+            if (topic.watchers.remove(session.getId()) != null) {
+                watcherCount.decrementAndGet();
+            }
+            if (topic.watchers.isEmpty()) {
+                topic.removed = true;
+                topics.remove(topic.orderId, topic);
+            }
+        }
+    }
+
+    /**
+     * KEEP WATCHED ORDERS CURRENT
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryChanged(DeliveryChangedEvent event) {
+        OrderTopic topic = topics.get(event.getOrderId());
+        if (topic == null) {
+            return;
+        }
+        synchronized (topic) {
+            topic.apply(event.getPartnerId(), event.getStatus().name(), event.getEstimatedDeliveryTime());
+        }
+    }
+
+    public int watcherCount() {
+        return watcherCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * HELPER METHOD: First watcher of an order - read the delivery once
+     * Not assigned yet: the order waits for a partner, DeliveryChangedEvent fills it in later.
+     * Read outside the topic's monitor; an event that arrived meanwhile wins.
+     */
+    private void load(OrderTopic topic) {
+        try {
+            Delivery delivery = deliveryRepository.findByOrderId(topic.orderId).orElse(null);
+            synchronized (topic) {
+                if (topic.loaded) {
+                    return;
+                }
+                if (delivery != null) {
+                    topic.apply(delivery.getPartnerId(), delivery.getStatus().name(),
+                            delivery.getEstimatedDeliveryTime());
+                } else {
+                    topic.apply(null, WAITING_FOR_PARTNER, null);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to load delivery for tracking Order ID: {}: {}", topic.orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * HELPER METHOD: One fan-out tick
+     * Decides who gets what on this thread; the actual sends run on the sender threads.
+     */
+    private void tick() {
+        try {
+            List<OrderTopic> watched = new ArrayList<>(topics.values());
+            if (watched.isEmpty()) {
+                return;
+            }
+            List<Send> sends = tickTimer.record(() -> planSends(watched, System.currentTimeMillis()));
+            for (int from = 0; from < sends.size(); from += SEND_BATCH_SIZE) {
+                List<Send> batch = sends.subList(from, Math.min(from + SEND_BATCH_SIZE, sends.size()));
+                senders.execute(() -> batch.forEach(this::send));
+            }
+        } catch (Exception e) {
+            log.error("Tracking fan-out tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<Send> planSends(List<OrderTopic> watched, long now) {
+        List<Send> sends = new ArrayList<>();
+        int budget = messagesPerTick;
+        int start = cursor % watched.size();
+        boolean budgetHit = false;
+
+        for (int i = 0; i < watched.size(); i++) {
+            OrderTopic topic = watched.get((start + i) % watched.size());
+            synchronized (topic) {
+                if (!topic.anyWatcherDue(now)) {
+                    continue;
+                }
+                TextMessage message = topic.refresh(now);
+                if (message == null) {
+                    continue;
+                }
+                for (Watcher watcher : topic.watchers.values()) {
+                    if (watcher.sentVersion == topic.version) {
+                        continue;
+                    }
+                    boolean stateChanged = watcher.sentStateVersion != topic.stateVersion;
+                    if (!stateChanged) {
+                        if (now < watcher.nextSendAt) {
+                            continue;
+                        }
+                        if (budget <= 0) {
+                            if (!budgetHit) {
+                                budgetHit = true;
+                                cursor = (start + i) % watched.size();
+                            }
+                            deferredMessages.increment();
+                            continue;
+                        }
+                    }
+                    budget--;
+                    watcher.sentVersion = topic.version;
+                    watcher.sentStateVersion = topic.stateVersion;
+                    watcher.nextSendAt = now + watcher.intervalMillis;
+                    sends.add(new Send(watcher, message, topic.finished));
+                }
+            }
+        }
+        return sends;
+    }
+
+    private void send(Send send) {
+        WebSocketSession session = send.watcher().session;
+        try {
+            if (!session.isOpen()) {
+                return;
+            }
+            session.sendMessage(send.message());
+            sentMessages.increment();
+            if (send.last()) {
+                session.close(CloseStatus.NORMAL);
+            }
+        } catch (Exception e) {
+            // Closed or too slow (decorator limits): the close callback unsubscribes it
+            failedMessages.increment();
+            log.debug("Tracking update to session {} failed: {}", session.getId(), e.getMessage());
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception ignored) {
+                // already closed
+            }
+        }
+    }
+
+    /**
+     * One watched order. Guarded by its own monitor.
+     */
+    private final class OrderTopic {
+        private final Long orderId;
+        private final Map<String, Watcher> watchers = new ConcurrentHashMap<>();
+        private boolean loaded;
+        private boolean removed;
+        private boolean finished;
+
+        // Delivery state, bumped by every change
+        private Long partnerId;
+        private String status;
+        private LocalDateTime estimatedDeliveryTime;
+        private int stateVersion;
+
+        // Last update built (version bumped by every rebuild)
+        private PartnerLocationTable.LocationFix builtFix;
+        private int builtStateVersion = -1;
+        private long builtAt;
+        private TextMessage message;
+        private int version;
+
+        private OrderTopic(Long orderId) {
+            this.orderId = orderId;
+        }
+
+        /**
+         * Something to send: a delivery change not sent to everyone, or a watcher's interval is up
+         * (the update is only built then, so fixes nobody is due for are never serialized)
+         */
+        private boolean anyWatcherDue(long now) {
+            for (Watcher watcher : watchers.values()) {
+                if (watcher.sentStateVersion != stateVersion || now >= watcher.nextSendAt) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void apply(Long partnerId, String status, LocalDateTime estimatedDeliveryTime) {
+            this.partnerId = partnerId;
+            this.status = status;
+            this.estimatedDeliveryTime = estimatedDeliveryTime;
+            this.finished = DeliveryStatus.DELIVERED.name().equals(status)
+                    || DeliveryStatus.CANCELLED.name().equals(status);
+            this.loaded = true;
+            stateVersion++;
+        }
+
+        /**
+         * Current update, rebuilt only if the rider moved, the delivery changed
+         * or it is older than MAX_UPDATE_AGE_MILLIS
+         *
+         * @return null while the delivery is not known yet
+         */
+        private TextMessage refresh(long now) {
+            if (!loaded) {
+                return null;
+            }
+            PartnerLocationTable.LocationFix fix =
+                    partnerId != null && !finished ? locationTable.latest(partnerId) : null;
+            if (message != null && fix == builtFix && stateVersion == builtStateVersion
+                    && now - builtAt < MAX_UPDATE_AGE_MILLIS) {
+                return message;
+            }
+            Double remainingMinutes = estimatedDeliveryTime != null && !finished
+                    ? Math.max(0, Duration.between(LocalDateTime.now(clock), estimatedDeliveryTime).toSeconds() / 60.0)
+                    : null;
+            TrackingUpdateDTO update = new TrackingUpdateDTO(orderId, status, partnerId,
+                    fix != null ? fix.latitude() : null, fix != null ? fix.longitude() : null,
+                    fix != null ? fix.recordedAt() : null, estimatedDeliveryTime, remainingMinutes);
+            try {
+                message = new TextMessage(updateWriter.writeValueAsString(update));
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize tracking update for Order ID: {}: {}", orderId, e.getMessage());
+                return message;
+            }
+            builtFix = fix;
+            builtStateVersion = stateVersion;
+            builtAt = now;
+            version++;
+            return message;
+        }
+    }
+
+    /**
+     * One connection. Send bookkeeping is only touched by the tick thread.
+     */
+    private static final class Watcher {
+        private final WebSocketSession session;
+        private final long intervalMillis;
+        private int sentVersion;
+        private int sentStateVersion = -1;
+        private long nextSendAt;
+
+        private Watcher(WebSocketSession session, long intervalMillis) {
+            this.session = session;
+            this.intervalMillis = intervalMillis;
+        }
+    }
+
+    private record Send(Watcher watcher, TextMessage message, boolean last) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.fooddelivery.delivery.tracking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * TRACKING WEBSOCKET HANDLER - ws://.../ws/deliveries/track?orderId=42[&intervalMs=2000]
+ *
+ * Streams TrackingUpdateDTO messages (rider position, status, remaining
+ * time) for one order until it is delivered or cancelled. intervalMs is how
+ * often the client wants position updates (at least
+ * delivery.tracking.min-interval-ms); status changes are sent at once.
+ *
+ * Clients send nothing; incoming messages are ignored.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrackingWebSocketHandler extends TextWebSocketHandler {
+
+    private final TrackingHub trackingHub;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Long orderId;
+        Long intervalMillis;
+        try {
+            MultiValueMap<String, String> params =
+                    UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+            orderId = Long.valueOf(params.getFirst("orderId"));
+            intervalMillis = params.getFirst("intervalMs") != null ? Long.valueOf(params.getFirst("intervalMs")) : null;
+        } catch (Exception e) {
+            session.close(CloseStatus.BAD_DATA.withReason("orderId query parameter required"));
+            return;
+        }
+
+        if (!trackingHub.subscribe(session, orderId, intervalMillis)) {
+            log.warn("⚠️ Tracking connection for Order ID: {} refused - watcher limit reached", orderId);
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+            return;
+        }
+        log.debug("Tracking session {} watching Order ID: {}", session.getId(), orderId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Server push only
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        trackingHub.unsubscribe(session);
+    }
+}
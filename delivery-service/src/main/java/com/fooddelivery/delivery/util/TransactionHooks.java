@@ -0,0 +1,33 @@
+package com.fooddelivery.delivery.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * TRANSACTION HOOKS
+ *
+ * In-memory dispatch state (pending queue, partner routes) must only
+ * change, and Kafka events only go out, once the MySQL write they mirror
+ * has committed.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Run after the current transaction commits (right away if there is none)
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.fooddelivery.delivery.dispatch;
+
+import com.fooddelivery.delivery.entity.VehicleType;
+import com.fooddelivery.delivery.geo.PartnerGeoIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * DISPATCH BENCHMARK - Matching latency and quality, 1k orders × 1k partners
+ *
+ * Standalone (no Spring context, no database). Scatters partners and
+ * pickups over a 20 km × 20 km city and measures:
+ * 1. Dense 1k × 1k matrix: Hungarian vs greedy (latency, total cost)
+ * 2. DispatchPlanner as used in production (k nearest candidates per order)
+ *
+ * Lives with the test sources so it stays out of the service jar (not a
+ * test: surefire does not pick it up). Run after mvn test-compile:
+ *   java -cp target/test-classes:target/classes:<runtime classpath> \
+ *     com.fooddelivery.delivery.dispatch.DispatchBenchmark [orders] [partners]
+ */
+public final class DispatchBenchmark {
+
+    private static final double CITY_LAT = 12.97;
+    private static final double CITY_LNG = 77.59;
+    private static final double CITY_SPAN_DEGREES = 0.18;   // ~20 km
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private DispatchBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int partners = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Random random = new Random(42);
+
+        DispatchCostModel costModel = new DispatchCostModel(1.0, 15, 15, 22, 18);
+        PartnerGeoIndex index = new PartnerGeoIndex(0.01, 15);
+        double[][] partnerPositions = new double[partners][];
+        VehicleType[] vehicles = VehicleType.values();
+        double[] ratings = new double[partners];
+        VehicleType[] partnerVehicles = new VehicleType[partners];
+        for (int p = 0; p < partners; p++) {
+            partnerPositions[p] = randomPoint(random);
+            ratings[p] = 3.0 + random.nextDouble() * 2.0;
+            partnerVehicles[p] = vehicles[random.nextInt(vehicles.length)];
+            index.upsert((long) p, partnerPositions[p][0], partnerPositions[p][1], ratings[p], partnerVehicles[p]);
+        }
+
+        List<DispatchPlanner.Pickup> pickups = new ArrayList<>(orders);
+        double[][] dense = new double[orders][partners];
+        for (int o = 0; o < orders; o++) {
+            double[] pickup = randomPoint(random);
+            pickups.add(new DispatchPlanner.Pickup((long) o, pickup[0], pickup[1]));
+            for (int p = 0; p < partners; p++) {
+                double km = PartnerGeoIndex.distanceKm(pickup[0], pickup[1], partnerPositions[p][0], partnerPositions[p][1]);
+                dense[o][p] = costModel.cost(km, partnerVehicles[p], ratings[p]);
+            }
+        }
+
+        System.out.printf("Dispatch benchmark: %d orders x %d partners%n%n", orders, partners);
+
+        int[] hungarian = AssignmentSolver.hungarian(dense);
+        int[] greedy = AssignmentSolver.greedy(dense);
+        double optimal = AssignmentSolver.totalCost(dense, hungarian);
+        double greedyCost = AssignmentSolver.totalCost(dense, greedy);
+        report("Dense Hungarian", time(() -> AssignmentSolver.hungarian(dense)), optimal, optimal, matched(hungarian));
+        report("Dense greedy", time(() -> AssignmentSolver.greedy(dense)), greedyCost, optimal, matched(greedy));
+
+        for (int k : new int[] {5, 10, 20}) {
+            DispatchPlanner hungarianPlanner = new DispatchPlanner(index, costModel, k, Integer.MAX_VALUE);
+            DispatchPlanner greedyPlanner = new DispatchPlanner(index, costModel, k, 0);
+            Map<Long, Long> hungarianPlan = hungarianPlanner.plan(pickups);
+            Map<Long, Long> greedyPlan = greedyPlanner.plan(pickups);
+            report("Planner k=" + k + " Hungarian", time(() -> hungarianPlanner.plan(pickups)),
+                    planCost(dense, hungarianPlan), optimal, hungarianPlan.size());
+            report("Planner k=" + k + " greedy", time(() -> greedyPlanner.plan(pickups)),
+                    planCost(dense, greedyPlan), optimal, greedyPlan.size());
+        }
+    }
+
+    private static double[] randomPoint(Random random) {
+        return new double[] {
+                CITY_LAT + (random.nextDouble() - 0.5) * CITY_SPAN_DEGREES,
+                CITY_LNG + (random.nextDouble() - 0.5) * CITY_SPAN_DEGREES
+        };
+    }
+
+    /**
+     * Median wall time (ms) of MEASURED_ROUNDS runs after WARMUP_ROUNDS
+     */
+    private static double time(Runnable run) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run.run();
+        }
+        double[] millis = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        java.util.Arrays.sort(millis);
+        return millis[MEASURED_ROUNDS / 2];
+    }
+
+    private static double planCost(double[][] dense, Map<Long, Long> plan) {
+        double total = 0;
+        for (Map.Entry<Long, Long> match : plan.entrySet()) {
+            total += dense[match.getKey().intValue()][match.getValue().intValue()];
+        }
+        return total;
+    }
+
+    private static int matched(int[] assignment) {
+        int count = 0;
+        for (int partner : assignment) {
+            if (partner >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void report(String name, double millis, double totalCost, double optimal, int matched) {
+        System.out.printf("%-26s %9.1f ms   matched %5d   total cost %10.1f (%+.1f%% vs dense optimal)%n",
+                name, millis, matched, totalCost, 100.0 * (totalCost - optimal) / optimal);
+    }
+}
@@ -0,0 +1,134 @@
+package com.fooddelivery.order.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * RESTAURANT BATCH LOADER - Coalesces single-restaurant lookups
+ *
+ * Instead of one GET /restaurants/{id} per caller, lookups arriving within
+ * a short window (batch-window-ms) are collected and sent as ONE
+ * GET /restaurants/batch?ids=... call. Duplicate ids in a window share
+ * one result.
+ *
+ * A batch is sent when the window closes or when max-batch-size ids are
+ * waiting, whichever comes first. Requests carry at most 100 ids (the
+ * limit of the batch endpoint); larger batches are split.
+ */
+@Component
+@Slf4j
+public class RestaurantBatchLoader {
+
+    private static final String BATCH_URL = "http://restaurant-service/restaurants/batch?ids=";
+    private static final int MAX_IDS_PER_REQUEST = 100;   // RestaurantController.MAX_BATCH_IDS
+
+    private final RestTemplate restTemplate;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<RestaurantClient.RestaurantDTO>> pending = new HashMap<>();
+
+    public RestaurantBatchLoader(RestTemplate restTemplate,
+                                 @Value("${restaurant.client.batch-window-ms:5}") long windowMillis,
+                                 @Value("${restaurant.client.max-batch-size:50}") int maxBatchSize) {
+        this.restTemplate = restTemplate;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "restaurant-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * QUEUE ONE LOOKUP
+     * Completes with the restaurant, or null if restaurant-service does not know the id.
+     */
+    public CompletableFuture<RestaurantClient.RestaurantDTO> load(Long restaurantId) {
+        Map<Long, CompletableFuture<RestaurantClient.RestaurantDTO>> fullBatch = null;
+        CompletableFuture<RestaurantClient.RestaurantDTO> future;
+
+        synchronized (lock) {
+            future = pending.computeIfAbsent(restaurantId, id -> new CompletableFuture<>());
+            if (pending.size() == 1) {
+                scheduler.schedule(this::flushWindow, windowMillis, TimeUnit.MILLISECONDS);
+            }
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = pending;
+                pending = new HashMap<>();
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return future;
+    }
+
+    /**
+     * HELPER METHOD: Fetch restaurants, MAX_IDS_PER_REQUEST per call
+     */
+    private Map<Long, RestaurantClient.RestaurantDTO> fetch(Collection<Long> restaurantIds) {
+        List<Long> distinctIds = restaurantIds.stream().distinct().collect(Collectors.toList());
+        Map<Long, RestaurantClient.RestaurantDTO> byId = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_REQUEST) {
+            String ids = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_REQUEST, distinctIds.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            List<RestaurantClient.RestaurantDTO> restaurants = restTemplate.exchange(BATCH_URL + ids, HttpMethod.GET,
+                    null, new ParameterizedTypeReference<List<RestaurantClient.RestaurantDTO>>() { }).getBody();
+            if (restaurants != null) {
+                restaurants.forEach(restaurant -> byId.put(restaurant.getId(), restaurant));
+            }
+        }
+        return byId;
+    }
+
+    private void flushWindow() {
+        Map<Long, CompletableFuture<RestaurantClient.RestaurantDTO>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<RestaurantClient.RestaurantDTO>> batch) {
+        log.debug("Sending restaurant batch lookup for {} ids", batch.size());
+        try {
+            Map<Long, RestaurantClient.RestaurantDTO> restaurants = fetch(batch.keySet());
+            batch.forEach((id, future) -> future.complete(restaurants.get(id)));
+        } catch (Exception e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * RESTAURANT CLIENT SERVICE WITH CIRCUIT BREAKER
  *
@@ -35,15 +37,26 @@ import org.springframework.web.client.RestTemplate;
  * - Gives failing service time to recover
  * - Fast-fail with fallback responses
  * - Automatic recovery detection
+ *
+ * BATCHING:
+ * Single-id lookups go through RestaurantBatchLoader, which merges concurrent
+ * lookups into one GET /restaurants/batch call.
+ *
+ * OPENING HOURS:
+ * isOpenNow answers from RestaurantScheduleCache (cached minute bitmaps),
+ * without calling Restaurant Service on every order.
  */
 @Service
 @Slf4j
 public class RestaurantClient {
 
     @Autowired
-    private RestTemplate restTemplate;
+    private RestaurantBatchLoader batchLoader;
+
+    @Autowired
+    private RestaurantScheduleCache scheduleCache;
 
-    private static final String RESTAURANT_SERVICE_URL = "http://restaurant-service";
+    private static final long LOOKUP_TIMEOUT_MS = 5000;
 
     /**
      * Call Restaurant Service to check if restaurant is available
@@ -60,21 +73,30 @@ public class RestaurantClient {
     @CircuitBreaker(name = "restaurantService", fallbackMethod = "getRestaurantFallback")
     public RestaurantDTO getRestaurant(Long restaurantId) {
         log.info("🔵 Circuit Breaker: Calling Restaurant Service for restaurant ID: {}", restaurantId);
-//        api/restaurants/
         try {
-            String url = RESTAURANT_SERVICE_URL + "/restaurants/" + restaurantId;
-            RestaurantDTO restaurant = restTemplate.getForObject(url, RestaurantDTO.class);
+            RestaurantDTO restaurant = batchLoader.load(restaurantId).get(LOOKUP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
 
             log.info("✅ Circuit Breaker: Successfully retrieved restaurant: {}",
                     restaurant != null ? restaurant.getName() : "null");
             return restaurant;
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestaurantServiceException("Interrupted while waiting for Restaurant Service", e);
         } catch (Exception e) {
             log.error("❌ Circuit Breaker: Error calling Restaurant Service: {}", e.getMessage());
             throw new RestaurantServiceException("Failed to communicate with Restaurant Service", e);
         }
     }
 
+    /**
+     * Is the restaurant open at this minute, per its opening schedule?
+     * Served from the cached schedule bitmap; refreshed at most every schedule-ttl-ms.
+     */
+    public boolean isOpenNow(Long restaurantId) {
+        return scheduleCache.isOpenNow(restaurantId);
+    }
+
     /**
      * FALLBACK METHOD
      *
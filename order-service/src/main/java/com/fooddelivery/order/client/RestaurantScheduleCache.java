@@ -0,0 +1,179 @@
+package com.fooddelivery.order.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * RESTAURANT SCHEDULE CACHE - Local "is the restaurant open now?" check
+ *
+ * Restaurant Service compiles opening hours into minute-of-week bitmaps
+ * (GET /restaurants/{id}/schedule/compiled). This cache keeps the decoded
+ * bitmaps per restaurant for schedule-ttl-ms, so validating an order is a
+ * bit lookup, not a remote call or DB query.
+ *
+ * Restaurants without a schedule are always open. If the schedule cannot
+ * be fetched, a stale copy is used if present, otherwise the restaurant
+ * is treated as open (isActive is still checked by the caller).
+ *
+ * An expired copy is still served; one background refresh per restaurant
+ * replaces it (schedule-refresh thread), so order validation only waits on
+ * Restaurant Service for a restaurant it has never seen. Fetches go through
+ * the restaurantService circuit breaker and the RestTemplate timeouts.
+ */
+@Component
+@Slf4j
+public class RestaurantScheduleCache {
+
+    private static final String SCHEDULE_URL = "http://restaurant-service/restaurants/%d/schedule/compiled";
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final long ttlMillis;
+
+    private final Map<Long, CachedSchedule> schedules = new ConcurrentHashMap<>();
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "schedule-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RestaurantScheduleCache(RestTemplate restTemplate, CircuitBreakerRegistry circuitBreakerRegistry,
+                                   @Value("${restaurant.client.schedule-ttl-ms:300000}") long ttlMillis) {
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("restaurantService");
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * OPEN NOW? (served from the cached bitmap)
+     */
+    public boolean isOpenNow(Long restaurantId) {
+        CachedSchedule schedule = schedules.get(restaurantId);
+        if (schedule == null) {
+            schedule = refresh(restaurantId, null);
+        } else if (schedule.fetchedAt() + ttlMillis < System.currentTimeMillis()) {
+            refreshInBackground(restaurantId, schedule);
+        }
+        return schedule == null || schedule.isOpenAt(LocalDateTime.now(schedule.zone()));
+    }
+
+    private void refreshInBackground(Long restaurantId, CachedSchedule stale) {
+        if (!refreshing.add(restaurantId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(restaurantId, stale);
+                } finally {
+                    refreshing.remove(restaurantId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(restaurantId);
+        }
+    }
+
+    private CachedSchedule refresh(Long restaurantId, CachedSchedule stale) {
+        try {
+            CompiledScheduleDTO dto = circuitBreaker.executeSupplier(() -> restTemplate.getForObject(
+                    String.format(SCHEDULE_URL, restaurantId), CompiledScheduleDTO.class));
+            if (dto == null) {
+                return stale;
+            }
+            CachedSchedule schedule = decode(dto);
+            schedules.put(restaurantId, schedule);
+            return schedule;
+        } catch (Exception e) {
+            log.warn("Could not fetch opening schedule of restaurant {}, using {}: {}",
+                    restaurantId, stale != null ? "stale copy" : "always open", e.getMessage());
+            return stale;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private CachedSchedule decode(CompiledScheduleDTO dto) {
+        Map<LocalDate, long[]> days = new HashMap<>();
+        if (dto.getDayBitmaps() != null) {
+            dto.getDayBitmaps().forEach((date, bits) -> days.put(LocalDate.parse(date), decodeBits(bits)));
+        }
+        long[] week = dto.getWeekBitmap() != null ? decodeBits(dto.getWeekBitmap()) : null;
+        return new CachedSchedule(ZoneId.of(dto.getTimeZone()), week, days, System.currentTimeMillis());
+    }
+
+    private static long[] decodeBits(String base64) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(base64)).order(ByteOrder.LITTLE_ENDIAN);
+        long[] bits = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(bits);
+        return bits;
+    }
+
+    /**
+     * Decoded schedule; week == null means no schedule (always open)
+     */
+    private record CachedSchedule(ZoneId zone, long[] week, Map<LocalDate, long[]> days, long fetchedAt) {
+
+        boolean isOpenAt(LocalDateTime localTime) {
+            int minuteOfDay = localTime.getHour() * 60 + localTime.getMinute();
+            long[] day = days.get(localTime.toLocalDate());
+            if (day != null) {
+                return isSet(day, minuteOfDay);
+            }
+            if (week == null) {
+                return true;
+            }
+            return isSet(week, (localTime.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + minuteOfDay);
+        }
+
+        private static boolean isSet(long[] bits, int index) {
+            return (bits[index >>> 6] & (1L << (index & 63))) != 0;
+        }
+    }
+
+    /**
+     * Simple DTO for the compiled schedule returned by Restaurant Service
+     */
+    public static class CompiledScheduleDTO {
+        private Long restaurantId;
+        private String timeZone;
+        private String weekBitmap;
+        private Map<String, String> dayBitmaps;
+
+        public Long getRestaurantId() { return restaurantId; }
+        public void setRestaurantId(Long restaurantId) { this.restaurantId = restaurantId; }
+
+        public String getTimeZone() { return timeZone; }
+        public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+        public String getWeekBitmap() { return weekBitmap; }
+        public void setWeekBitmap(String weekBitmap) { this.weekBitmap = weekBitmap; }
+
+        public Map<String, String> getDayBitmaps() { return dayBitmaps; }
+        public void setDayBitmaps(Map<String, String> dayBitmaps) { this.dayBitmaps = dayBitmaps; }
+    }
+}
@@ -1,10 +1,14 @@
 package com.fooddelivery.order.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * REST TEMPLATE CONFIGURATION
  *
@@ -14,6 +18,10 @@ import org.springframework.web.client.RestTemplate;
  * - Service discovery via Eureka
  * - Client-side load balancing
  * - Automatic service URL resolution (e.g., http://restaurant-service)
+ *
+ * Connect and read timeouts are bounded, so a hanging Restaurant Service
+ * fails calls fast (and trips the circuit breaker) instead of holding
+ * order requests.
  */
 @Configuration
 public class RestTemplateConfig {
@@ -28,7 +36,12 @@ public class RestTemplateConfig {
      */
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${restaurant.client.connect-timeout:500ms}") Duration connectTimeout,
+                                     @Value("${restaurant.client.read-timeout:2s}") Duration readTimeout) {
+        return builder
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
     }
 }
@@ -80,6 +80,11 @@ public class OrderService {
             log.error("❌ Restaurant {} is not available", orderDTO.getRestaurantId());
             throw new OrderProcessingException("Restaurant is currently not accepting orders", "RESTAURANT_UNAVAILABLE");
         }
+
+        if (!restaurantClient.isOpenNow(orderDTO.getRestaurantId())) {
+            log.error("❌ Restaurant {} is closed right now", orderDTO.getRestaurantId());
+            throw new OrderProcessingException("Restaurant is closed right now", "RESTAURANT_CLOSED");
+        }
         
         log.info("✅ Restaurant validated: {}", restaurant.getName());
 
@@ -24,4 +24,5 @@ public class OrderEvent {
     private String orderStatus;
     private String eventType;  // ORDER_CREATED, PAYMENT_COMPLETED, etc.
     private LocalDateTime timestamp;
+    private Long sequence;     // delivery-events only: increases per order, older numbers are stale
 }
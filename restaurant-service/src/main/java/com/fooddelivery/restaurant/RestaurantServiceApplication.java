@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * RESTAURANT SERVICE - Restaurant and Menu Management
@@ -22,10 +23,12 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
  * 
  * @EnableCaching: Enables Spring's annotation-driven cache management
  * @EnableDiscoveryClient: Registers this service with Eureka Server
+ * @EnableScheduling: Runs background write-backs (e.g. menu availability flushes)
  */
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableCaching
+@EnableScheduling
 public class RestaurantServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,159 @@
+package com.fooddelivery.restaurant.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CACHE METRICS - Hit / miss / load / eviction numbers for one cache
+ *
+ * Recorded by CoalescingCache (Micrometer, /actuator/metrics), using the
+ * same meter names Spring Boot uses for its own cache metrics so the usual
+ * dashboards work:
+ * - cache.gets        tags cache / result (hit, miss, local = served from the L1 copy while Redis is down)
+ * - cache.puts        tags cache
+ * - cache.evictions   tags cache / scope (key, all)
+ * - cache.loads       loader (MySQL) latency on a miss, tags cache / result (success, failure)
+ * - cache.refreshes   background refresh-ahead reloads, tags cache
+ *
+ * Instead of a DEBUG line per cache call, one INFO summary per cache is
+ * logged at most every logInterval, and only when the cache was used:
+ * "Cache restaurants: 1840 hits, 12 misses (99.4% hits), avg load 8 ms in the last 60s"
+ */
+@Slf4j
+public class CacheMetrics {
+
+    private final String cacheName;
+    private final long logIntervalNanos;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter localHits;
+    private final Counter puts;
+    private final Counter keyEvictions;
+    private final Counter clears;
+    private final Counter refreshes;
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+
+    // Window counters for the sampled summary log
+    private final LongAdder windowHits = new LongAdder();
+    private final LongAdder windowMisses = new LongAdder();
+    private final LongAdder windowLoads = new LongAdder();
+    private final LongAdder windowLoadNanos = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    public CacheMetrics(String cacheName, MeterRegistry meterRegistry, Duration logInterval) {
+        this.cacheName = cacheName;
+        this.logIntervalNanos = logInterval.toNanos();
+
+        this.hits = gets(meterRegistry, "hit");
+        this.misses = gets(meterRegistry, "miss");
+        this.localHits = gets(meterRegistry, "local");
+        this.puts = Counter.builder("cache.puts")
+                .description("Entries written to the cache")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.keyEvictions = evictions(meterRegistry, "key");
+        this.clears = evictions(meterRegistry, "all");
+        this.refreshes = Counter.builder("cache.refreshes")
+                .description("Entries reloaded in the background shortly before expiry")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.loadSuccess = loads(meterRegistry, "success");
+        this.loadFailure = loads(meterRegistry, "failure");
+    }
+
+    public void hit() {
+        hits.increment();
+        windowHits.increment();
+        maybeLogSummary();
+    }
+
+    public void localHit() {
+        localHits.increment();
+        windowHits.increment();
+        maybeLogSummary();
+    }
+
+    public void miss() {
+        misses.increment();
+        windowMisses.increment();
+        maybeLogSummary();
+    }
+
+    public void load(long startNanos, boolean success) {
+        long elapsed = System.nanoTime() - startNanos;
+        (success ? loadSuccess : loadFailure).record(elapsed, TimeUnit.NANOSECONDS);
+        windowLoads.increment();
+        windowLoadNanos.add(elapsed);
+    }
+
+    public void put() {
+        puts.increment();
+    }
+
+    public void evict() {
+        keyEvictions.increment();
+    }
+
+    public void clear() {
+        clears.increment();
+    }
+
+    public void refresh() {
+        refreshes.increment();
+    }
+
+    /**
+     * One summary line per logInterval; the thread that wins the CAS logs and resets the window
+     */
+    private void maybeLogSummary() {
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start < logIntervalNanos || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+
+        long hitCount = windowHits.sumThenReset();
+        long missCount = windowMisses.sumThenReset();
+        long loadCount = windowLoads.sumThenReset();
+        long loadNanos = windowLoadNanos.sumThenReset();
+        long total = hitCount + missCount;
+        if (total == 0) {
+            return;
+        }
+        log.info("Cache {}: {} hits, {} misses ({}% hits), avg load {} ms in the last {}s",
+                cacheName, hitCount, missCount,
+                String.format("%.1f", 100.0 * hitCount / total),
+                loadCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(loadNanos / loadCount),
+                TimeUnit.NANOSECONDS.toSeconds(now - start));
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .description("Cache lookups by result")
+                .tags("cache", cacheName, "result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictions(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("cache.evictions")
+                .description("Cache evictions (single key or whole cache)")
+                .tags("cache", cacheName, "scope", scope)
+                .register(meterRegistry);
+    }
+
+    private Timer loads(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("cache.loads")
+                .description("Time spent loading a missing entry from the database")
+                .tags("cache", cacheName, "result", result)
+                .register(meterRegistry);
+    }
+}
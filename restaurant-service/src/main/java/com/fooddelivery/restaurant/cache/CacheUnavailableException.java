@@ -0,0 +1,12 @@
+package com.fooddelivery.restaurant.cache;
+
+/**
+ * Thrown when Redis is unavailable and the database fallback is already
+ * at its concurrency limit. Mapped to HTTP 503 so clients back off and retry.
+ */
+public class CacheUnavailableException extends RuntimeException {
+
+    public CacheUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.fooddelivery.restaurant.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * CACHE WARM-UP HEALTH INDICATOR
+ *
+ * Shows up as "cacheWarmup" in /actuator/health and in the readiness group
+ * (/actuator/health/readiness). OUT_OF_SERVICE while warm-up is running.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService warmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", warmupService.getState())
+                .withDetail("restaurantsWarmed", warmupService.getRestaurantsWarmed())
+                .withDetail("pagesWarmed", warmupService.getPagesWarmed())
+                .build();
+    }
+}
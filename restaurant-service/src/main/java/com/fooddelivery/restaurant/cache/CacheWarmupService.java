@@ -0,0 +1,185 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fooddelivery.restaurant.dto.CursorPageDTO;
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.service.RestaurantPageService;
+import com.fooddelivery.restaurant.service.RestaurantService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CACHE WARM-UP SERVICE - Preload hot data after a deploy
+ *
+ * Runs once on ApplicationReadyEvent, in the background:
+ * 1. Top-N restaurants (by last-24h access counts from RestaurantAccessTracker) and their page documents
+ * 2. The first catalogue pages and the full restaurant list
+ *
+ * Hot restaurants are loaded with one batch lookup (Redis MGET + one MySQL
+ * query for the misses), and one pipelined EXISTS round trip finds which
+ * page documents are missing, so only those are built.
+ *
+ * Until warm-up completes or its time budget expires, CacheWarmupHealthIndicator
+ * reports OUT_OF_SERVICE, which keeps the instance out of the readiness group
+ * and out of Eureka (eureka.client.healthcheck.enabled), so rolling deploys
+ * don't send cold instances full traffic.
+ */
+@Service
+@Slf4j
+public class CacheWarmupService {
+
+    public enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED }
+
+    private static final int PAGE_SIZE = 20;
+
+    private final RestaurantService restaurantService;
+    private final RestaurantPageService restaurantPageService;
+    private final RestaurantAccessTracker accessTracker;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisGuard redisGuard;
+    private final int topRestaurants;
+    private final int catalogPages;
+    private final Duration timeBudget;
+
+    private volatile State state = State.PENDING;
+    private volatile long startedAt;
+    private final AtomicInteger restaurantsWarmed = new AtomicInteger();
+    private final AtomicInteger pagesWarmed = new AtomicInteger();
+
+    public CacheWarmupService(RestaurantService restaurantService,
+                              RestaurantPageService restaurantPageService,
+                              RestaurantAccessTracker accessTracker,
+                              RedisTemplate<String, Object> redisTemplate,
+                              RedisGuard redisGuard,
+                              @Value("${restaurant.warmup.top-restaurants:100}") int topRestaurants,
+                              @Value("${restaurant.warmup.catalog-pages:5}") int catalogPages,
+                              @Value("${restaurant.warmup.time-budget:30s}") Duration timeBudget) {
+        this.restaurantService = restaurantService;
+        this.restaurantPageService = restaurantPageService;
+        this.accessTracker = accessTracker;
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.topRestaurants = topRestaurants;
+        this.catalogPages = catalogPages;
+        this.timeBudget = timeBudget;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmup() {
+        startedAt = System.currentTimeMillis();
+        state = State.RUNNING;
+        Thread worker = new Thread(this::warmUp, "cache-warmup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * True once warm-up has finished, or its time budget is used up
+     */
+    public boolean isReady() {
+        return state == State.COMPLETED || state == State.TIMED_OUT || state == State.FAILED || budgetExpired();
+    }
+
+    public State getState() {
+        return state == State.RUNNING && budgetExpired() ? State.TIMED_OUT : state;
+    }
+
+    public int getRestaurantsWarmed() {
+        return restaurantsWarmed.get();
+    }
+
+    public int getPagesWarmed() {
+        return pagesWarmed.get();
+    }
+
+    private void warmUp() {
+        log.info("Cache warm-up started (top {} restaurants, {} catalogue pages, budget {})",
+                topRestaurants, catalogPages, timeBudget);
+        try {
+            List<Long> hotIds = accessTracker.topRestaurantIds(topRestaurants);
+            if (!hotIds.isEmpty()) {
+                restaurantService.getRestaurantsByIds(hotIds);
+            }
+            List<Long> missingPages = missingPageDocuments(hotIds);
+            restaurantsWarmed.addAndGet(hotIds.size() - missingPages.size());
+            for (Long restaurantId : missingPages) {
+                if (budgetExpired()) {
+                    break;
+                }
+                try {
+                    restaurantPageService.getRestaurantPage(restaurantId);
+                    restaurantsWarmed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.debug("Skipping restaurant {} during warm-up: {}", restaurantId, e.getMessage());
+                }
+            }
+
+            Long cursor = 0L;
+            for (int page = 0; page < catalogPages && cursor != null && !budgetExpired(); page++) {
+                CursorPageDTO<RestaurantDTO> restaurantsPage = restaurantService.getRestaurantsPage(cursor, PAGE_SIZE);
+                cursor = restaurantsPage.getNextCursor();
+                pagesWarmed.incrementAndGet();
+            }
+            if (!budgetExpired()) {
+                restaurantService.getAllRestaurants();
+            }
+
+            state = budgetExpired() ? State.TIMED_OUT : State.COMPLETED;
+        } catch (Exception e) {
+            log.error("Cache warm-up failed, serving traffic cold: {}", e.getMessage(), e);
+            state = State.FAILED;
+        }
+        log.info("Cache warm-up {} in {} ms: {} restaurants, {} catalogue pages",
+                state, System.currentTimeMillis() - startedAt, restaurantsWarmed.get(), pagesWarmed.get());
+    }
+
+    /**
+     * Ids whose page document is not in Redis yet (one pipelined EXISTS round trip)
+     */
+    private List<Long> missingPageDocuments(List<Long> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return restaurantIds;
+        }
+        List<Object> exists = redisGuard.call(RestaurantPageService.CACHE_NAME, "exists",
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    existsAll(connection, restaurantIds);
+                    return null;
+                }),
+                () -> null);
+        if (exists == null) {
+            return restaurantIds;
+        }
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < restaurantIds.size(); i++) {
+            if (i >= exists.size() || !Boolean.TRUE.equals(exists.get(i))) {
+                missing.add(restaurantIds.get(i));
+            }
+        }
+        log.info("{} of {} hot restaurant page documents already cached", restaurantIds.size() - missing.size(),
+                restaurantIds.size());
+        return missing;
+    }
+
+    private void existsAll(RedisConnection connection, List<Long> restaurantIds) {
+        for (Long restaurantId : restaurantIds) {
+            String key = RestaurantPageService.CACHE_NAME + "::" + restaurantId;
+            connection.keyCommands().exists(key.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private boolean budgetExpired() {
+        return startedAt > 0 && System.currentTimeMillis() - startedAt > timeBudget.toMillis();
+    }
+}
@@ -0,0 +1,374 @@
+package com.fooddelivery.restaurant.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COALESCING CACHE - Stampede protection + refresh-ahead for one cache
+ *
+ * Wraps a RedisCache. Only affects @Cacheable(sync = true) lookups,
+ * which Spring routes through get(key, valueLoader):
+ *
+ * 1. REQUEST COALESCING (per key, per instance)
+ *    On a miss, the first caller runs the loader; concurrent callers for
+ *    the same key wait for its result instead of all querying MySQL.
+ *
+ * 2. REFRESH-AHEAD
+ *    When a key this instance loaded is read during the last refreshAhead
+ *    of its TTL, one background reload is started and the current value is
+ *    returned immediately. Keys that nobody reads near expiry simply expire,
+ *    so only hot entries are refreshed.
+ *
+ * 3. REDIS GUARD + LOCAL (L1) COPY
+ *    Every Redis call goes through RedisGuard (bulkhead, timeout, health gate).
+ *    Values read or written through this instance are also kept in a small
+ *    bounded local map. While Redis is unavailable, reads are served from
+ *    that copy (if younger than localMaxStale), and misses load from MySQL
+ *    under the guard's DB fallback limit. The local copy is only read while
+ *    Redis is unavailable, because other instances' evictions do not reach it.
+ *    Evictions that could not reach Redis are retried once it is back.
+ *
+ * Hits, misses, loads and evictions are recorded through CacheMetrics.
+ *
+ * TTL jitter is applied by the Redis cache writer (see RedisConfig); jitter
+ * only ever lengthens the TTL, so refreshAfter computed from the base TTL is
+ * always before the real expiry.
+ */
+@Slf4j
+public class CoalescingCache implements Cache {
+
+    // Returned by guarded Redis reads that did not reach Redis (distinct from a miss)
+    private static final ValueWrapper UNAVAILABLE = new SimpleValueWrapper(null);
+
+    private final Cache delegate;
+    private final Duration refreshAfterLoad;
+    private final Executor refreshExecutor;
+    private final RedisGuard guard;
+    private final int localMaxEntries;
+    private final long localMaxStaleMillis;
+    private final CacheMetrics metrics;
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // key -> epoch millis after which a hit triggers a background refresh
+    private final ConcurrentMap<Object, Long> refreshAfter = new ConcurrentHashMap<>();
+
+    // Bumped on every evict/clear so a refresh that started before a write does not re-cache stale data
+    private final AtomicLong generation = new AtomicLong();
+
+    // key -> last value seen by this instance (served only while Redis is unavailable)
+    private final ConcurrentMap<Object, LocalCopy> localCopies = new ConcurrentHashMap<>();
+
+    // Evictions that did not reach Redis, retried once it answers again
+    private final Set<Object> failedEvictions = ConcurrentHashMap.newKeySet();
+    private volatile boolean failedClear;
+
+    public CoalescingCache(Cache delegate, Duration ttl, Duration refreshAhead, Executor refreshExecutor,
+                           RedisGuard guard, int localMaxEntries, Duration localMaxStale, CacheMetrics metrics) {
+        this.delegate = delegate;
+        this.refreshAfterLoad = ttl.minus(refreshAhead);
+        this.refreshExecutor = refreshExecutor;
+        this.guard = guard;
+        this.localMaxEntries = localMaxEntries;
+        this.localMaxStaleMillis = localMaxStale.toMillis();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = redisGet(key);
+        if (cached == UNAVAILABLE) {
+            ValueWrapper local = localValue(key);
+            if (local != null) {
+                metrics.localHit();
+            } else {
+                metrics.miss();
+            }
+            return local;
+        }
+        if (cached != null) {
+            metrics.hit();
+            remember(key, cached.get());
+        } else {
+            metrics.miss();
+        }
+        return cached;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper cached = get(key);
+        Object value = cached != null ? cached.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = redisGet(key);
+        if (cached == UNAVAILABLE) {
+            ValueWrapper local = localValue(key);
+            if (local != null) {
+                metrics.localHit();
+                return (T) local.get();
+            }
+            metrics.miss();
+            return (T) loadOnce(key, valueLoader, true);
+        }
+        if (cached != null) {
+            metrics.hit();
+            remember(key, cached.get());
+            maybeRefreshAhead(key, valueLoader);
+            return (T) cached.get();
+        }
+        metrics.miss();
+        return (T) loadOnce(key, valueLoader, false);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        metrics.put();
+        remember(key, value);
+        guard.run(getName(), "put", () -> delegate.put(key, value));
+        refreshAfter.put(key, System.currentTimeMillis() + refreshAfterLoad.toMillis());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = guard.call(getName(), "putIfAbsent", () -> delegate.putIfAbsent(key, value), () -> null);
+        if (existing == null) {
+            metrics.put();
+            remember(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        metrics.evict();
+        generation.incrementAndGet();
+        refreshAfter.remove(key);
+        localCopies.remove(key);
+        if (!guard.run(getName(), "evict", () -> delegate.evict(key))) {
+            failedEvictions.add(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        metrics.evict();
+        generation.incrementAndGet();
+        refreshAfter.remove(key);
+        boolean hadLocal = localCopies.remove(key) != null;
+        Boolean evicted = guard.call(getName(), "evict", () -> delegate.evictIfPresent(key), () -> null);
+        if (evicted == null) {
+            failedEvictions.add(key);
+            return hadLocal;
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        metrics.clear();
+        generation.incrementAndGet();
+        refreshAfter.clear();
+        localCopies.clear();
+        if (!guard.run(getName(), "clear", delegate::clear)) {
+            failedClear = true;
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        metrics.clear();
+        generation.incrementAndGet();
+        refreshAfter.clear();
+        localCopies.clear();
+        Boolean invalidated = guard.call(getName(), "clear", delegate::invalidate, () -> null);
+        if (invalidated == null) {
+            failedClear = true;
+            return false;
+        }
+        return invalidated;
+    }
+
+    /**
+     * GUARDED REDIS READ: the entry, null on a miss, UNAVAILABLE if Redis was not reached
+     */
+    private ValueWrapper redisGet(Object key) {
+        retryFailedEvictions();
+        return guard.call(getName(), "get", () -> delegate.get(key), () -> UNAVAILABLE);
+    }
+
+    /**
+     * Re-sends evictions that failed while Redis was unavailable, so stale
+     * entries written before the outage do not outlive it
+     */
+    private void retryFailedEvictions() {
+        if (!guard.isHealthy() || (!failedClear && failedEvictions.isEmpty())) {
+            return;
+        }
+        if (failedClear) {
+            if (guard.run(getName(), "clear", delegate::clear)) {
+                failedClear = false;
+                failedEvictions.clear();
+            }
+            return;
+        }
+        for (Object key : failedEvictions) {
+            if (!guard.run(getName(), "evict", () -> delegate.evict(key))) {
+                return;
+            }
+            failedEvictions.remove(key);
+        }
+    }
+
+    private void remember(Object key, Object value) {
+        if (value == null || (localCopies.size() >= localMaxEntries && !localCopies.containsKey(key))) {
+            return;
+        }
+        localCopies.put(key, new LocalCopy(value, System.currentTimeMillis()));
+    }
+
+    private ValueWrapper localValue(Object key) {
+        LocalCopy copy = localCopies.get(key);
+        if (copy == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - copy.storedAt() > localMaxStaleMillis) {
+            localCopies.remove(key, copy);
+            return null;
+        }
+        return new SimpleValueWrapper(copy.value());
+    }
+
+    /**
+     * MISS PATH: one loader per key, everyone else waits for it
+     *
+     * @param redisUnavailable load under the guard's DB fallback limit
+     */
+    private Object loadOnce(Object key, Callable<?> valueLoader, boolean redisUnavailable) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing, key, valueLoader);
+        }
+
+        try {
+            // The previous leader may have filled the entry between our miss and our claim
+            ValueWrapper cached = redisUnavailable ? null : redisGet(key);
+            if (cached == UNAVAILABLE) {
+                cached = null;
+                redisUnavailable = true;
+            }
+            Object value;
+            if (cached != null) {
+                value = cached.get();
+            } else {
+                value = timedLoad(valueLoader, redisUnavailable);
+            }
+            if (cached == null && value != null) {
+                put(key, value);
+            }
+            mine.complete(value);
+            return value;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * HIT PATH: start one background reload if the entry is close to expiry
+     * The loader is the caller's own (not yet invoked) method invocation,
+     * so it is run exactly once, on the refresh thread.
+     */
+    private void maybeRefreshAhead(Object key, Callable<?> valueLoader) {
+        Long after = refreshAfter.get(key);
+        if (after == null || System.currentTimeMillis() < after) {
+            return;
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return;
+        }
+        refreshAfter.remove(key);
+        long startGeneration = generation.get();
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object value = valueLoader.call();
+                    if (value != null && generation.get() == startGeneration) {
+                        put(key, value);
+                    }
+                    metrics.refresh();
+                    mine.complete(value);
+                    log.debug("Refreshed cache entry {}::{} ahead of expiry", getName(), key);
+                } catch (Exception e) {
+                    log.warn("Refresh-ahead failed for {}::{}: {}", getName(), key, e.getMessage());
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh queue full - the entry will just expire and be reloaded on a miss
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+    }
+
+    private Object timedLoad(Callable<?> valueLoader, boolean redisUnavailable) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object value = redisUnavailable ? guard.loadFromDatabase(valueLoader) : valueLoader.call();
+            success = true;
+            return value;
+        } finally {
+            metrics.load(start, success);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future, Object key, Callable<?> valueLoader) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private record LocalCopy(Object value, long storedAt) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.fooddelivery.restaurant.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * COALESCING CACHE MANAGER
+ *
+ * Wraps every cache of the underlying (Redis) CacheManager in a
+ * CoalescingCache and owns the small thread pool used for refresh-ahead.
+ * All caches share one RedisGuard, so the Redis concurrency limit and
+ * health state are per instance, not per cache.
+ * Each cache gets its own CacheMetrics (hit / miss / load / eviction meters).
+ */
+public class CoalescingCacheManager implements CacheManager, DisposableBean {
+
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 1000;
+
+    private final CacheManager delegate;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final RedisGuard guard;
+    private final int localMaxEntries;
+    private final Duration localMaxStale;
+    private final MeterRegistry meterRegistry;
+    private final Duration statsLogInterval;
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public CoalescingCacheManager(CacheManager delegate, Duration ttl, Duration refreshAhead,
+                                  RedisGuard guard, int localMaxEntries, Duration localMaxStale,
+                                  MeterRegistry meterRegistry, Duration statsLogInterval) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.guard = guard;
+        this.localMaxEntries = localMaxEntries;
+        this.localMaxStale = localMaxStale;
+        this.meterRegistry = meterRegistry;
+        this.statsLogInterval = statsLogInterval;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new CoalescingCache(target, ttl, refreshAhead, refreshExecutor,
+                guard, localMaxEntries, localMaxStale, new CacheMetrics(name, meterRegistry, statsLogInterval)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
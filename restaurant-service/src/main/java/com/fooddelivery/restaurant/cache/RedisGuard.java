@@ -0,0 +1,189 @@
+package com.fooddelivery.restaurant.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * REDIS GUARD - Bulkhead and health gate in front of Redis
+ *
+ * Redis is shared by every request thread; when it slows down, unguarded
+ * callers all block on it and the service falls over. Every cache call
+ * goes through here instead:
+ *
+ * 1. BULKHEAD: at most maxConcurrent Redis calls in flight. A caller waits
+ *    up to acquireTimeout for a permit, then skips Redis.
+ * 2. TIMEOUT: each command is bounded by the client command timeout
+ *    (spring.data.redis.timeout); a timeout counts as a failure.
+ * 3. HEALTH GATE: after failureThreshold consecutive failures Redis is not
+ *    called at all for openDuration, then the next call probes it again.
+ * 4. DB FALLBACK BULKHEAD: while Redis is skipped, cache misses load from
+ *    MySQL under their own, smaller limit, so a Redis outage does not turn
+ *    into a MySQL stampede. Callers that cannot get a permit in time get
+ *    CacheUnavailableException (HTTP 503).
+ *
+ * Metrics (Micrometer, /actuator/metrics):
+ * - cache.redis.permit.wait   time spent waiting for a Redis permit
+ * - cache.redis.calls         Redis call latency, tags cache / operation / outcome
+ * - cache.redis.skipped       calls that did not reach Redis, tags cache / reason
+ * - cache.db.permit.wait      time spent waiting for a DB fallback permit
+ * - cache.redis.healthy       1 while Redis is being called, 0 while skipped
+ */
+@Slf4j
+public class RedisGuard {
+
+    private final Semaphore redisPermits;
+    private final Semaphore dbPermits;
+    private final long acquireTimeoutMillis;
+    private final long dbAcquireTimeoutMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final MeterRegistry meterRegistry;
+    private final Timer redisPermitWait;
+    private final Timer dbPermitWait;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long skipUntil;
+
+    public RedisGuard(int maxConcurrent, Duration acquireTimeout, int failureThreshold, Duration openDuration,
+                      int dbMaxConcurrent, Duration dbAcquireTimeout, MeterRegistry meterRegistry) {
+        this.redisPermits = new Semaphore(maxConcurrent);
+        this.dbPermits = new Semaphore(dbMaxConcurrent);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.dbAcquireTimeoutMillis = dbAcquireTimeout.toMillis();
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.meterRegistry = meterRegistry;
+        this.redisPermitWait = Timer.builder("cache.redis.permit.wait")
+                .description("Time spent waiting for a Redis call permit")
+                .register(meterRegistry);
+        this.dbPermitWait = Timer.builder("cache.db.permit.wait")
+                .description("Time spent waiting for a DB fallback permit while Redis is unavailable")
+                .register(meterRegistry);
+        meterRegistry.gauge("cache.redis.healthy", this, guard -> guard.isHealthy() ? 1 : 0);
+    }
+
+    /**
+     * CALL REDIS, or return fallback if Redis is skipped, saturated or failing
+     */
+    public <T> T call(String cacheName, String operation, Supplier<T> redisCall, Supplier<T> fallback) {
+        if (!isHealthy()) {
+            skipped(cacheName, "unhealthy");
+            return fallback.get();
+        }
+        if (!acquire(redisPermits, acquireTimeoutMillis, redisPermitWait)) {
+            skipped(cacheName, "saturated");
+            return fallback.get();
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = redisCall.get();
+            consecutiveFailures.set(0);
+            record(cacheName, operation, "success", start);
+            return result;
+        } catch (RuntimeException e) {
+            record(cacheName, operation, "error", start);
+            onFailure(cacheName, operation, e);
+            skipped(cacheName, "error");
+            return fallback.get();
+        } finally {
+            redisPermits.release();
+        }
+    }
+
+    /**
+     * RUN A REDIS WRITE
+     *
+     * @return false if the write did not reach Redis
+     */
+    public boolean run(String cacheName, String operation, Runnable redisCall) {
+        return call(cacheName, operation, () -> {
+            redisCall.run();
+            return Boolean.TRUE;
+        }, () -> Boolean.FALSE);
+    }
+
+    /**
+     * LOAD FROM THE DATABASE WHILE REDIS IS UNAVAILABLE (bounded concurrency)
+     */
+    public <T> T loadFromDatabase(Callable<T> loader) throws Exception {
+        acquireDatabasePermit();
+        try {
+            return loader.call();
+        } finally {
+            releaseDatabasePermit();
+        }
+    }
+
+    /**
+     * For callers that load outside a Callable; must be paired with releaseDatabasePermit()
+     */
+    public void acquireDatabasePermit() {
+        if (!acquire(dbPermits, dbAcquireTimeoutMillis, dbPermitWait)) {
+            throw new CacheUnavailableException("Cache is unavailable and database fallback capacity is exhausted, please retry");
+        }
+    }
+
+    public void releaseDatabasePermit() {
+        dbPermits.release();
+    }
+
+    /**
+     * False while Redis is being skipped after repeated failures
+     */
+    public boolean isHealthy() {
+        return System.currentTimeMillis() >= skipUntil;
+    }
+
+    private boolean acquire(Semaphore permits, long timeoutMillis, Timer waitTimer) {
+        long start = System.nanoTime();
+        try {
+            return permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void onFailure(String cacheName, String operation, RuntimeException e) {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= failureThreshold) {
+            boolean wasHealthy = isHealthy();
+            skipUntil = System.currentTimeMillis() + openMillis;
+            if (wasHealthy) {
+                log.error("Redis failed {} times in a row (last: {} on {}: {}), skipping it for {} ms",
+                        failures, operation, cacheName, e.getMessage(), openMillis);
+            }
+        } else {
+            log.warn("Redis {} on {} failed: {}", operation, cacheName, e.getMessage());
+        }
+    }
+
+    private void record(String cacheName, String operation, String outcome, long startNanos) {
+        Timer.builder("cache.redis.calls")
+                .tag("cache", cacheName)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void skipped(String cacheName, String reason) {
+        Counter.builder("cache.redis.skipped")
+                .tag("cache", cacheName)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,112 @@
+package com.fooddelivery.restaurant.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * RESTAURANT ACCESS TRACKER - Which restaurants are hot?
+ *
+ * Counts restaurant page / menu reads in memory and periodically adds them
+ * to an hourly Redis sorted set ("restaurant-access:{epochHour}", kept 25 hours).
+ * Because the counts live in Redis they survive restarts and are shared by
+ * every instance, so a freshly deployed instance knows what to warm up.
+ *
+ * Counts are approximate: a read racing with a flush may be dropped.
+ * Redis calls go through RedisGuard like every cache call; counts that
+ * could not be flushed are kept for the next flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantAccessTracker {
+
+    private static final String KEY_PREFIX = "restaurant-access:";
+    private static final String UNION_KEY = KEY_PREFIX + "last-24h";
+    private static final int HOURS_TRACKED = 24;
+    private static final Duration BUCKET_TTL = Duration.ofHours(HOURS_TRACKED + 1);
+    private static final String GUARD_NAME = "restaurant-access";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard guard;
+
+    private final Map<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public void recordAccess(Long restaurantId) {
+        counts.computeIfAbsent(restaurantId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * PUSH LOCAL COUNTS TO REDIS (one pipelined round trip)
+     */
+    @Scheduled(fixedDelayString = "${restaurant.warmup.access-flush-interval-ms:60000}")
+    public void flush() {
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> batch = new ArrayList<>();
+        for (Long restaurantId : new ArrayList<>(counts.keySet())) {
+            LongAdder adder = counts.remove(restaurantId);
+            if (adder != null && adder.sum() > 0) {
+                batch.add(Map.entry(restaurantId, adder.sum()));
+            }
+        }
+
+        String key = KEY_PREFIX + currentHour();
+        boolean flushed = guard.run(GUARD_NAME, "flush", () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                batch.forEach(entry ->
+                        operations.opsForZSet().incrementScore(key, entry.getKey().toString(), entry.getValue()));
+                operations.expire(key, BUCKET_TTL.getSeconds(), TimeUnit.SECONDS);
+                return null;
+            }
+        }));
+        if (!flushed) {
+            log.warn("Could not flush access counts of {} restaurants to Redis, keeping them for the next flush", batch.size());
+            batch.forEach(entry -> counts.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(entry.getValue()));
+        }
+    }
+
+    /**
+     * MOST ACCESSED RESTAURANTS OVER THE LAST 24 HOURS
+     */
+    public List<Long> topRestaurantIds(int limit) {
+        long hour = currentHour();
+        List<String> buckets = new ArrayList<>();
+        for (int i = 1; i < HOURS_TRACKED; i++) {
+            buckets.add(KEY_PREFIX + (hour - i));
+        }
+
+        return guard.call(GUARD_NAME, "top", () -> {
+            redisTemplate.opsForZSet().unionAndStore(KEY_PREFIX + hour, buckets, UNION_KEY);
+            redisTemplate.expire(UNION_KEY, Duration.ofMinutes(5));
+            Set<String> top = redisTemplate.opsForZSet().reverseRange(UNION_KEY, 0, limit - 1);
+            return top == null ? List.<Long>of() : top.stream().map(Long::valueOf).collect(Collectors.toList());
+        }, () -> {
+            log.warn("Could not read restaurant access ranking from Redis, nothing to warm up by popularity");
+            return List.of();
+        });
+    }
+
+    private long currentHour() {
+        return System.currentTimeMillis() / TimeUnit.HOURS.toMillis(1);
+    }
+}
@@ -0,0 +1,190 @@
+package com.fooddelivery.restaurant.catalog;
+
+import com.fooddelivery.restaurant.dto.CuisineFacetDTO;
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * CUISINE CATALOG INDEX - In-memory cuisine facets and top-rated leaderboards
+ *
+ * Keeps every active restaurant in a ranked set per cuisine (plus one
+ * global set), ordered by rating desc, then total ratings desc, then id.
+ * - Facet count of a cuisine = size of its set
+ * - Top-K of a cuisine        = first K entries of its set
+ * - Browse by cuisine         = the whole set, already ranked
+ *
+ * A bounded top-K heap cannot take back an entry whose rating drops or
+ * that is deactivated, so the full ranked set is kept; reading the top K
+ * is still O(K).
+ *
+ * Kept current the same way as RestaurantGeoIndex: loaded once at startup,
+ * then updated from RestaurantChangedEvent after each commit.
+ * Cuisines are matched case-insensitively, like the MySQL column collation.
+ * Reads are lock-free; writes are synchronized.
+ */
+@Component
+@Slf4j
+public class CuisineCatalogIndex {
+
+    private static final Comparator<Ranked> RANKING = Comparator
+            .comparingDouble(Ranked::rating).reversed()
+            .thenComparing(Comparator.comparingInt(Ranked::totalRatings).reversed())
+            .thenComparingLong(Ranked::id);
+
+    private final Map<Long, Ranked> entries = new ConcurrentHashMap<>();
+    private final Map<String, CuisineSet> byCuisine = new ConcurrentHashMap<>();
+    private final NavigableSet<Ranked> overall = new ConcurrentSkipListSet<>(RANKING);
+
+    private volatile boolean loaded;
+
+    /**
+     * KEEP INDEX IN SYNC WITH RESTAURANT WRITES
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.getChangeType() == RestaurantChangeType.DELETED) {
+            remove(event.getRestaurantId());
+        } else if (event.getRestaurant() != null) {
+            upsert(event.getRestaurant());
+        }
+    }
+
+    /**
+     * INITIAL LOAD (replaces whatever is indexed)
+     */
+    public synchronized void load(List<RestaurantDTO> restaurants) {
+        entries.clear();
+        byCuisine.clear();
+        overall.clear();
+        restaurants.forEach(this::upsert);
+        loaded = true;
+    }
+
+    /**
+     * ADD, RE-RANK OR MOVE A RESTAURANT
+     * Inactive restaurants are not indexed.
+     */
+    public synchronized void upsert(RestaurantDTO restaurant) {
+        Long id = restaurant.getId();
+        if (id == null) {
+            return;
+        }
+        remove(id);
+        if (!Boolean.TRUE.equals(restaurant.getIsActive())) {
+            return;
+        }
+
+        Ranked ranked = new Ranked(id,
+                restaurant.getRating() != null ? restaurant.getRating() : 0.0,
+                restaurant.getTotalRatings() != null ? restaurant.getTotalRatings() : 0,
+                cuisineKey(restaurant.getCuisine()),
+                restaurant);
+        entries.put(id, ranked);
+        overall.add(ranked);
+        if (ranked.cuisine() != null) {
+            byCuisine.computeIfAbsent(ranked.cuisine(),
+                    key -> new CuisineSet(restaurant.getCuisine().trim(), new ConcurrentSkipListSet<>(RANKING)))
+                    .ranked().add(ranked);
+        }
+    }
+
+    /**
+     * REMOVE A RESTAURANT
+     */
+    public synchronized void remove(Long restaurantId) {
+        Ranked previous = entries.remove(restaurantId);
+        if (previous == null) {
+            return;
+        }
+        overall.remove(previous);
+        if (previous.cuisine() != null) {
+            byCuisine.computeIfPresent(previous.cuisine(), (key, set) -> {
+                set.ranked().remove(previous);
+                return set.ranked().isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * CUISINE FACETS: active restaurant count per cuisine, largest first
+     */
+    public List<CuisineFacetDTO> facets() {
+        List<CuisineFacetDTO> facets = new ArrayList<>();
+        byCuisine.forEach((key, set) -> {
+            // One size() read: a concurrent remove may empty the set at any point
+            int count = set.ranked().size();
+            if (count > 0) {
+                facets.add(new CuisineFacetDTO(set.label(), count));
+            }
+        });
+        facets.sort(Comparator.comparingInt(CuisineFacetDTO::getRestaurantCount).reversed()
+                .thenComparing(CuisineFacetDTO::getCuisine));
+        return facets;
+    }
+
+    /**
+     * TOP-K RESTAURANTS, overall or for one cuisine
+     *
+     * @param cuisine optional cuisine (case-insensitive), null for all cuisines
+     */
+    public List<RestaurantDTO> top(String cuisine, int limit) {
+        CuisineSet set = cuisine == null ? null : byCuisine.get(cuisineKey(cuisine));
+        NavigableSet<Ranked> ranked = cuisine == null ? overall : set != null ? set.ranked() : null;
+        if (ranked == null) {
+            return List.of();
+        }
+        List<RestaurantDTO> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Ranked entry : ranked) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(entry.restaurant());
+        }
+        return top;
+    }
+
+    /**
+     * ALL ACTIVE RESTAURANTS OF A CUISINE, ranked
+     */
+    public List<RestaurantDTO> restaurantsOf(String cuisine) {
+        return top(cuisine, Integer.MAX_VALUE);
+    }
+
+    /**
+     * True once the startup load has run; until then callers should use MySQL
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String cuisineKey(String cuisine) {
+        return cuisine == null || cuisine.isBlank() ? null : cuisine.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Ranked(long id, double rating, int totalRatings, String cuisine, RestaurantDTO restaurant) {
+    }
+
+    /**
+     * Ranked restaurants of one cuisine; label = the cuisine as first written
+     * (facets show "Italian", not the lower-cased key)
+     */
+    private record CuisineSet(String label, NavigableSet<Ranked> ranked) {
+    }
+}
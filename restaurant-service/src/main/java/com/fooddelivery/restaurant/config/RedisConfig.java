@@ -1,16 +1,22 @@
 package com.fooddelivery.restaurant.config;
 
+import com.fooddelivery.restaurant.cache.CoalescingCacheManager;
+import com.fooddelivery.restaurant.cache.RedisGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * REDIS CONFIGURATION
@@ -26,6 +32,16 @@ import java.time.Duration;
  * 1. First request: Data fetched from MySQL, stored in Redis
  * 2. Subsequent requests: Data fetched directly from Redis (much faster!)
  * 3. Cache expires after TTL (Time To Live) or when data is updated
+ *
+ * Stampede protection:
+ * - TTLs are jittered (ttl + random 0..jitter) so entries loaded together don't expire together
+ * - CoalescingCacheManager lets only one loader run per key on a miss (@Cacheable(sync = true))
+ *   and refreshes hot entries shortly before they expire
+ *
+ * Redis slowdowns:
+ * - Every command is bounded by spring.data.redis.timeout
+ * - RedisGuard caps concurrent Redis calls and skips Redis after repeated failures;
+ *   meanwhile reads use the local copy or MySQL under a separate limit
  */
 @Configuration
 public class RedisConfig {
@@ -46,21 +62,51 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Bulkhead / health gate shared by all Redis cache calls
+     */
+    @Bean
+    public RedisGuard redisGuard(MeterRegistry meterRegistry,
+                                 @Value("${restaurant.cache.redis.max-concurrent:32}") int maxConcurrent,
+                                 @Value("${restaurant.cache.redis.acquire-timeout:50ms}") Duration acquireTimeout,
+                                 @Value("${restaurant.cache.redis.failure-threshold:5}") int failureThreshold,
+                                 @Value("${restaurant.cache.redis.open-duration:5s}") Duration openDuration,
+                                 @Value("${restaurant.cache.db-fallback.max-concurrent:8}") int dbMaxConcurrent,
+                                 @Value("${restaurant.cache.db-fallback.acquire-timeout:500ms}") Duration dbAcquireTimeout) {
+        return new RedisGuard(maxConcurrent, acquireTimeout, failureThreshold, openDuration,
+                dbMaxConcurrent, dbAcquireTimeout, meterRegistry);
+    }
+
     /**
      * Configure Cache Manager with TTL and serialization
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     RedisGuard redisGuard,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${restaurant.cache.ttl:10m}") Duration ttl,
+                                     @Value("${restaurant.cache.ttl-jitter:2m}") Duration ttlJitter,
+                                     @Value("${restaurant.cache.refresh-ahead:1m}") Duration refreshAhead,
+                                     @Value("${restaurant.cache.local-max-entries:1000}") int localMaxEntries,
+                                     @Value("${restaurant.cache.local-max-stale:30m}") Duration localMaxStale,
+                                     @Value("${restaurant.cache.stats-log-interval:1m}") Duration statsLogInterval) {
+        RedisCacheWriter.TtlFunction jitteredTtl = (key, value) ->
+                ttl.plusMillis(ThreadLocalRandom.current().nextLong(ttlJitter.toMillis() + 1));
+
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))  // Cache expires after 10 minutes
+                .entryTtl(jitteredTtl)  // Cache expires after 10 minutes + up to 2 minutes jitter
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
                 .disableCachingNullValues();  // Don't cache null values
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new CoalescingCacheManager(redisCacheManager, ttl, refreshAhead,
+                redisGuard, localMaxEntries, localMaxStale, meterRegistry, statsLogInterval);
     }
 }
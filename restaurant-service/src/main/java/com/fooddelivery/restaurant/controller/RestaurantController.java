@@ -1,15 +1,39 @@
 package com.fooddelivery.restaurant.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.cache.CacheUnavailableException;
+import com.fooddelivery.restaurant.cache.RestaurantAccessTracker;
+import com.fooddelivery.restaurant.dto.AutocompleteSuggestionDTO;
+import com.fooddelivery.restaurant.dto.CompiledScheduleDTO;
+import com.fooddelivery.restaurant.dto.CuisineFacetDTO;
+import com.fooddelivery.restaurant.dto.CursorPageDTO;
+import com.fooddelivery.restaurant.dto.MenuImportResultDTO;
 import com.fooddelivery.restaurant.dto.MenuItemDTO;
+import com.fooddelivery.restaurant.dto.NearbyRestaurantDTO;
+import com.fooddelivery.restaurant.dto.OpenStatusDTO;
+import com.fooddelivery.restaurant.dto.OpeningScheduleDTO;
 import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.dto.RestaurantPageDTO;
 import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.service.MenuAvailabilityService;
+import com.fooddelivery.restaurant.service.AutocompleteService;
+import com.fooddelivery.restaurant.service.MenuImportService;
+import com.fooddelivery.restaurant.service.OpeningHoursService;
+import com.fooddelivery.restaurant.service.RestaurantPageService;
+import com.fooddelivery.restaurant.service.RestaurantRatingAggregator;
 import com.fooddelivery.restaurant.service.RestaurantService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -41,7 +65,20 @@ public class RestaurantController {
 
 
     private final RestaurantService restaurantService;
+    private final MenuImportService menuImportService;
+    private final MenuAvailabilityService availabilityService;
+    private final RestaurantRatingAggregator ratingAggregator;
+    private final RestaurantAccessTracker accessTracker;
+    private final RestaurantPageService restaurantPageService;
+    private final OpeningHoursService openingHoursService;
+    private final ObjectMapper objectMapper;
 
+    private static final double MAX_NEARBY_RADIUS_KM = 50.0;
+    private static final int MAX_NEARBY_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_IDS = 100;
+    private static final int MAX_TOP_RESULTS = 100;
+    private static final int MAX_PREFIX_LENGTH = 50;
 
     /**
      * CREATE NEW RESTAURANT
@@ -77,10 +114,44 @@ public class RestaurantController {
      */
     @GetMapping("/restaurants/{id}")
     public ResponseEntity<RestaurantDTO> getRestaurantById(@PathVariable Long id) {
+        accessTracker.recordAccess(id);
         RestaurantDTO restaurant = restaurantService.getRestaurantById(id);
         return ResponseEntity.ok(restaurant);
     }
 
+    /**
+     * GET RESTAURANT PAGE (restaurant + menu by category + rating summary)
+     * <p>
+     * Endpoint: GET /restaurants/{id}/page
+     * Response: RestaurantPageDTO - one precomputed, cached payload for the restaurant screen
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/1/page
+     */
+    @GetMapping("/restaurants/{id}/page")
+    public ResponseEntity<RestaurantPageDTO> getRestaurantPage(@PathVariable Long id) {
+        accessTracker.recordAccess(id);
+        RestaurantPageDTO page = restaurantPageService.getRestaurantPage(id);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * GET RESTAURANTS BY IDS (batch lookup for other services)
+     * <p>
+     * Endpoint: GET /restaurants/batch?ids=1,2,3
+     * Query Parameter: ids (comma separated, max 100)
+     * Response: Restaurants found, in request order (unknown ids are skipped)
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/batch?ids=4,8,15
+     */
+    @GetMapping("/restaurants/batch")
+    public ResponseEntity<List<RestaurantDTO>> getRestaurantsByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_IDS + " ids are required");
+        }
+        List<RestaurantDTO> restaurants = restaurantService.getRestaurantsByIds(ids);
+        return ResponseEntity.ok(restaurants);
+    }
+
     /**
      * GET ALL RESTAURANTS
      * <p>
@@ -95,6 +166,37 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurants);
     }
 
+    /**
+     * GET RESTAURANTS PAGE (keyset pagination)
+     * <p>
+     * Endpoint: GET /restaurants/page?after=0&size=20
+     * Query Parameters: after (last ID of previous page, default 0), size (default 20, max 100)
+     * Response: { items, nextCursor, hasMore }
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/page?after=40&size=20
+     */
+    @GetMapping("/restaurants/page")
+    public ResponseEntity<CursorPageDTO<RestaurantDTO>> getRestaurantsPage(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDTO<RestaurantDTO> page = restaurantService.getRestaurantsPage(after, capPageSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * EXPORT ALL RESTAURANTS (partner integrations)
+     * <p>
+     * Endpoint: GET /restaurants/export
+     * Response: application/x-ndjson, one restaurant JSON object per line, streamed
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/export
+     */
+    @GetMapping(value = "/restaurants/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRestaurants() {
+        StreamingResponseBody body = out -> restaurantService.streamAllRestaurants(dto -> writeLine(out, dto));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * SEARCH RESTAURANTS BY CUISINE
      * <p>
@@ -125,6 +227,147 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurants);
     }
 
+    /**
+     * GET CUISINE FACETS
+     * <p>
+     * Endpoint: GET /restaurants/facets
+     * Response: Active restaurant count per cuisine, largest first (served from memory)
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/facets
+     */
+    @GetMapping("/restaurants/facets")
+    public ResponseEntity<List<CuisineFacetDTO>> getCuisineFacets() {
+        List<CuisineFacetDTO> facets = restaurantService.getCuisineFacets();
+        return ResponseEntity.ok(facets);
+    }
+
+    /**
+     * GET TOP-RATED RESTAURANTS
+     * <p>
+     * Endpoint: GET /restaurants/top?cuisine=Italian&limit=10
+     * Query Parameters: cuisine (optional), limit (default 10, max 100)
+     * Response: Active restaurants ordered by rating, then number of ratings (served from memory)
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/top?limit=5
+     */
+    @GetMapping("/restaurants/top")
+    public ResponseEntity<List<RestaurantDTO>> getTopRestaurants(
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(defaultValue = "10") int limit) {
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_TOP_RESULTS));
+        List<RestaurantDTO> restaurants = restaurantService.getTopRestaurants(cuisine, cappedLimit);
+        return ResponseEntity.ok(restaurants);
+    }
+
+    /**
+     * AUTOCOMPLETE (search box, called on every keystroke)
+     * <p>
+     * Endpoint: GET /restaurants/autocomplete?prefix=bir&limit=10
+     * Query Parameters: prefix (matches the start of any word), limit (default 10, max 10)
+     * Response: Restaurant, cuisine and dish names, most popular first (served from memory)
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/autocomplete?prefix=pan
+     */
+    @GetMapping("/restaurants/autocomplete")
+    public ResponseEntity<List<AutocompleteSuggestionDTO>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank() || prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Prefix must be between 1 and " + MAX_PREFIX_LENGTH + " characters");
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, AutocompleteService.MAX_SUGGESTIONS));
+        List<AutocompleteSuggestionDTO> suggestions = restaurantService.autocomplete(prefix, cappedLimit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    /**
+     * FIND RESTAURANTS NEAR ME
+     * <p>
+     * Endpoint: GET /restaurants/nearby?lat=17.385&lng=78.486&radius=5&cuisine=Italian&openNow=true
+     * Query Parameters: lat, lng, radius (km, default 5, max 50), cuisine (optional), limit (default 20),
+     *                   openNow (optional, only restaurants open at this minute)
+     * Response: Active restaurants within radius, ranked by distance and rating
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/nearby?lat=17.385&lng=78.486&radius=3
+     */
+    @GetMapping("/restaurants/nearby")
+    public ResponseEntity<List<NearbyRestaurantDTO>> getNearbyRestaurants(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radius,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean openNow) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("Invalid coordinates: lat must be in [-90, 90], lng in [-180, 180]");
+        }
+        if (radius <= 0 || radius > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_NEARBY_RESULTS));
+        List<NearbyRestaurantDTO> restaurants =
+                restaurantService.findNearbyRestaurants(lat, lng, radius, cuisine, cappedLimit, openNow);
+        return ResponseEntity.ok(restaurants);
+    }
+
+    /**
+     * GET OPENING SCHEDULE
+     * <p>
+     * Endpoint: GET /restaurants/{id}/schedule
+     * Response: Weekly opening hours and upcoming holiday overrides
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/1/schedule
+     */
+    @GetMapping("/restaurants/{id}/schedule")
+    public ResponseEntity<OpeningScheduleDTO> getSchedule(@PathVariable Long id) {
+        OpeningScheduleDTO schedule = openingHoursService.getSchedule(id);
+        return ResponseEntity.ok(schedule);
+    }
+
+    /**
+     * REPLACE OPENING SCHEDULE
+     * <p>
+     * Endpoint: PUT /restaurants/{id}/schedule
+     * Request Body: {"weeklyHours": [{"dayOfWeek": "MONDAY", "opensAt": "11:00", "closesAt": "23:00"}],
+     *                "holidays": [{"date": "2024-12-25", "closed": true}]}
+     * Response: The stored schedule
+     * <p>
+     * Example: PUT http://localhost:8081/restaurants/1/schedule
+     */
+    @PutMapping("/restaurants/{id}/schedule")
+    public ResponseEntity<OpeningScheduleDTO> replaceSchedule(@PathVariable Long id,
+                                                              @Valid @RequestBody OpeningScheduleDTO schedule) {
+        OpeningScheduleDTO saved = openingHoursService.replaceSchedule(id, schedule);
+        return ResponseEntity.ok(saved);
+    }
+
+    /**
+     * GET COMPILED SCHEDULE (minute-of-week bitmaps)
+     * <p>
+     * Endpoint: GET /restaurants/{id}/schedule/compiled
+     * Response: Bitmaps other services cache to answer "open now?" locally
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/1/schedule/compiled
+     */
+    @GetMapping("/restaurants/{id}/schedule/compiled")
+    public ResponseEntity<CompiledScheduleDTO> getCompiledSchedule(@PathVariable Long id) {
+        CompiledScheduleDTO schedule = openingHoursService.getCompiledSchedule(id);
+        return ResponseEntity.ok(schedule);
+    }
+
+    /**
+     * IS RESTAURANT OPEN NOW
+     * <p>
+     * Endpoint: GET /restaurants/{id}/open
+     * Response: {"restaurantId": 1, "open": true} (restaurants without a schedule are always open)
+     * <p>
+     * Example: GET http://localhost:8081/restaurants/1/open
+     */
+    @GetMapping("/restaurants/{id}/open")
+    public ResponseEntity<OpenStatusDTO> isOpenNow(@PathVariable Long id) {
+        return ResponseEntity.ok(new OpenStatusDTO(id, openingHoursService.isOpenNow(id)));
+    }
+
     /**
      * UPDATE RESTAURANT
      * <p>
@@ -185,6 +428,37 @@ public class RestaurantController {
         return new ResponseEntity<>(createdMenuItem, HttpStatus.CREATED);
     }
 
+    /**
+     * BULK IMPORT MENU ITEMS
+     * <p>
+     * Endpoint: POST /restaurants/{restaurantId}/menu/bulk
+     * Request Body: JSON array of MenuItemDTO, or text/csv with a header row
+     * Response: { restaurantId, received, imported }
+     * <p>
+     * Dishes are upserted by name, so re-running an import updates prices
+     * instead of creating duplicates.
+     * <p>
+     * Example: POST http://localhost:8081/restaurants/1/menu/bulk  (Content-Type: text/csv)
+     * name,description,price,category,isVegetarian
+     * Margherita Pizza,Classic pizza,299.99,Main Course,true
+     * Garlic Bread,,99,Appetizer,true
+     */
+    @PostMapping(value = "/restaurants/{restaurantId}/menu/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MenuImportResultDTO> importMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestBody List<MenuItemDTO> menuItems) {
+        MenuImportResultDTO result = menuImportService.importMenuItems(restaurantId, menuItems);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/restaurants/{restaurantId}/menu/bulk", consumes = "text/csv")
+    public ResponseEntity<MenuImportResultDTO> importMenuItemsCsv(
+            @PathVariable Long restaurantId,
+            @RequestBody String csv) {
+        MenuImportResultDTO result = menuImportService.importMenuItemsCsv(restaurantId, csv);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
     /**
      * GET MENU ITEMS FOR RESTAURANT
      * <p>
@@ -196,23 +470,44 @@ public class RestaurantController {
      */
     @GetMapping("/restaurants/{restaurantId}/menu")
     public ResponseEntity<List<MenuItemDTO>> getMenuItems(@PathVariable Long restaurantId) {
+        accessTracker.recordAccess(restaurantId);
         List<MenuItemDTO> menuItems = restaurantService.getMenuItems(restaurantId);
         return ResponseEntity.ok(menuItems);
     }
 
+    /**
+     * MARK MENU ITEM AVAILABLE / SOLD OUT
+     * <p>
+     * Endpoint: PUT /restaurants/{restaurantId}/menu/{menuItemId}/availability?available=false
+     * Response: 200 OK
+     * <p>
+     * Visible in GET /restaurants/{restaurantId}/menu immediately; written to MySQL in the background.
+     * <p>
+     * Example: PUT http://localhost:8081/restaurants/1/menu/7/availability?available=false
+     */
+    @PutMapping("/restaurants/{restaurantId}/menu/{menuItemId}/availability")
+    public ResponseEntity<Void> updateMenuItemAvailability(
+            @PathVariable Long restaurantId,
+            @PathVariable Long menuItemId,
+            @RequestParam boolean available) {
+        availabilityService.setAvailability(restaurantId, menuItemId, available);
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * UPDATE RESTAURANT RATING
      * Internal endpoint called by Rating Service
      * <p>
      * Endpoint: PUT /restaurants/{restaurantId}/rating
-     * Request Parameter: rating value
+     * Request Parameter: rating value (1 to 5)
+     * Response: 202 ACCEPTED - rating is buffered and applied on the next flush
      */
     @PutMapping("/restaurants/{restaurantId}/rating")
     public ResponseEntity<Void> updateRating(
             @PathVariable Long restaurantId,
             @RequestParam Double rating) {
-        restaurantService.updateRating(restaurantId, rating);
-        return ResponseEntity.ok().build();
+        ratingAggregator.record(restaurantId, rating);
+        return ResponseEntity.accepted().build();
     }
 
     /**
@@ -230,6 +525,45 @@ public class RestaurantController {
         return ResponseEntity.ok(menuItems);
     }
 
+    /**
+     * GET MENU ITEMS PAGE (keyset pagination)
+     * <p>
+     * Endpoint: GET /restaurants/menu/page?after=0&size=20
+     * Response: { items, nextCursor, hasMore }
+     */
+    @GetMapping("/restaurants/menu/page")
+    public ResponseEntity<CursorPageDTO<MenuItemDTO>> getMenuItemsPage(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDTO<MenuItemDTO> page = restaurantService.getMenuItemsPage(after, capPageSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * EXPORT ALL MENU ITEMS (partner integrations)
+     * <p>
+     * Endpoint: GET /restaurants/menu/export
+     * Response: application/x-ndjson, one menu item JSON object per line, streamed
+     */
+    @GetMapping(value = "/restaurants/menu/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMenuItems() {
+        StreamingResponseBody body = out -> restaurantService.streamAllMenuItems(dto -> writeLine(out, dto));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private int capPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * GLOBAL EXCEPTION HANDLER
      * Catches all RuntimeExceptions and returns appropriate HTTP response
@@ -239,4 +573,28 @@ public class RestaurantController {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Unique key violated (e.g. a dish name the restaurant already has) → 409 CONFLICT
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleConflict(DataIntegrityViolationException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Redis unavailable and DB fallback saturated → 503 SERVICE UNAVAILABLE (client should retry)
+     */
+    @ExceptionHandler(CacheUnavailableException.class)
+    public ResponseEntity<String> handleCacheUnavailable(CacheUnavailableException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Invalid query parameters (e.g. out-of-range coordinates) → 400 BAD REQUEST
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
 }
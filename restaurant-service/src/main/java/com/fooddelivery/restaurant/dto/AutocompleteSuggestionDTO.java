@@ -0,0 +1,23 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AUTOCOMPLETE SUGGESTION DTO
+ *
+ * Result row of GET /restaurants/autocomplete.
+ * type: RESTAURANT (restaurantId set), CUISINE or DISH
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestionDTO {
+
+    private String text;
+
+    private String type;
+
+    private Long restaurantId;
+}
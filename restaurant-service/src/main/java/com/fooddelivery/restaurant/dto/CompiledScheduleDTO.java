@@ -0,0 +1,32 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * COMPILED SCHEDULE DTO
+ *
+ * Wire form of a compiled opening schedule, for services that answer
+ * "open now?" locally (order-service caches it per restaurant).
+ *
+ * weekBitmap: Base64 of 158 little-endian longs; bit n = minute n of the
+ *             week, counted from Monday 00:00 in timeZone
+ * dayBitmaps: ISO date -> Base64 of 23 longs (bit n = minute n of that day);
+ *             a date present here replaces the weekly bits for that date
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompiledScheduleDTO {
+
+    private Long restaurantId;
+
+    private String timeZone;
+
+    private String weekBitmap;
+
+    private Map<String, String> dayBitmaps;
+}
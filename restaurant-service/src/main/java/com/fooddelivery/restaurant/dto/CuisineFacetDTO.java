@@ -0,0 +1,21 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CUISINE FACET DTO
+ *
+ * Result row of GET /restaurants/facets: a cuisine and how many
+ * active restaurants serve it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CuisineFacetDTO {
+
+    private String cuisine;
+
+    private Integer restaurantCount;
+}
@@ -0,0 +1,28 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * CURSOR PAGE DTO - One page of a keyset-paginated listing
+ *
+ * Keyset (cursor) pagination: the client sends the last id it has seen
+ * ("after") instead of an offset, so every page is a cheap
+ * "WHERE id > ? ORDER BY id LIMIT ?" index range scan.
+ *
+ * nextCursor: value to pass as "after" for the next page (null on the last page)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    private Long nextCursor;
+
+    private Boolean hasMore;
+}
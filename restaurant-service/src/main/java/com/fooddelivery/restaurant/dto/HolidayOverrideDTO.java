@@ -0,0 +1,30 @@
+package com.fooddelivery.restaurant.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * HOLIDAY OVERRIDE DTO
+ *
+ * Replaces the weekly hours for one date.
+ * closed = true: closed all day; otherwise open opensAt - closesAt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayOverrideDTO {
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    private Boolean closed = true;
+
+    private LocalTime opensAt;
+
+    private LocalTime closesAt;
+}
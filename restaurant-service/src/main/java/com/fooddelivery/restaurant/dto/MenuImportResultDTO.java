@@ -0,0 +1,25 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MENU IMPORT RESULT DTO
+ *
+ * Returned by the bulk menu import endpoint.
+ *
+ * received: rows in the request
+ * imported: distinct dishes inserted or updated (duplicate names in one request collapse to the last row)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportResultDTO {
+
+    private Long restaurantId;
+
+    private Integer received;
+
+    private Integer imported;
+}
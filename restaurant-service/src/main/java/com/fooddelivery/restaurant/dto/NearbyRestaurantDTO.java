@@ -0,0 +1,21 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * NEARBY RESTAURANT DTO
+ *
+ * Result row of GET /restaurants/nearby: the restaurant plus its
+ * distance (in km) from the requested point.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyRestaurantDTO {
+
+    private RestaurantDTO restaurant;
+
+    private Double distanceKm;
+}
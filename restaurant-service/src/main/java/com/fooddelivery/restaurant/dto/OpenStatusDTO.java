@@ -0,0 +1,20 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OPEN STATUS DTO
+ *
+ * Result of GET /restaurants/{id}/open.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenStatusDTO {
+
+    private Long restaurantId;
+
+    private Boolean open;
+}
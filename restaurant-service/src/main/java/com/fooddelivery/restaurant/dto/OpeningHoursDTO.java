@@ -0,0 +1,30 @@
+package com.fooddelivery.restaurant.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * OPENING HOURS DTO
+ *
+ * One weekly slot, e.g. {"dayOfWeek": "FRIDAY", "opensAt": "18:00", "closesAt": "02:00"}.
+ * closesAt <= opensAt means the slot ends on the next day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningHoursDTO {
+
+    @NotNull(message = "Day of week is required")
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "Opening time is required")
+    private LocalTime opensAt;
+
+    @NotNull(message = "Closing time is required")
+    private LocalTime closesAt;
+}
@@ -0,0 +1,27 @@
+package com.fooddelivery.restaurant.dto;
+
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OPENING SCHEDULE DTO
+ *
+ * A restaurant's weekly hours plus its upcoming holiday overrides.
+ * Used by GET / PUT /restaurants/{id}/schedule.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningScheduleDTO {
+
+    @Valid
+    private List<OpeningHoursDTO> weeklyHours = new ArrayList<>();
+
+    @Valid
+    private List<HolidayOverrideDTO> holidays = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RATING SUMMARY DTO
+ *
+ * Aggregate rating shown on the restaurant page
+ * (same running sum / count Rating Service feeds through PUT /restaurants/{id}/rating).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryDTO {
+
+    private Double averageRating;
+
+    private Integer totalRatings;
+}
@@ -0,0 +1,31 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RESTAURANT PAGE DTO - Everything the restaurant screen needs in one payload
+ *
+ * Precomputed and cached by RestaurantPageService; replaces the separate
+ * restaurant, menu and rating-stats calls the app used to make.
+ *
+ * menuByCategory: every menu item grouped by category (sold-out items included, isAvailable = false)
+ * builtAt: epoch millis of the last (partial) rebuild
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantPageDTO {
+
+    private RestaurantDTO restaurant;
+
+    private Map<String, List<MenuItemDTO>> menuByCategory;
+
+    private RatingSummaryDTO ratingSummary;
+
+    private Long builtAt;
+}
@@ -0,0 +1,31 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * SLOW QUERY DTO
+ *
+ * One row of GET /actuator/slowqueries: a repository method and its
+ * invocations that took longer than the slow-query threshold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+
+    private String query;          // e.g. "RestaurantRepository.findByCuisine"
+
+    private Long slowCount;
+
+    private Long maxMillis;
+
+    private Long avgMillis;
+
+    private Long maxRows;          // null if the method's result has no row count (e.g. streams)
+
+    private Instant lastSeen;
+}
@@ -0,0 +1,42 @@
+package com.fooddelivery.restaurant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * HOLIDAY OVERRIDE ENTITY
+ *
+ * Replaces a restaurant's weekly hours for one calendar date:
+ * either closed all day, or open opensAt - closesAt (until midnight at most).
+ * Maps to 'restaurant_holiday_overrides' table in database.
+ */
+@Entity
+@Table(name = "restaurant_holiday_overrides",
+        uniqueConstraints = @UniqueConstraint(name = "uk_holiday_restaurant_date", columnNames = {"restaurant_id", "date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Boolean closed = true;
+
+    private LocalTime opensAt;
+
+    private LocalTime closesAt;
+}
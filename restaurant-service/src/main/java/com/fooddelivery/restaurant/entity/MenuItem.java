@@ -14,9 +14,11 @@ import java.io.Serializable;
  * Maps to 'menu_items' table in database.
  * 
  * Relationship: Many menu items belong to one restaurant
+ * Natural key: (restaurant_id, name) - used by bulk import upserts
  */
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items",
+        uniqueConstraints = @UniqueConstraint(name = "uk_menu_item_restaurant_name", columnNames = {"restaurant_id", "name"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,43 @@
+package com.fooddelivery.restaurant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * OPENING HOURS ENTITY
+ *
+ * One weekly opening slot of a restaurant, e.g. MONDAY 11:00 - 15:00.
+ * Maps to 'restaurant_opening_hours' table in database.
+ *
+ * A day may have several slots (lunch and dinner).
+ * closesAt <= opensAt means the slot runs past midnight into the next day.
+ */
+@Entity
+@Table(name = "restaurant_opening_hours", indexes = @Index(name = "idx_opening_hours_restaurant", columnList = "restaurant_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningHours {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime opensAt;
+
+    @Column(nullable = false)
+    private LocalTime closesAt;
+}
@@ -44,6 +44,10 @@ public class  Restaurant implements Serializable {
     @Column(nullable = false)
     private String address;
 
+    private Double latitude;   // Used by the nearby-restaurants geo index
+
+    private Double longitude;
+
     private String phone;
 
     private String email;
@@ -51,10 +55,12 @@ public class  Restaurant implements Serializable {
     @Column(nullable = false)
     private Boolean isActive = true;
 
-    private Double rating = 0.0;  // Average rating
+    private Double rating = 0.0;  // Average rating (materialized for rating queries)
 
     private Integer totalRatings = 0;
 
+    private Double ratingSum = 0.0;  // Running sum of all ratings; average = ratingSum / totalRatings
+
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -0,0 +1,21 @@
+package com.fooddelivery.restaurant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MENU AVAILABILITY CHANGED EVENT - In-process Spring application event
+ *
+ * Published by MenuAvailabilityService on every sold-out / available toggle,
+ * so precomputed views (the restaurant page document) can drop stale copies.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuAvailabilityChangedEvent {
+
+    private Long restaurantId;
+    private Long menuItemId;
+    private Boolean available;
+}
@@ -0,0 +1,23 @@
+package com.fooddelivery.restaurant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * MENU ITEMS IMPORTED EVENT - In-process Spring application event
+ *
+ * Published by MenuImportService with the ids of existing dishes whose
+ * availability the import wrote explicitly; MenuAvailabilityService drops
+ * their sold-out overrides once the import has committed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemsImportedEvent {
+
+    private Long restaurantId;
+    private Set<Long> menuItemIds;
+}
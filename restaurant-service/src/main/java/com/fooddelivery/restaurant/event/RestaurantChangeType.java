@@ -0,0 +1,15 @@
+package com.fooddelivery.restaurant.event;
+
+/**
+ * RESTAURANT CHANGE TYPE
+ *
+ * What kind of write produced a {@link RestaurantChangedEvent}.
+ */
+public enum RestaurantChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    MENU_CHANGED,
+    RATING_CHANGED,
+    SCHEDULE_CHANGED
+}
@@ -0,0 +1,33 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RESTAURANT CHANGED EVENT - In-process Spring application event
+ *
+ * Published by RestaurantService after every restaurant or menu write.
+ * In-memory structures (geo index, ...) listen to it to stay current
+ * without RestaurantService having to know about each of them.
+ *
+ * restaurant: snapshot after the write (null for DELETED, MENU_CHANGED and SCHEDULE_CHANGED)
+ * remote: the write happened on another instance (replayed from
+ *         "restaurant-events" by RestaurantEventConsumer); only in-memory
+ *         state should follow, shared state (MySQL, Redis, Kafka) already has
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantChangedEvent {
+
+    private Long restaurantId;
+    private RestaurantChangeType changeType;
+    private RestaurantDTO restaurant;
+    private boolean remote;
+
+    public RestaurantChangedEvent(Long restaurantId, RestaurantChangeType changeType, RestaurantDTO restaurant) {
+        this(restaurantId, changeType, restaurant, false);
+    }
+}
@@ -0,0 +1,52 @@
+package com.fooddelivery.restaurant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * RESTAURANT EVENT - Published to Kafka ("restaurant-events")
+ *
+ * Compact change notification for services that keep their own copy of
+ * restaurant data (order validation caches, search indexes, ...), so they
+ * can stay current by subscription instead of calling restaurant-service
+ * on every request.
+ *
+ * Keyed by restaurant id, so all events of one restaurant arrive in order.
+ *
+ * Only the fields consumers filter on are carried; anything else is
+ * fetched once from GET /restaurants/{id} when needed.
+ *
+ * eventType: RESTAURANT_CREATED, RESTAURANT_UPDATED, RESTAURANT_DELETED,
+ *            MENU_CHANGED, RATING_CHANGED, SCHEDULE_CHANGED,
+ *            MENU_ITEM_AVAILABILITY_CHANGED
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantEvent {
+
+    private Long restaurantId;
+    private String eventType;
+
+    // Snapshot fields (set for RESTAURANT_CREATED, RESTAURANT_UPDATED and RATING_CHANGED)
+    private String name;
+    private String cuisine;
+    private Boolean isActive;
+    private Double rating;
+    private Integer totalRatings;
+
+    // Set for MENU_ITEM_AVAILABILITY_CHANGED
+    private Long menuItemId;
+    private Boolean available;
+
+    private LocalDateTime timestamp;
+
+    public RestaurantEvent(Long restaurantId, String eventType) {
+        this.restaurantId = restaurantId;
+        this.eventType = eventType;
+        this.timestamp = LocalDateTime.now();
+    }
+}
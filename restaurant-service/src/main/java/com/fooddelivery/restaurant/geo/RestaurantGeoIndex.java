@@ -0,0 +1,198 @@
+package com.fooddelivery.restaurant.geo;
+
+import com.fooddelivery.restaurant.dto.NearbyRestaurantDTO;
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * RESTAURANT GEO INDEX - In-memory grid index for "restaurants near me"
+ *
+ * The world is cut into square cells of cell-size-degrees (0.05° ≈ 5.5 km).
+ * Every restaurant with coordinates lives in exactly one cell, so a nearby
+ * query only looks at the handful of cells overlapping the search circle
+ * instead of the whole catalogue.
+ *
+ * How it stays current:
+ * 1. RestaurantService loads every restaurant once at startup
+ * 2. Create / update / delete / rating writes publish a RestaurantChangedEvent
+ * 3. This index applies the event after the transaction commits
+ *
+ * Reads are lock-free; writes are synchronized (restaurant writes are rare).
+ */
+@Component
+@Slf4j
+public class RestaurantGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    // Restaurants within the same 500 m band are ordered by rating
+    private static final double RANKING_BAND_KM = 0.5;
+
+    private static final Comparator<NearbyRestaurantDTO> RANKING = Comparator
+            .comparingLong((NearbyRestaurantDTO hit) -> (long) (hit.getDistanceKm() / RANKING_BAND_KM))
+            .thenComparing(hit -> ratingOf(hit.getRestaurant()), Comparator.reverseOrder())
+            .thenComparingDouble(NearbyRestaurantDTO::getDistanceKm);
+
+    private final double cellSizeDegrees;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    public RestaurantGeoIndex(@Value("${restaurant.geo.cell-size-degrees:0.05}") double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    /**
+     * KEEP INDEX IN SYNC WITH RESTAURANT WRITES
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.getChangeType() == RestaurantChangeType.DELETED) {
+            remove(event.getRestaurantId());
+        } else if (event.getRestaurant() != null) {
+            upsert(event.getRestaurant());
+        }
+    }
+
+    /**
+     * ADD OR MOVE A RESTAURANT
+     * Restaurants without coordinates are not indexed.
+     */
+    public synchronized void upsert(RestaurantDTO restaurant) {
+        Long id = restaurant.getId();
+        if (id == null) {
+            return;
+        }
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            remove(id);
+            return;
+        }
+
+        long cell = cellKey(cellIndex(restaurant.getLatitude()), cellIndex(restaurant.getLongitude()));
+        Entry previous = entries.put(id, new Entry(restaurant, cell));
+        if (previous != null && previous.cell() != cell) {
+            removeFromCell(previous.cell(), id);
+        }
+        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    /**
+     * REMOVE A RESTAURANT
+     */
+    public synchronized void remove(Long restaurantId) {
+        Entry previous = entries.remove(restaurantId);
+        if (previous != null) {
+            removeFromCell(previous.cell(), restaurantId);
+        }
+    }
+
+    /**
+     * FIND ACTIVE RESTAURANTS WITHIN radiusKm OF (latitude, longitude)
+     *
+     * Ranked by distance band first, then rating, then exact distance.
+     *
+     * @param cuisine optional cuisine filter (case-insensitive), null for all
+     */
+    public List<NearbyRestaurantDTO> findNearby(double latitude, double longitude, double radiusKm,
+                                                String cuisine, int limit) {
+        return findNearby(latitude, longitude, radiusKm, cuisine, limit, restaurant -> true);
+    }
+
+    /**
+     * Same as above, keeping only restaurants accepted by filter (e.g. "open now")
+     */
+    public List<NearbyRestaurantDTO> findNearby(double latitude, double longitude, double radiusKm,
+                                                String cuisine, int limit, Predicate<RestaurantDTO> filter) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lngDelta = Math.min(radiusKm / (KM_PER_DEGREE * cosLat), 180.0);
+
+        int minLat = cellIndex(Math.max(latitude - latDelta, -90.0));
+        int maxLat = cellIndex(Math.min(latitude + latDelta, 90.0));
+        int minLng = cellIndex(Math.max(longitude - lngDelta, -180.0));
+        int maxLng = cellIndex(Math.min(longitude + lngDelta, 180.0));
+
+        List<NearbyRestaurantDTO> hits = new ArrayList<>();
+        for (int latIdx = minLat; latIdx <= maxLat; latIdx++) {
+            for (int lngIdx = minLng; lngIdx <= maxLng; lngIdx++) {
+                Set<Long> ids = cells.get(cellKey(latIdx, lngIdx));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Entry entry = entries.get(id);
+                    if (entry == null || !matches(entry.restaurant(), cuisine) || !filter.test(entry.restaurant())) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude,
+                            entry.restaurant().getLatitude(), entry.restaurant().getLongitude());
+                    if (distance <= radiusKm) {
+                        hits.add(new NearbyRestaurantDTO(entry.restaurant(), Math.round(distance * 100.0) / 100.0));
+                    }
+                }
+            }
+        }
+
+        hits.sort(RANKING);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * HAVERSINE DISTANCE in kilometres
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private boolean matches(RestaurantDTO restaurant, String cuisine) {
+        if (!Boolean.TRUE.equals(restaurant.getIsActive())) {
+            return false;
+        }
+        return cuisine == null || cuisine.equalsIgnoreCase(restaurant.getCuisine());
+    }
+
+    private void removeFromCell(long cell, Long restaurantId) {
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(restaurantId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    private static double ratingOf(RestaurantDTO restaurant) {
+        return restaurant.getRating() != null ? restaurant.getRating() : 0.0;
+    }
+
+    private record Entry(RestaurantDTO restaurant, long cell) {
+    }
+}
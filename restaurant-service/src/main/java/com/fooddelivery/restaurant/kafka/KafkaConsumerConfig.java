@@ -0,0 +1,82 @@
+package com.fooddelivery.restaurant.kafka;
+
+import com.fooddelivery.restaurant.event.RestaurantEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * KAFKA CONSUMER CONFIGURATION - Restaurant Service
+ *
+ * Reads this service's own "restaurant-events" back, so every instance
+ * sees writes made on the others (see RestaurantEventConsumer).
+ *
+ * 1. GROUP PER INSTANCE - a random group id per start, so each instance
+ *    receives every event instead of sharing partitions with its peers
+ * 2. NO OFFSET COMMITS - auto-commit is off and the container acks
+ *    manually (the listener never does), so the throwaway groups leave no
+ *    committed offsets behind and the broker drops them once empty; where
+ *    to start is decided by RestaurantEventConsumer on every start anyway
+ * 3. NO TYPE HEADERS - the producer sends none; values are read as
+ *    RestaurantEvent
+ * 4. POISON RECORDS - the JSON deserializer is wrapped in
+ *    ErrorHandlingDeserializer, so a record that cannot be read is logged
+ *    and skipped by the error handler instead of failing every poll
+ * 5. ONE THREAD - writes are infrequent, and one thread keeps each
+ *    restaurant's events in order
+ */
+@Configuration
+@EnableKafka
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${restaurant.index-sync.enabled:true}")
+    private boolean indexSyncEnabled;
+
+    @Bean
+    public ConsumerFactory<String, RestaurantEvent> restaurantEventConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "restaurant-service-index-" + UUID.randomUUID());
+        // Where to start is decided by RestaurantEventConsumer (seeks back to startup)
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        JsonDeserializer<RestaurantEvent> deserializer = new JsonDeserializer<>(RestaurantEvent.class, false);
+        deserializer.addTrustedPackages("*");
+
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(deserializer));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, RestaurantEvent> restaurantEventListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, RestaurantEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(restaurantEventConsumerFactory());
+        factory.setConcurrency(1);
+        // MANUAL without an Acknowledgment parameter: the container never commits
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler();
+        errorHandler.setAckAfterHandle(false);
+        factory.setCommonErrorHandler(errorHandler);
+        factory.setAutoStartup(indexSyncEnabled);
+        return factory;
+    }
+}
@@ -0,0 +1,91 @@
+package com.fooddelivery.restaurant.kafka;
+
+import com.fooddelivery.restaurant.event.RestaurantEvent;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * KAFKA PRODUCER CONFIGURATION - Restaurant Service
+ *
+ * Sets up the producer that publishes RestaurantEvents to "restaurant-events".
+ *
+ * Same settings as the order-service producer, plus:
+ * 1. max.block.ms - events are sent from request threads after the write
+ *    commits; if the broker is unreachable, send() gives up quickly
+ *    instead of blocking the request for the default 60 seconds
+ * 2. No type headers - consumers in other services deserialize into
+ *    their own class, not com.fooddelivery.restaurant.event.RestaurantEvent
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${restaurant.events.max-block-ms:1000}")
+    private long maxBlockMillis;
+
+    /**
+     * PRODUCER CONFIGURATION PROPERTIES
+     */
+    @Bean
+    public Map<String, Object> producerConfigs() {
+        Map<String, Object> props = new HashMap<>();
+
+        // Kafka server address
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+
+        // Serializers for key and value
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+
+        // Wait for all replicas to acknowledge (most reliable)
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        // Number of retries on failure
+        props.put(ProducerConfig.RETRIES_CONFIG, 3);
+
+        // Batch size for better performance
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
+
+        // Wait time before sending batch
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+
+        // Buffer memory for producer
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+
+        // Longest a send() may block waiting for metadata or buffer space
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMillis);
+
+        return props;
+    }
+
+    /**
+     * PRODUCER FACTORY
+     */
+    @Bean
+    public ProducerFactory<String, RestaurantEvent> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    /**
+     * KAFKA TEMPLATE
+     *
+     * Used by RestaurantEventProducer to publish events.
+     */
+    @Bean
+    public KafkaTemplate<String, RestaurantEvent> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+}
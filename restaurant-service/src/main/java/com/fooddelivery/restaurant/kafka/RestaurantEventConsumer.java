@@ -0,0 +1,97 @@
+package com.fooddelivery.restaurant.kafka;
+
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantEvent;
+import com.fooddelivery.restaurant.service.RestaurantService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * KAFKA CONSUMER - Keeps in-memory indexes in sync across instances
+ *
+ * Geo index, cuisine catalog, opening schedules and autocomplete live in
+ * each instance's memory, loaded from MySQL at startup and then updated
+ * from in-process RestaurantChangedEvents. Those only cover writes made
+ * on the same instance, so:
+ * 1. Every instance consumes "restaurant-events" in its own consumer group
+ * 2. Each event re-reads the restaurant and republishes the change
+ *    in-process, marked remote (RestaurantService.applyRemoteChange)
+ * 3. The instance's own events come back too; re-applying them is a
+ *    harmless re-read
+ *
+ * Startup gap: partitions are assigned some time after the indexes are
+ * loaded, so on first assignment the consumer seeks back to just before
+ * this instance started (replay-margin) instead of starting at "latest".
+ *
+ * MENU_ITEM_AVAILABILITY_CHANGED is skipped: sold-out flags live in Redis,
+ * which all instances share.
+ */
+@Service
+@Slf4j
+public class RestaurantEventConsumer extends AbstractConsumerSeekAware {
+
+    private final RestaurantService restaurantService;
+    private final long replayFromMillis;
+    private final Set<TopicPartition> seen = new HashSet<>();
+
+    public RestaurantEventConsumer(RestaurantService restaurantService,
+                                   @Value("${restaurant.index-sync.replay-margin:1m}") Duration replayMargin) {
+        this.restaurantService = restaurantService;
+        this.replayFromMillis = System.currentTimeMillis() - replayMargin.toMillis();
+    }
+
+    @KafkaListener(
+            topics = "restaurant-events",
+            containerFactory = "restaurantEventListenerContainerFactory"
+    )
+    public void consumeRestaurantEvent(RestaurantEvent event) {
+        RestaurantChangeType changeType = changeTypeOf(event.getEventType());
+        if (changeType == null || event.getRestaurantId() == null) {
+            return;
+        }
+        try {
+            restaurantService.applyRemoteChange(event.getRestaurantId(), changeType);
+        } catch (Exception e) {
+            log.error("Could not apply {} for restaurant {} to in-memory indexes: {}",
+                    event.getEventType(), event.getRestaurantId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void onPartitionsAssigned(Map<TopicPartition, Long> assignments,
+                                                  ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+        List<TopicPartition> firstTime = assignments.keySet().stream()
+                .filter(seen::add)
+                .collect(Collectors.toList());
+        if (!firstTime.isEmpty()) {
+            callback.seekToTimestamp(firstTime, replayFromMillis);
+        }
+    }
+
+    private static RestaurantChangeType changeTypeOf(String eventType) {
+        if (eventType == null) {
+            return null;
+        }
+        return switch (eventType) {
+            case "RESTAURANT_CREATED" -> RestaurantChangeType.CREATED;
+            case "RESTAURANT_UPDATED" -> RestaurantChangeType.UPDATED;
+            case "RESTAURANT_DELETED" -> RestaurantChangeType.DELETED;
+            case "MENU_CHANGED" -> RestaurantChangeType.MENU_CHANGED;
+            case "RATING_CHANGED" -> RestaurantChangeType.RATING_CHANGED;
+            case "SCHEDULE_CHANGED" -> RestaurantChangeType.SCHEDULE_CHANGED;
+            default -> null;
+        };
+    }
+}
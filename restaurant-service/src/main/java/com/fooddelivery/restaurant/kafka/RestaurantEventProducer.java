@@ -0,0 +1,98 @@
+package com.fooddelivery.restaurant.kafka;
+
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.event.MenuAvailabilityChangedEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import com.fooddelivery.restaurant.event.RestaurantEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * KAFKA PRODUCER - Publishes Restaurant Events
+ *
+ * Forwards every restaurant write to the "restaurant-events" topic:
+ * 1. RestaurantService / MenuImportService / OpeningHoursService publish an
+ *    in-process RestaurantChangedEvent
+ * 2. After the transaction commits, this class turns it into a compact
+ *    RestaurantEvent keyed by restaurant id
+ * 3. Sold-out toggles (MenuAvailabilityChangedEvent) are forwarded as
+ *    MENU_ITEM_AVAILABILITY_CHANGED
+ *
+ * Sending is asynchronous and best-effort: a Kafka outage is logged and
+ * never fails the write that triggered it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantEventProducer {
+
+    private static final String RESTAURANT_TOPIC = "restaurant-events";
+
+    private final KafkaTemplate<String, RestaurantEvent> kafkaTemplate;
+
+    /**
+     * RESTAURANT / MENU / RATING / SCHEDULE WRITES
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent change) {
+        if (change.isRemote()) {
+            return; // Already on the topic: that is where it came from
+        }
+        RestaurantEvent event = new RestaurantEvent(change.getRestaurantId(), eventTypeOf(change.getChangeType()));
+
+        RestaurantDTO snapshot = change.getRestaurant();
+        if (snapshot != null) {
+            event.setName(snapshot.getName());
+            event.setCuisine(snapshot.getCuisine());
+            event.setIsActive(snapshot.getIsActive());
+            event.setRating(snapshot.getRating());
+            event.setTotalRatings(snapshot.getTotalRatings());
+        }
+        publishRestaurantEvent(event);
+    }
+
+    /**
+     * SOLD-OUT / AVAILABLE TOGGLES
+     */
+    @EventListener
+    public void onAvailabilityChanged(MenuAvailabilityChangedEvent change) {
+        RestaurantEvent event = new RestaurantEvent(change.getRestaurantId(), "MENU_ITEM_AVAILABILITY_CHANGED");
+        event.setMenuItemId(change.getMenuItemId());
+        event.setAvailable(change.getAvailable());
+        publishRestaurantEvent(event);
+    }
+
+    /**
+     * PUBLISH RESTAURANT EVENT TO KAFKA
+     */
+    public void publishRestaurantEvent(RestaurantEvent event) {
+        log.debug("Publishing restaurant event to Kafka: {} for Restaurant ID: {}",
+                event.getEventType(), event.getRestaurantId());
+
+        try {
+            kafkaTemplate.send(RESTAURANT_TOPIC, event.getRestaurantId().toString(), event)
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.error("Failed to publish {} for Restaurant ID {}: {}",
+                                    event.getEventType(), event.getRestaurantId(), e.getMessage());
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("Error publishing event to Kafka: {}", e.getMessage());
+        }
+    }
+
+    private static String eventTypeOf(RestaurantChangeType changeType) {
+        return switch (changeType) {
+            case CREATED -> "RESTAURANT_CREATED";
+            case UPDATED -> "RESTAURANT_UPDATED";
+            case DELETED -> "RESTAURANT_DELETED";
+            default -> changeType.name();
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.fooddelivery.restaurant.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * REPOSITORY METRICS POST PROCESSOR
+ *
+ * Adds the RepositoryQueryMetrics interceptor to every Spring Data
+ * repository proxy of this service while the repositories are created,
+ * so no repository or service code has to change to be measured.
+ *
+ * RepositoryQueryMetrics is looked up lazily, when the first repository
+ * is built, so this post processor does not force the meter registry
+ * to be created early.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RepositoryQueryMetrics> queryMetrics;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<RepositoryQueryMetrics> queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(queryMetrics.getObject()
+                                    .interceptorFor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,207 @@
+package com.fooddelivery.restaurant.metrics;
+
+import com.fooddelivery.restaurant.dto.SlowQueryDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * REPOSITORY QUERY METRICS - Timers, row counts and slow-query tracking
+ *
+ * Every Spring Data repository method call in this service passes through
+ * the interceptor built here (see RepositoryMetricsPostProcessor) and is
+ * recorded as (Micrometer, /actuator/metrics):
+ * - repository.query        latency, tags repository / method / outcome (success, error)
+ * - repository.query.rows   rows returned (lists, pages, optionals, entities)
+ *                           or affected (@Modifying), tags repository / method
+ *
+ * Calls slower than slow-query-threshold are aggregated per method and
+ * exposed, slowest first, at GET /actuator/slowqueries. Each slow method
+ * is logged at most once per log interval instead of once per call.
+ *
+ * Streams are timed until the repository returns the stream; rows read
+ * from it afterwards are not counted.
+ */
+@Component
+@Slf4j
+public class RepositoryQueryMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final int topSlowQueries;
+    private final long logIntervalNanos;
+
+    private final Map<Method, QueryMeters> meters = new ConcurrentHashMap<>();
+    private final Map<String, SlowQueryStats> slowQueries = new ConcurrentHashMap<>();
+
+    public RepositoryQueryMetrics(MeterRegistry meterRegistry,
+                                  @Value("${restaurant.observability.slow-query-threshold:100ms}") Duration slowThreshold,
+                                  @Value("${restaurant.observability.slow-query-top:20}") int topSlowQueries,
+                                  @Value("${restaurant.observability.slow-query-log-interval:1m}") Duration logInterval) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.topSlowQueries = topSlowQueries;
+        this.logIntervalNanos = logInterval.toNanos();
+    }
+
+    /**
+     * INTERCEPTOR FOR ONE REPOSITORY
+     */
+    public MethodInterceptor interceptorFor(String repositoryName) {
+        return invocation -> {
+            QueryMeters queryMeters = meters.computeIfAbsent(invocation.getMethod(),
+                    method -> new QueryMeters(repositoryName, method));
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                long elapsed = System.nanoTime() - start;
+                long rows = queryMeters.rowsOf(result);
+                queryMeters.success.record(elapsed, TimeUnit.NANOSECONDS);
+                if (rows >= 0) {
+                    queryMeters.rows.record(rows);
+                }
+                recordIfSlow(queryMeters.name, elapsed, rows);
+                return result;
+            } catch (Throwable e) {
+                long elapsed = System.nanoTime() - start;
+                queryMeters.error.record(elapsed, TimeUnit.NANOSECONDS);
+                recordIfSlow(queryMeters.name, elapsed, -1);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * SLOWEST QUERIES (by worst observed latency)
+     */
+    public List<SlowQueryDTO> slowQueries() {
+        return slowQueries.entrySet().stream()
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .sorted(Comparator.comparing(SlowQueryDTO::getMaxMillis).reversed())
+                .limit(topSlowQueries)
+                .toList();
+    }
+
+    public void resetSlowQueries() {
+        slowQueries.clear();
+    }
+
+    private void recordIfSlow(String name, long elapsedNanos, long rows) {
+        if (elapsedNanos < slowThresholdNanos) {
+            return;
+        }
+        SlowQueryStats stats = slowQueries.computeIfAbsent(name, key -> new SlowQueryStats());
+        stats.record(elapsedNanos, rows);
+
+        long lastLogged = stats.lastLoggedAt.get();
+        long now = System.nanoTime();
+        if ((lastLogged == 0 || now - lastLogged >= logIntervalNanos) && stats.lastLoggedAt.compareAndSet(lastLogged, now)) {
+            log.warn("Slow query {}: {} ms{} ({} slow calls so far, worst {} ms)",
+                    name, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    rows >= 0 ? ", " + rows + " rows" : "",
+                    stats.count.sum(), TimeUnit.NANOSECONDS.toMillis(stats.maxNanos.get()));
+        }
+    }
+
+    /**
+     * Meters of one repository method, registered on its first call
+     */
+    private final class QueryMeters {
+
+        private final String name;
+        private final boolean modifying;
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary rows;
+
+        QueryMeters(String repositoryName, Method method) {
+            this.name = repositoryName + "." + method.getName();
+            this.modifying = method.isAnnotationPresent(Modifying.class);
+            this.success = timer(repositoryName, method.getName(), "success");
+            this.error = timer(repositoryName, method.getName(), "error");
+            this.rows = DistributionSummary.builder("repository.query.rows")
+                    .description("Rows returned or affected by a repository method")
+                    .tags("repository", repositoryName, "method", method.getName())
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Row count of a result, or -1 if it has none (counts, exists, streams, void)
+         */
+        long rowsOf(Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Number number) {
+                return modifying ? number.longValue() : -1;
+            }
+            if (result == null) {
+                return modifying ? -1 : 0;
+            }
+            if (result instanceof Boolean || result instanceof Iterable<?> || result instanceof AutoCloseable) {
+                return -1;
+            }
+            return 1;
+        }
+
+        private Timer timer(String repositoryName, String methodName, String outcome) {
+            return Timer.builder("repository.query")
+                    .description("Repository method latency")
+                    .tags("repository", repositoryName, "method", methodName, "outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class SlowQueryStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong(-1);
+        private final AtomicLong lastLoggedAt = new AtomicLong();
+        private volatile Instant lastSeen;
+
+        void record(long elapsedNanos, long rows) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            maxRows.accumulateAndGet(rows, Math::max);
+            lastSeen = Instant.now();
+        }
+
+        SlowQueryDTO toDTO(String query) {
+            long slowCount = Math.max(count.sum(), 1);
+            long rows = maxRows.get();
+            return new SlowQueryDTO(query, slowCount,
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / slowCount),
+                    rows >= 0 ? rows : null,
+                    lastSeen);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fooddelivery.restaurant.metrics;
+
+import com.fooddelivery.restaurant.dto.SlowQueryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * SLOW QUERIES ACTUATOR ENDPOINT
+ *
+ * GET    /actuator/slowqueries - slowest repository methods, worst first
+ * DELETE /actuator/slowqueries - start a fresh measurement window
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final RepositoryQueryMetrics queryMetrics;
+
+    @ReadOperation
+    public List<SlowQueryDTO> slowQueries() {
+        return queryMetrics.slowQueries();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryMetrics.resetSlowQueries();
+    }
+}
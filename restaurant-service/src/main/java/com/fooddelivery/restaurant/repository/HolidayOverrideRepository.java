@@ -0,0 +1,35 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.HolidayOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * HOLIDAY OVERRIDE REPOSITORY
+ *
+ * Data Access Layer for per-date opening overrides.
+ */
+@Repository
+public interface HolidayOverrideRepository extends JpaRepository<HolidayOverride, Long> {
+
+    /**
+     * Overrides that can still apply (past dates are ignored)
+     * SQL: SELECT * FROM restaurant_holiday_overrides WHERE restaurant_id = ? AND date >= ?
+     */
+    List<HolidayOverride> findByRestaurantIdAndDateGreaterThanEqual(Long restaurantId, LocalDate from);
+
+    /**
+     * SQL: SELECT * FROM restaurant_holiday_overrides WHERE date >= ?
+     */
+    List<HolidayOverride> findByDateGreaterThanEqual(LocalDate from);
+
+    /**
+     * SQL: DELETE FROM restaurant_holiday_overrides WHERE restaurant_id = ?
+     */
+    @Modifying
+    void deleteByRestaurantId(Long restaurantId);
+}
@@ -1,9 +1,18 @@
 package com.fooddelivery.restaurant.repository;
 
 import com.fooddelivery.restaurant.entity.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * MENU ITEM REPOSITORY
@@ -26,6 +35,27 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      */
     List<MenuItem> findByRestaurantIdAndIsAvailableTrue(Long restaurantId);
 
+    /**
+     * Ids of all menu items of a restaurant (membership checks for availability toggles)
+     * SQL: SELECT id FROM menu_items WHERE restaurant_id = ?
+     */
+    @Query("SELECT m.id FROM MenuItem m WHERE m.restaurant.id = :restaurantId")
+    List<Long> findIdsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    /**
+     * Dish names of a restaurant (autocomplete index)
+     * SQL: SELECT name FROM menu_items WHERE restaurant_id = ?
+     */
+    @Query("SELECT m.name FROM MenuItem m WHERE m.restaurant.id = :restaurantId")
+    List<String> findNamesByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    /**
+     * (restaurant id, dish name) of every menu item (autocomplete index startup load)
+     * SQL: SELECT restaurant_id, name FROM menu_items
+     */
+    @Query("SELECT m.restaurant.id, m.name FROM MenuItem m")
+    List<Object[]> findAllRestaurantIdsAndNames();
+
     /**
      * Find menu items by category
      * SQL: SELECT * FROM menu_items WHERE category = ?
@@ -37,4 +67,20 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * SQL: SELECT * FROM menu_items WHERE restaurant_id = ? AND is_vegetarian = true
      */
     List<MenuItem> findByRestaurantIdAndIsVegetarianTrue(Long restaurantId);
+
+    /**
+     * Keyset pagination: next page after the given id
+     * SQL: SELECT * FROM menu_items WHERE id > ? ORDER BY id LIMIT ?
+     */
+    List<MenuItem> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Stream every menu item with a server-side cursor (see RestaurantRepository.streamAll)
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM MenuItem m ORDER BY m.id")
+    Stream<MenuItem> streamAll();
 }
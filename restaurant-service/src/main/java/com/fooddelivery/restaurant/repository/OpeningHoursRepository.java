@@ -0,0 +1,28 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.OpeningHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * OPENING HOURS REPOSITORY
+ *
+ * Data Access Layer for weekly opening slots.
+ */
+@Repository
+public interface OpeningHoursRepository extends JpaRepository<OpeningHours, Long> {
+
+    /**
+     * SQL: SELECT * FROM restaurant_opening_hours WHERE restaurant_id = ?
+     */
+    List<OpeningHours> findByRestaurantId(Long restaurantId);
+
+    /**
+     * SQL: DELETE FROM restaurant_opening_hours WHERE restaurant_id = ?
+     */
+    @Modifying
+    void deleteByRestaurantId(Long restaurantId);
+}
@@ -1,9 +1,19 @@
 package com.fooddelivery.restaurant.repository;
 
 import com.fooddelivery.restaurant.entity.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * RESTAURANT REPOSITORY
@@ -51,4 +61,39 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
      * SQL Generated: SELECT * FROM restaurants WHERE rating >= ?
      */
     List<Restaurant> findByRatingGreaterThanEqual(Double rating);
+
+    /**
+     * Atomically add a batch of ratings to the running sum / count
+     * One UPDATE, no read-modify-write, so concurrent batches never lose ratings.
+     * MySQL applies SET assignments left to right, so "rating" is computed
+     * from the already-incremented sum and count. COALESCE backfills rows
+     * created before rating_sum existed.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE restaurants SET "
+            + "rating_sum = COALESCE(rating_sum, COALESCE(rating, 0) * COALESCE(total_ratings, 0)) + :ratingSum, "
+            + "total_ratings = COALESCE(total_ratings, 0) + :ratingCount, "
+            + "rating = ROUND(rating_sum / total_ratings, 1) "
+            + "WHERE id = :restaurantId", nativeQuery = true)
+    int addRatings(@Param("restaurantId") Long restaurantId,
+                   @Param("ratingSum") double ratingSum,
+                   @Param("ratingCount") long ratingCount);
+
+    /**
+     * Keyset pagination: next page after the given id
+     * SQL Generated: SELECT * FROM restaurants WHERE id > ? ORDER BY id LIMIT ?
+     */
+    List<Restaurant> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Stream every restaurant with a server-side cursor
+     * Fetch size Integer.MIN_VALUE makes MySQL Connector/J stream row by row
+     * instead of buffering the whole result set. Must run inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Restaurant r ORDER BY r.id")
+    Stream<Restaurant> streamAll();
 }
@@ -0,0 +1,121 @@
+package com.fooddelivery.restaurant.schedule;
+
+import com.fooddelivery.restaurant.dto.CompiledScheduleDTO;
+import com.fooddelivery.restaurant.dto.HolidayOverrideDTO;
+import com.fooddelivery.restaurant.dto.OpeningHoursDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * COMPILED SCHEDULE - Opening hours as minute bitmaps
+ *
+ * The week has 10,080 minutes, so a whole weekly schedule fits in 158 longs
+ * (~1.2 KB); bit n is set when the restaurant is open during minute n,
+ * counted from Monday 00:00. "Open at t?" is one array read and one mask.
+ *
+ * Holiday overrides compile to a 1,440-bit bitmap for their date; when a
+ * date has one, it replaces the weekly bits for that whole calendar day.
+ *
+ * Immutable: a schedule change compiles a new instance.
+ */
+public final class CompiledSchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private final long[] week;
+    private final Map<LocalDate, long[]> days;
+
+    private CompiledSchedule(long[] week, Map<LocalDate, long[]> days) {
+        this.week = week;
+        this.days = days;
+    }
+
+    /**
+     * COMPILE weekly slots and holiday overrides into bitmaps
+     */
+    public static CompiledSchedule compile(List<OpeningHoursDTO> weeklyHours, List<HolidayOverrideDTO> holidays) {
+        long[] week = new long[words(MINUTES_PER_WEEK)];
+        for (OpeningHoursDTO slot : weeklyHours) {
+            int start = (slot.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + minuteOf(slot.getOpensAt());
+            int length = slotLength(slot.getOpensAt(), slot.getClosesAt());
+            for (int minute = start; minute < start + length; minute++) {
+                set(week, minute % MINUTES_PER_WEEK);
+            }
+        }
+
+        Map<LocalDate, long[]> days = new HashMap<>();
+        for (HolidayOverrideDTO holiday : holidays) {
+            long[] day = new long[words(MINUTES_PER_DAY)];
+            if (!Boolean.TRUE.equals(holiday.getClosed())) {
+                int start = minuteOf(holiday.getOpensAt());
+                int end = holiday.getClosesAt().isAfter(holiday.getOpensAt())
+                        ? minuteOf(holiday.getClosesAt())
+                        : MINUTES_PER_DAY;
+                for (int minute = start; minute < end; minute++) {
+                    set(day, minute);
+                }
+            }
+            days.put(holiday.getDate(), day);
+        }
+        return new CompiledSchedule(week, days);
+    }
+
+    /**
+     * OPEN AT the given local date-time (in the schedule's time zone)?
+     */
+    public boolean isOpenAt(LocalDateTime localTime) {
+        int minuteOfDay = localTime.getHour() * 60 + localTime.getMinute();
+        long[] day = days.get(localTime.toLocalDate());
+        if (day != null) {
+            return isSet(day, minuteOfDay);
+        }
+        return isSet(week, (localTime.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + minuteOfDay);
+    }
+
+    public CompiledScheduleDTO toDTO(Long restaurantId, ZoneId zone) {
+        Map<String, String> dayBitmaps = new TreeMap<>();
+        days.forEach((date, bits) -> dayBitmaps.put(date.toString(), encode(bits)));
+        return new CompiledScheduleDTO(restaurantId, zone.getId(), encode(week), dayBitmaps);
+    }
+
+    /**
+     * Slot length in minutes; closesAt <= opensAt runs past midnight
+     */
+    private static int slotLength(LocalTime opensAt, LocalTime closesAt) {
+        int length = minuteOf(closesAt) - minuteOf(opensAt);
+        return length > 0 ? length : length + MINUTES_PER_DAY;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) / 64;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << (index & 63);
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    private static String encode(long[] bits) {
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(bits);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+}
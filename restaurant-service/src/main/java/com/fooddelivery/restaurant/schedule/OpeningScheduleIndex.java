@@ -0,0 +1,62 @@
+package com.fooddelivery.restaurant.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OPENING SCHEDULE INDEX - Compiled schedules of all restaurants, in memory
+ *
+ * Answers "open now?" in O(1) for search and order validation.
+ * Restaurants without a schedule are treated as always open, so the
+ * isActive flag stays the master switch for them.
+ *
+ * Filled and kept current by OpeningHoursService.
+ */
+@Component
+@Slf4j
+public class OpeningScheduleIndex {
+
+    private final ZoneId zone;
+    private final Map<Long, CompiledSchedule> schedules = new ConcurrentHashMap<>();
+
+    public OpeningScheduleIndex(@Value("${restaurant.schedule.time-zone:Asia/Kolkata}") String timeZone) {
+        this.zone = ZoneId.of(timeZone);
+    }
+
+    public void put(Long restaurantId, CompiledSchedule schedule) {
+        schedules.put(restaurantId, schedule);
+    }
+
+    public void remove(Long restaurantId) {
+        schedules.remove(restaurantId);
+    }
+
+    /**
+     * @return the compiled schedule, or null if the restaurant has none
+     */
+    public CompiledSchedule get(Long restaurantId) {
+        return schedules.get(restaurantId);
+    }
+
+    /**
+     * OPEN NOW? (true for restaurants without a schedule)
+     */
+    public boolean isOpenNow(Long restaurantId) {
+        CompiledSchedule schedule = schedules.get(restaurantId);
+        return schedule == null || schedule.isOpenAt(LocalDateTime.now(zone));
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public int size() {
+        return schedules.size();
+    }
+}
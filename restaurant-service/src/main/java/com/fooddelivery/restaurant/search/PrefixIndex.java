@@ -0,0 +1,262 @@
+package com.fooddelivery.restaurant.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PREFIX INDEX - Trie with precomputed top-K completions per node
+ *
+ * Every node stores the K best entries of its whole subtree, so a lookup
+ * is one walk down the prefix (O(prefix length)) plus a copy of at most K
+ * entries, independent of how many names share the prefix.
+ *
+ * Names are indexed under every word start ("Butter Chicken" is found by
+ * "but" and by "chi"). Text is lower-cased and punctuation is dropped.
+ *
+ * Writes (put / remove) are synchronized and recompute the top-K lists
+ * along the affected paths only. Reads are lock-free: node state is
+ * published through volatile, immutable arrays.
+ */
+public class PrefixIndex {
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong(Entry::weight).reversed()
+            .thenComparing(Entry::text)
+            .thenComparing(Entry::id);
+
+    private final int topK;
+    private final Node root = new Node();
+
+    // id -> indexed entry (guarded by this)
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public PrefixIndex(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * ADD OR REPLACE an entry (same id = same entry)
+     */
+    public synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            keysOf(previous.text()).forEach(key -> unlink(key, previous));
+        }
+        keysOf(entry.text()).forEach(key -> link(key, entry));
+    }
+
+    /**
+     * REMOVE an entry by id (no-op if absent)
+     */
+    public synchronized void remove(String id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            keysOf(previous.text()).forEach(key -> unlink(key, previous));
+        }
+    }
+
+    /**
+     * TOP COMPLETIONS for a prefix, best first (at most min(limit, K))
+     */
+    public List<Entry> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        Entry[] top = node.top;
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Lower-cases, turns punctuation into spaces and collapses whitespace
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * The normalized text and each of its suffixes starting at a word
+     */
+    private static List<String> keysOf(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private void link(String key, Entry entry) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path.add(node);
+        }
+        node.terminals.put(entry.id(), entry);
+        recompute(path);
+    }
+
+    private void unlink(String key, Entry entry) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path.add(node);
+        }
+        node.terminals.remove(entry.id());
+
+        // Prune nodes left without terminals or children, deepest first
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            if (!current.terminals.isEmpty() || !current.isLeaf()) {
+                break;
+            }
+            path.get(depth - 1).removeChild(key.charAt(depth - 1));
+            path.remove(depth);
+        }
+        recompute(path);
+    }
+
+    /**
+     * Rebuilds top-K bottom-up along a path: a node's best entries are the
+     * best of its own terminals and its children's top-K lists
+     */
+    private void recompute(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            Map<String, Entry> candidates = new LinkedHashMap<>(node.terminals);
+            for (Node child : node.children.nodes()) {
+                for (Entry entry : child.top) {
+                    candidates.putIfAbsent(entry.id(), entry);
+                }
+            }
+            node.top = candidates.values().stream()
+                    .sorted(RANKING)
+                    .limit(topK)
+                    .toArray(Entry[]::new);
+        }
+    }
+
+    /**
+     * One indexed name
+     *
+     * @param id      unique per entry, e.g. "restaurant:42"
+     * @param text    display text
+     * @param payload caller data returned with the completion
+     */
+    public record Entry(String id, String text, long weight, Object payload) {
+    }
+
+    /**
+     * Trie node; children are kept in sorted parallel arrays (compact,
+     * binary-searched), published together and replaced copy-on-write
+     * under the index lock
+     */
+    private static final class Node {
+
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+        private static final Children NO_CHILDREN = new Children(new char[0], new Node[0]);
+
+        volatile Children children = NO_CHILDREN;
+        volatile Entry[] top = NO_ENTRIES;
+
+        // Entries whose key ends exactly here (written under the index lock only)
+        final Map<String, Entry> terminals = new HashMap<>(2);
+
+        Node child(char label) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.labels(), label);
+            return index >= 0 ? current.nodes()[index] : null;
+        }
+
+        boolean isLeaf() {
+            return children.labels().length == 0;
+        }
+
+        Node childOrCreate(char label) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.labels(), label);
+            if (index >= 0) {
+                return current.nodes()[index];
+            }
+            int insertAt = -index - 1;
+            int size = current.labels().length;
+            Node created = new Node();
+
+            char[] labels = new char[size + 1];
+            Node[] nodes = new Node[size + 1];
+            System.arraycopy(current.labels(), 0, labels, 0, insertAt);
+            System.arraycopy(current.nodes(), 0, nodes, 0, insertAt);
+            labels[insertAt] = label;
+            nodes[insertAt] = created;
+            System.arraycopy(current.labels(), insertAt, labels, insertAt + 1, size - insertAt);
+            System.arraycopy(current.nodes(), insertAt, nodes, insertAt + 1, size - insertAt);
+
+            children = new Children(labels, nodes);
+            return created;
+        }
+
+        void removeChild(char label) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.labels(), label);
+            if (index < 0) {
+                return;
+            }
+            int size = current.labels().length;
+            char[] labels = new char[size - 1];
+            Node[] nodes = new Node[size - 1];
+            System.arraycopy(current.labels(), 0, labels, 0, index);
+            System.arraycopy(current.nodes(), 0, nodes, 0, index);
+            System.arraycopy(current.labels(), index + 1, labels, index, size - index - 1);
+            System.arraycopy(current.nodes(), index + 1, nodes, index, size - index - 1);
+
+            children = new Children(labels, nodes);
+        }
+    }
+
+    private record Children(char[] labels, Node[] nodes) {
+    }
+}
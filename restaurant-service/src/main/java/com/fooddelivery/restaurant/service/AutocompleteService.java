@@ -0,0 +1,198 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.AutocompleteSuggestionDTO;
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.search.PrefixIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * AUTOCOMPLETE SERVICE - Search-box completions from memory
+ *
+ * Replaces a LIKE scan per keystroke with a PrefixIndex lookup over:
+ * - RESTAURANT names, weighted by number of ratings
+ * - CUISINE names, weighted by number of active restaurants serving them
+ * - DISH names (MenuItem.name, merged across restaurants), weighted by
+ *   number of active restaurants serving them
+ *
+ * Loaded with the other in-memory indexes at startup, then updated from
+ * RestaurantChangedEvent: restaurant writes touch the restaurant and its
+ * cuisine, menu changes re-read only that restaurant's dish names.
+ * Inactive restaurants and their dishes are not suggested.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteService {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final String RESTAURANT = "RESTAURANT";
+    private static final String CUISINE = "CUISINE";
+    private static final String DISH = "DISH";
+
+    private final MenuItemRepository menuItemRepository;
+    private final PrefixIndex index = new PrefixIndex(MAX_SUGGESTIONS);
+
+    // Reference counts behind the merged entries (guarded by this)
+    private final Map<Long, IndexedRestaurant> restaurants = new HashMap<>();
+    private final Map<String, Counted> cuisines = new HashMap<>();
+    private final Map<String, Counted> dishes = new HashMap<>();
+
+    /**
+     * TOP COMPLETIONS FOR A PREFIX
+     */
+    public List<AutocompleteSuggestionDTO> complete(String prefix, int limit) {
+        return index.complete(prefix, limit).stream()
+                .map(entry -> (AutocompleteSuggestionDTO) entry.payload())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * INITIAL LOAD (restaurants come from RestaurantService's startup scan)
+     */
+    public synchronized void load(List<RestaurantDTO> allRestaurants) {
+        Map<Long, Set<String>> dishNames = new HashMap<>();
+        for (Object[] row : menuItemRepository.findAllRestaurantIdsAndNames()) {
+            dishNames.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        allRestaurants.forEach(restaurant ->
+                upsert(restaurant, () -> dishNames.getOrDefault(restaurant.getId(), Set.of())));
+        log.info("Autocomplete index loaded with {} entries", index.size());
+    }
+
+    /**
+     * KEEP INDEX IN SYNC WITH RESTAURANT AND MENU WRITES
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRestaurantChanged(RestaurantChangedEvent event) {
+        Long restaurantId = event.getRestaurantId();
+        if (event.getChangeType() == RestaurantChangeType.DELETED) {
+            remove(restaurantId);
+        } else if (event.getChangeType() == RestaurantChangeType.MENU_CHANGED) {
+            IndexedRestaurant indexed = restaurants.get(restaurantId);
+            if (indexed != null) {
+                replaceDishes(indexed, Set.copyOf(menuItemRepository.findNamesByRestaurantId(restaurantId)));
+            }
+        } else if (event.getRestaurant() != null) {
+            upsert(event.getRestaurant(), () -> Set.copyOf(menuItemRepository.findNamesByRestaurantId(restaurantId)));
+        }
+    }
+
+    private void upsert(RestaurantDTO restaurant, Supplier<Set<String>> dishNames) {
+        Long id = restaurant.getId();
+        if (!Boolean.TRUE.equals(restaurant.getIsActive())) {
+            remove(id);
+            return;
+        }
+
+        IndexedRestaurant indexed = restaurants.get(id);
+        if (indexed == null) {
+            indexed = new IndexedRestaurant();
+            restaurants.put(id, indexed);
+            replaceDishes(indexed, dishNames.get());
+        }
+
+        if (indexed.cuisine != null) {
+            release(cuisines, CUISINE, indexed.cuisine);
+        }
+        indexed.cuisine = restaurant.getCuisine();
+        if (indexed.cuisine != null) {
+            acquire(cuisines, CUISINE, indexed.cuisine);
+        }
+
+        long weight = restaurant.getTotalRatings() != null ? restaurant.getTotalRatings() : 0;
+        index.put(new PrefixIndex.Entry(RESTAURANT + ":" + id, restaurant.getName(), weight,
+                new AutocompleteSuggestionDTO(restaurant.getName(), RESTAURANT, id)));
+    }
+
+    private void remove(Long restaurantId) {
+        IndexedRestaurant indexed = restaurants.remove(restaurantId);
+        if (indexed == null) {
+            return;
+        }
+        index.remove(RESTAURANT + ":" + restaurantId);
+        if (indexed.cuisine != null) {
+            release(cuisines, CUISINE, indexed.cuisine);
+        }
+        replaceDishes(indexed, Set.of());
+    }
+
+    private void replaceDishes(IndexedRestaurant indexed, Set<String> names) {
+        Set<String> keys = new HashSet<>();
+        Map<String, String> byKey = new HashMap<>();
+        names.forEach(name -> {
+            String key = PrefixIndex.normalize(name);
+            if (!key.isEmpty() && keys.add(key)) {
+                byKey.put(key, name);
+            }
+        });
+
+        indexed.dishKeys.stream().filter(key -> !keys.contains(key)).forEach(key -> release(dishes, DISH, key));
+        byKey.forEach((key, name) -> {
+            if (!indexed.dishKeys.contains(key)) {
+                acquire(dishes, DISH, name);
+            }
+        });
+        indexed.dishKeys = keys;
+    }
+
+    /**
+     * One more restaurant serves this cuisine / dish
+     */
+    private void acquire(Map<String, Counted> counts, String type, String name) {
+        String key = PrefixIndex.normalize(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        Counted counted = counts.computeIfAbsent(key, k -> new Counted(name));
+        counted.count++;
+        index.put(new PrefixIndex.Entry(type + ":" + key, counted.displayName, counted.count,
+                new AutocompleteSuggestionDTO(counted.displayName, type, null)));
+    }
+
+    /**
+     * One restaurant fewer serves this cuisine / dish
+     */
+    private void release(Map<String, Counted> counts, String type, String name) {
+        String key = PrefixIndex.normalize(name);
+        Counted counted = counts.get(key);
+        if (counted == null) {
+            return;
+        }
+        if (--counted.count <= 0) {
+            counts.remove(key);
+            index.remove(type + ":" + key);
+        } else {
+            index.put(new PrefixIndex.Entry(type + ":" + key, counted.displayName, counted.count,
+                    new AutocompleteSuggestionDTO(counted.displayName, type, null)));
+        }
+    }
+
+    private static final class IndexedRestaurant {
+        String cuisine;
+        Set<String> dishKeys = Set.of();
+    }
+
+    private static final class Counted {
+        final String displayName;
+        int count;
+
+        Counted(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.cache.RedisGuard;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.event.MenuAvailabilityChangedEvent;
+import com.fooddelivery.restaurant.event.MenuItemsImportedEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MENU AVAILABILITY SERVICE - Fast "sold out" toggles
+ *
+ * During a rush restaurants flip dishes between available and sold out
+ * many times. Each flip here is:
+ * 1. One Redis HSET into the restaurant's override hash
+ *    (key "menu-availability:{restaurantId}", field = menu item id, value "1"/"0")
+ * 2. One entry in an in-memory pending-writes map (newest flip per dish wins)
+ *
+ * A scheduled task writes pending flips back to MySQL in one JDBC batch,
+ * so the database sees one UPDATE per dish per flush interval instead of
+ * one per click, and no cache is flushed.
+ *
+ * getMenuItems reads the override hash (one HGETALL) and applies it on top
+ * of the is_available column. Override keys expire after 24 hours, long
+ * after MySQL has caught up.
+ *
+ * Redis calls go through RedisGuard (bulkhead, timeout, health gate). While
+ * Redis is skipped, flips still reach MySQL through the write-back and
+ * reads see no overrides (the is_available column, at most one flush
+ * interval behind).
+ *
+ * Item ids are global IDENTITY values, so a Redis bitmap indexed by id
+ * would allocate up to maxId / 8 bytes per restaurant; a small hash
+ * (listpack-encoded by Redis) keeps each restaurant's overrides compact.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuAvailabilityService {
+
+    private static final String KEY_PREFIX = "menu-availability:";
+    private static final Duration OVERRIDE_TTL = Duration.ofHours(24);
+    private static final int BATCH_SIZE = 500;
+    private static final String UPDATE_SQL = "UPDATE menu_items SET is_available = ? WHERE id = ?";
+    private static final String GUARD_NAME = "menu-availability";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard guard;
+    private final MenuItemRepository menuItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // restaurantId -> ids of its menu items (validates toggles without a DB query per click)
+    private final Map<Long, Set<Long>> menuItemIds = new ConcurrentHashMap<>();
+
+    // menuItemId -> latest not-yet-persisted flip
+    private final Map<Long, PendingToggle> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * SET AVAILABILITY OF ONE MENU ITEM
+     */
+    public void setAvailability(Long restaurantId, Long menuItemId, boolean available) {
+        if (!menuItemIdsOf(restaurantId).contains(menuItemId)) {
+            throw new RuntimeException("Menu item " + menuItemId + " not found for restaurant " + restaurantId);
+        }
+
+        String key = key(restaurantId);
+        boolean written = guard.run(GUARD_NAME, "set", () -> {
+            redisTemplate.opsForHash().put(key, menuItemId.toString(), available ? "1" : "0");
+            redisTemplate.expire(key, OVERRIDE_TTL);
+        });
+        if (!written) {
+            // MySQL write-back below still persists the flip
+            log.warn("Could not write availability override to Redis for menu item {}", menuItemId);
+        }
+
+        pendingWrites.put(menuItemId, new PendingToggle(restaurantId, available));
+        eventPublisher.publishEvent(new MenuAvailabilityChangedEvent(restaurantId, menuItemId, available));
+        log.debug("Menu item {} of restaurant {} marked {}", menuItemId, restaurantId, available ? "available" : "sold out");
+    }
+
+    /**
+     * GET AVAILABILITY OVERRIDES FOR A RESTAURANT
+     * No overrides if Redis is skipped or unreachable.
+     */
+    public Map<Long, Boolean> getOverrides(Long restaurantId) {
+        return guard.call(GUARD_NAME, "get", () -> {
+            Map<Object, Object> raw = redisTemplate.opsForHash().entries(key(restaurantId));
+            Map<Long, Boolean> overrides = new HashMap<>();
+            raw.forEach((itemId, flag) -> overrides.put(Long.valueOf(itemId.toString()), "1".equals(flag)));
+            return overrides;
+        }, Map::of);
+    }
+
+    /**
+     * EFFECTIVE AVAILABILITY = override if present, otherwise the DB column
+     */
+    public boolean isAvailable(MenuItem menuItem, Map<Long, Boolean> overrides) {
+        Boolean override = overrides.get(menuItem.getId());
+        return override != null ? override : Boolean.TRUE.equals(menuItem.getIsAvailable());
+    }
+
+    /**
+     * DROP ALL OVERRIDES FOR A RESTAURANT
+     * Used when the restaurant is deleted.
+     */
+    public void clearOverrides(Long restaurantId) {
+        pendingWrites.values().removeIf(toggle -> toggle.restaurantId().equals(restaurantId));
+        if (!guard.run(GUARD_NAME, "clear", () -> redisTemplate.delete(key(restaurantId)))) {
+            log.warn("Could not clear availability overrides for restaurant {}", restaurantId);
+        }
+    }
+
+    /**
+     * DROP OVERRIDES OF RE-IMPORTED DISHES (after the import committed)
+     * The import wrote is_available explicitly for these dishes only.
+     */
+    @TransactionalEventListener
+    public void onMenuItemsImported(MenuItemsImportedEvent event) {
+        Long restaurantId = event.getRestaurantId();
+        for (Long menuItemId : event.getMenuItemIds()) {
+            pendingWrites.computeIfPresent(menuItemId,
+                    (id, toggle) -> toggle.restaurantId().equals(restaurantId) ? null : toggle);
+        }
+        if (!guard.run(GUARD_NAME, "clear", () -> redisTemplate.opsForHash().delete(key(restaurantId),
+                event.getMenuItemIds().stream().map(String::valueOf).toArray()))) {
+            log.warn("Could not clear availability overrides for restaurant {}", restaurantId);
+        }
+    }
+
+    /**
+     * WRITE PENDING FLIPS BACK TO MYSQL (batched)
+     */
+    @Scheduled(fixedDelayString = "${restaurant.availability.flush-interval-ms:2000}")
+    public void flushPendingWrites() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, PendingToggle>> batch = new ArrayList<>();
+        for (Long menuItemId : new ArrayList<>(pendingWrites.keySet())) {
+            PendingToggle toggle = pendingWrites.remove(menuItemId);
+            if (toggle != null) {
+                batch.add(Map.entry(menuItemId, toggle));
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, BATCH_SIZE, (ps, write) -> {
+                ps.setBoolean(1, write.getValue().available());
+                ps.setLong(2, write.getKey());
+            });
+            log.debug("Flushed {} menu availability changes to MySQL", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush {} menu availability changes, will retry: {}", batch.size(), e.getMessage());
+            // Re-queue, unless a newer flip arrived in the meantime
+            batch.forEach(write -> pendingWrites.putIfAbsent(write.getKey(), write.getValue()));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPendingWrites();
+    }
+
+    /**
+     * KEEP MEMBERSHIP CACHE CURRENT
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.getChangeType() == RestaurantChangeType.MENU_CHANGED) {
+            menuItemIds.remove(event.getRestaurantId());
+        } else if (event.getChangeType() == RestaurantChangeType.DELETED) {
+            menuItemIds.remove(event.getRestaurantId());
+            clearOverrides(event.getRestaurantId());
+        }
+    }
+
+    private Set<Long> menuItemIdsOf(Long restaurantId) {
+        return menuItemIds.computeIfAbsent(restaurantId,
+                id -> Set.copyOf(menuItemRepository.findIdsByRestaurantId(id)));
+    }
+
+    private String key(Long restaurantId) {
+        return KEY_PREFIX + restaurantId;
+    }
+
+    private record PendingToggle(Long restaurantId, boolean available) {
+    }
+}
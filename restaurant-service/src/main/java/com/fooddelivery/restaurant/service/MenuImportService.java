@@ -0,0 +1,238 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.MenuImportResultDTO;
+import com.fooddelivery.restaurant.dto.MenuItemDTO;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.event.MenuItemsImportedEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MENU IMPORT SERVICE - Bulk menu onboarding
+ *
+ * Importing a menu one dish at a time costs a restaurant lookup, an
+ * IDENTITY insert and a full cache flush per dish. This service instead:
+ * 1. Checks the restaurant exists once
+ * 2. Upserts all dishes through batched JDBC
+ *    (INSERT ... ON DUPLICATE KEY UPDATE on the (restaurant_id, name) natural key)
+ * 3. Evicts the caches once at the end
+ *
+ * Sold-out overrides (MenuAvailabilityService) of the imported dishes are
+ * dropped after commit, since the import states their availability; other
+ * dishes of the restaurant keep theirs.
+ *
+ * Accepts JSON (List of MenuItemDTO) or CSV with a header row:
+ * name,description,price,category,imageUrl,isVegetarian,isAvailable
+ * Only name and price are required.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ITEMS_PER_IMPORT = 5000;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO menu_items (restaurant_id, name, description, price, category, is_available, image_url, is_vegetarian) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE description = VALUES(description), price = VALUES(price), "
+                    + "category = VALUES(category), is_available = VALUES(is_available), "
+                    + "image_url = VALUES(image_url), is_vegetarian = VALUES(is_vegetarian)";
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MenuAvailabilityService availabilityService;
+
+    /**
+     * IMPORT MENU ITEMS (JSON)
+     */
+    @Transactional
+    @CacheEvict(value = {"restaurants", "menuitems", "menuItemPages"}, allEntries = true)
+    public MenuImportResultDTO importMenuItems(Long restaurantId, List<MenuItemDTO> items) {
+        log.info("Bulk importing {} menu items for restaurant ID: {}", items.size(), restaurantId);
+
+        if (items.isEmpty() || items.size() > MAX_ITEMS_PER_IMPORT) {
+            throw new IllegalArgumentException("A menu import must contain between 1 and " + MAX_ITEMS_PER_IMPORT + " items");
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found with ID: " + restaurantId);
+        }
+
+        // Same natural key twice in one request: last row wins
+        Map<String, MenuItemDTO> byName = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            MenuItemDTO item = items.get(i);
+            validate(item, i + 1);
+            byName.put(item.getName().trim().toLowerCase(Locale.ROOT), item);
+        }
+        List<MenuItemDTO> distinctItems = new ArrayList<>(byName.values());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, distinctItems, BATCH_SIZE, (ps, item) -> {
+            ps.setLong(1, restaurantId);
+            ps.setString(2, item.getName().trim());
+            ps.setString(3, item.getDescription());
+            ps.setDouble(4, item.getPrice());
+            ps.setString(5, item.getCategory());
+            ps.setBoolean(6, item.getIsAvailable() == null || item.getIsAvailable());
+            ps.setString(7, item.getImageUrl());
+            if (item.getIsVegetarian() != null) {
+                ps.setBoolean(8, item.getIsVegetarian());
+            } else {
+                ps.setNull(8, Types.BOOLEAN);
+            }
+        });
+
+        // The import states availability explicitly, so earlier sold-out overrides of these dishes no longer apply
+        Set<Long> overridden = importedOverrides(restaurantId, byName.keySet());
+        if (!overridden.isEmpty()) {
+            eventPublisher.publishEvent(new MenuItemsImportedEvent(restaurantId, overridden));
+        }
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, RestaurantChangeType.MENU_CHANGED, null));
+        log.info("Bulk import finished: {} distinct menu items upserted for restaurant ID: {}",
+                distinctItems.size(), restaurantId);
+
+        return new MenuImportResultDTO(restaurantId, items.size(), distinctItems.size());
+    }
+
+    /**
+     * IMPORT MENU ITEMS (CSV)
+     */
+    @Transactional
+    @CacheEvict(value = {"restaurants", "menuitems", "menuItemPages"}, allEntries = true)
+    public MenuImportResultDTO importMenuItemsCsv(Long restaurantId, String csv) {
+        return importMenuItems(restaurantId, parseCsv(csv));
+    }
+
+    /**
+     * HELPER METHOD: Ids of overridden dishes that the import wrote
+     * Only the (few) overridden dishes are read back, not the whole import.
+     */
+    private Set<Long> importedOverrides(Long restaurantId, Set<String> importedNames) {
+        Set<Long> overridden = new HashSet<>();
+        Set<Long> overriddenIds = availabilityService.getOverrides(restaurantId).keySet();
+        if (overriddenIds.isEmpty()) {
+            return overridden;
+        }
+        for (MenuItem menuItem : menuItemRepository.findAllById(overriddenIds)) {
+            if (importedNames.contains(menuItem.getName().trim().toLowerCase(Locale.ROOT))) {
+                overridden.add(menuItem.getId());
+            }
+        }
+        return overridden;
+    }
+
+    /**
+     * HELPER METHOD: Parse CSV body into MenuItemDTOs
+     * Columns are matched by header name, so their order does not matter.
+     */
+    private List<MenuItemDTO> parseCsv(String csv) {
+        String[] lines = csv.strip().split("\\r?\\n");
+        if (lines.length < 2) {
+            throw new IllegalArgumentException("CSV must contain a header row and at least one item");
+        }
+
+        List<String> header = splitCsvLine(lines[0]).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int nameCol = header.indexOf("name");
+        int priceCol = header.indexOf("price");
+        if (nameCol < 0 || priceCol < 0) {
+            throw new IllegalArgumentException("CSV header must contain 'name' and 'price' columns");
+        }
+
+        List<MenuItemDTO> items = new ArrayList<>();
+        for (int row = 1; row < lines.length; row++) {
+            if (lines[row].isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(lines[row]);
+
+            MenuItemDTO item = new MenuItemDTO();
+            item.setName(field(fields, nameCol));
+            item.setDescription(field(fields, header.indexOf("description")));
+            item.setCategory(field(fields, header.indexOf("category")));
+            item.setImageUrl(field(fields, header.indexOf("imageurl")));
+            String vegetarian = field(fields, header.indexOf("isvegetarian"));
+            item.setIsVegetarian(vegetarian != null ? Boolean.valueOf(vegetarian) : null);
+            String available = field(fields, header.indexOf("isavailable"));
+            item.setIsAvailable(available != null ? Boolean.valueOf(available) : null);
+            try {
+                String price = field(fields, priceCol);
+                item.setPrice(price != null ? Double.valueOf(price) : null);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid price on CSV line " + (row + 1));
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields ("a, b" and "" escapes)
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void validate(MenuItemDTO item, int position) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            throw new IllegalArgumentException("Menu item #" + position + ": name is required");
+        }
+        if (item.getPrice() == null || item.getPrice() <= 0) {
+            throw new IllegalArgumentException("Menu item #" + position + ": price must be greater than 0");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.CompiledScheduleDTO;
+import com.fooddelivery.restaurant.dto.HolidayOverrideDTO;
+import com.fooddelivery.restaurant.dto.OpeningHoursDTO;
+import com.fooddelivery.restaurant.dto.OpeningScheduleDTO;
+import com.fooddelivery.restaurant.entity.HolidayOverride;
+import com.fooddelivery.restaurant.entity.OpeningHours;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import com.fooddelivery.restaurant.repository.HolidayOverrideRepository;
+import com.fooddelivery.restaurant.repository.OpeningHoursRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.schedule.CompiledSchedule;
+import com.fooddelivery.restaurant.schedule.OpeningScheduleIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * OPENING HOURS SERVICE - Weekly schedules and holiday overrides
+ *
+ * Replaces the nightly manual isActive flips: a restaurant's weekly hours
+ * and holiday overrides are stored once, compiled into minute bitmaps
+ * (CompiledSchedule) and kept in OpeningScheduleIndex.
+ *
+ * Schedule writes touch no cached restaurant data; they publish
+ * RestaurantChangedEvent(SCHEDULE_CHANGED), and the index recompiles the
+ * restaurant's schedule after the transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OpeningHoursService {
+
+    private final OpeningHoursRepository openingHoursRepository;
+    private final HolidayOverrideRepository holidayOverrideRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final OpeningScheduleIndex scheduleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * GET SCHEDULE (weekly hours + holidays from today on)
+     */
+    public OpeningScheduleDTO getSchedule(Long restaurantId) {
+        log.info("Fetching opening schedule for restaurant ID: {}", restaurantId);
+
+        requireRestaurant(restaurantId);
+        return new OpeningScheduleDTO(weeklyHoursOf(restaurantId), holidaysOf(restaurantId));
+    }
+
+    /**
+     * REPLACE SCHEDULE
+     */
+    @Transactional
+    public OpeningScheduleDTO replaceSchedule(Long restaurantId, OpeningScheduleDTO schedule) {
+        if (schedule.getWeeklyHours() == null) {
+            schedule.setWeeklyHours(List.of());
+        }
+        if (schedule.getHolidays() == null) {
+            schedule.setHolidays(List.of());
+        }
+        log.info("Replacing opening schedule for restaurant ID: {} ({} weekly slots, {} holidays)",
+                restaurantId, schedule.getWeeklyHours().size(), schedule.getHolidays().size());
+
+        requireRestaurant(restaurantId);
+        validate(schedule);
+
+        openingHoursRepository.deleteByRestaurantId(restaurantId);
+        holidayOverrideRepository.deleteByRestaurantId(restaurantId);
+        // Flush the deletes first so re-inserted holidays do not hit the (restaurant_id, date) unique key
+        holidayOverrideRepository.flush();
+
+        openingHoursRepository.saveAll(schedule.getWeeklyHours().stream()
+                .map(slot -> new OpeningHours(null, restaurantId, slot.getDayOfWeek(), slot.getOpensAt(), slot.getClosesAt()))
+                .collect(Collectors.toList()));
+        holidayOverrideRepository.saveAll(schedule.getHolidays().stream()
+                .map(holiday -> new HolidayOverride(null, restaurantId, holiday.getDate(),
+                        Boolean.TRUE.equals(holiday.getClosed()), holiday.getOpensAt(), holiday.getClosesAt()))
+                .collect(Collectors.toList()));
+
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, RestaurantChangeType.SCHEDULE_CHANGED, null));
+        return schedule;
+    }
+
+    /**
+     * OPEN NOW? (O(1), served from the in-memory index)
+     */
+    public boolean isOpenNow(Long restaurantId) {
+        return scheduleIndex.isOpenNow(restaurantId);
+    }
+
+    /**
+     * GET COMPILED SCHEDULE (for callers that evaluate "open now" themselves)
+     * Bitmaps are null when the restaurant has no schedule (always open).
+     */
+    public CompiledScheduleDTO getCompiledSchedule(Long restaurantId) {
+        CompiledSchedule schedule = scheduleIndex.get(restaurantId);
+        if (schedule == null) {
+            requireRestaurant(restaurantId);
+            return new CompiledScheduleDTO(restaurantId, scheduleIndex.getZone().getId(), null, Map.of());
+        }
+        return schedule.toDTO(restaurantId, scheduleIndex.getZone());
+    }
+
+    /**
+     * RECOMPILE AFTER SCHEDULE WRITES, DROP ON RESTAURANT DELETE
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.getChangeType() == RestaurantChangeType.SCHEDULE_CHANGED) {
+            compile(event.getRestaurantId());
+        } else if (event.getChangeType() == RestaurantChangeType.DELETED) {
+            scheduleIndex.remove(event.getRestaurantId());
+        }
+    }
+
+    /**
+     * DELETE SCHEDULE ROWS together with the restaurant (same transaction)
+     */
+    @EventListener
+    @Transactional
+    public void onRestaurantDeleting(RestaurantChangedEvent event) {
+        if (event.getChangeType() == RestaurantChangeType.DELETED && !event.isRemote()) {
+            openingHoursRepository.deleteByRestaurantId(event.getRestaurantId());
+            holidayOverrideRepository.deleteByRestaurantId(event.getRestaurantId());
+        }
+    }
+
+    /**
+     * COMPILE ALL SCHEDULES ON STARTUP
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSchedules() {
+        Map<Long, List<OpeningHoursDTO>> weekly = openingHoursRepository.findAll().stream()
+                .collect(Collectors.groupingBy(OpeningHours::getRestaurantId,
+                        Collectors.mapping(this::toDTO, Collectors.toList())));
+        Map<Long, List<HolidayOverrideDTO>> holidays = holidayOverrideRepository.findByDateGreaterThanEqual(today())
+                .stream()
+                .collect(Collectors.groupingBy(HolidayOverride::getRestaurantId,
+                        Collectors.mapping(this::toDTO, Collectors.toList())));
+
+        Set<Long> restaurantIds = new HashSet<>(weekly.keySet());
+        restaurantIds.addAll(holidays.keySet());
+        restaurantIds.forEach(id -> scheduleIndex.put(id, CompiledSchedule.compile(
+                weekly.getOrDefault(id, List.of()), holidays.getOrDefault(id, List.of()))));
+        log.info("Opening schedules compiled for {} restaurants", scheduleIndex.size());
+    }
+
+    private void compile(Long restaurantId) {
+        List<OpeningHoursDTO> weeklyHours = weeklyHoursOf(restaurantId);
+        List<HolidayOverrideDTO> holidays = holidaysOf(restaurantId);
+        if (weeklyHours.isEmpty() && holidays.isEmpty()) {
+            scheduleIndex.remove(restaurantId);
+        } else {
+            scheduleIndex.put(restaurantId, CompiledSchedule.compile(weeklyHours, holidays));
+        }
+    }
+
+    private List<OpeningHoursDTO> weeklyHoursOf(Long restaurantId) {
+        return openingHoursRepository.findByRestaurantId(restaurantId).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private List<HolidayOverrideDTO> holidaysOf(Long restaurantId) {
+        return holidayOverrideRepository.findByRestaurantIdAndDateGreaterThanEqual(restaurantId, today()).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(scheduleIndex.getZone());
+    }
+
+    private void requireRestaurant(Long restaurantId) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found with ID: " + restaurantId);
+        }
+    }
+
+    private void validate(OpeningScheduleDTO schedule) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (HolidayOverrideDTO holiday : schedule.getHolidays()) {
+            if (!dates.add(holiday.getDate())) {
+                throw new IllegalArgumentException("Duplicate holiday override for " + holiday.getDate());
+            }
+            if (!Boolean.TRUE.equals(holiday.getClosed())
+                    && (holiday.getOpensAt() == null || holiday.getClosesAt() == null)) {
+                throw new IllegalArgumentException("Holiday override for " + holiday.getDate()
+                        + " must be closed or have both opensAt and closesAt");
+            }
+        }
+    }
+
+    private OpeningHoursDTO toDTO(OpeningHours slot) {
+        return new OpeningHoursDTO(slot.getDayOfWeek(), slot.getOpensAt(), slot.getClosesAt());
+    }
+
+    private HolidayOverrideDTO toDTO(HolidayOverride holiday) {
+        return new HolidayOverrideDTO(holiday.getDate(), holiday.getClosed(), holiday.getOpensAt(), holiday.getClosesAt());
+    }
+}
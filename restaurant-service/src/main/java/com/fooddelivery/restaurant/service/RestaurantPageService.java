@@ -0,0 +1,96 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.MenuItemDTO;
+import com.fooddelivery.restaurant.dto.RatingSummaryDTO;
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.dto.RestaurantPageDTO;
+import com.fooddelivery.restaurant.event.MenuAvailabilityChangedEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * RESTAURANT PAGE SERVICE - Precomputed "restaurant page" documents
+ *
+ * Opening a restaurant used to take three calls (restaurant, menu, rating
+ * stats). This service keeps one denormalized document per restaurant in
+ * the "restaurantPageDocs" cache and serves it as a single payload.
+ *
+ * Maintenance: any change to a restaurant (UPDATED, RATING_CHANGED,
+ * MENU_CHANGED, DELETED, an availability toggle) evicts its document, and
+ * the next read rebuilds it (coalesced per instance by sync = true). The
+ * document lives in shared Redis, so patching it in place would be a
+ * read-modify-write that two instances can interleave, losing one change;
+ * a single DEL cannot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantPageService {
+
+    public static final String CACHE_NAME = "restaurantPageDocs";
+
+    private static final String UNCATEGORIZED = "Other";
+
+    private final RestaurantService restaurantService;
+    private final CacheManager cacheManager;
+
+    /**
+     * GET RESTAURANT PAGE (built on first read, then maintained incrementally)
+     */
+    @Cacheable(value = CACHE_NAME, key = "#restaurantId", sync = true)
+    public RestaurantPageDTO getRestaurantPage(Long restaurantId) {
+        log.info("Building restaurant page document for restaurant ID: {}", restaurantId);
+
+        RestaurantDTO restaurant = restaurantService.getRestaurantById(restaurantId);
+        Map<String, List<MenuItemDTO>> menu = groupByCategory(restaurantService.getMenuWithAvailability(restaurantId));
+        return new RestaurantPageDTO(restaurant, menu, summaryOf(restaurant), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.isRemote()) {
+            return; // The shared Redis document was evicted by the instance that made the write
+        }
+        switch (event.getChangeType()) {
+            case DELETED, UPDATED, RATING_CHANGED, MENU_CHANGED -> evict(event.getRestaurantId());
+            default -> {
+                // CREATED: nothing cached yet; SCHEDULE_CHANGED: not part of the page
+            }
+        }
+    }
+
+    @EventListener
+    public void onAvailabilityChanged(MenuAvailabilityChangedEvent event) {
+        evict(event.getRestaurantId());
+    }
+
+    private void evict(Long restaurantId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(restaurantId);
+        }
+    }
+
+    private Map<String, List<MenuItemDTO>> groupByCategory(List<MenuItemDTO> menuItems) {
+        return menuItems.stream().collect(Collectors.groupingBy(
+                item -> item.getCategory() != null ? item.getCategory() : UNCATEGORIZED,
+                TreeMap::new,
+                Collectors.toList()));
+    }
+
+    private RatingSummaryDTO summaryOf(RestaurantDTO restaurant) {
+        return new RatingSummaryDTO(restaurant.getRating(), restaurant.getTotalRatings());
+    }
+}
@@ -0,0 +1,116 @@
+package com.fooddelivery.restaurant.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * RESTAURANT RATING AGGREGATOR - Buffers incoming ratings
+ *
+ * After a promotion a popular restaurant can receive hundreds of ratings
+ * per minute. Instead of one read-modify-write per rating, ratings are:
+ * 1. Added to a striped per-restaurant accumulator (no locks, no DB)
+ * 2. Flushed periodically as ONE atomic SQL increment per restaurant
+ *    (see RestaurantRepository.addRatings)
+ *
+ * Each stripe holds a rating's sum and count in ONE long, so a drain
+ * (getAndSet(0) per stripe) always takes whole ratings: one that races
+ * with a flush lands either in this flush or entirely in the next.
+ * If a flush fails, the drained amounts are added back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantRatingAggregator {
+
+    private final RestaurantService restaurantService;
+
+    private final Map<Long, RatingAccumulator> accumulators = new ConcurrentHashMap<>();
+
+    /**
+     * RECORD ONE RATING (called per request)
+     */
+    public void record(Long restaurantId, double rating) {
+        // Written so NaN fails the check too
+        if (!(rating >= 1 && rating <= 5)) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        accumulators.computeIfAbsent(restaurantId, id -> new RatingAccumulator())
+                .add(Math.round(rating * RatingAccumulator.SCALE), 1);
+    }
+
+    /**
+     * FLUSH BUFFERED RATINGS TO MYSQL
+     */
+    @Scheduled(fixedDelayString = "${restaurant.rating.flush-interval-ms:5000}")
+    public void flush() {
+        accumulators.forEach((restaurantId, accumulator) -> {
+            RatingAccumulator.Drained drained = accumulator.drain();
+            long count = drained.count();
+            long scaledSum = drained.scaledSum();
+            if (count == 0) {
+                return;
+            }
+            try {
+                if (!restaurantService.applyRatings(restaurantId, (double) scaledSum / RatingAccumulator.SCALE, count)) {
+                    // Unknown restaurant: stop keeping an accumulator for it
+                    accumulators.remove(restaurantId, accumulator);
+                }
+            } catch (Exception e) {
+                log.error("Failed to flush {} ratings for restaurant {}, will retry: {}", count, restaurantId, e.getMessage());
+                accumulator.add(scaledSum, count);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Striped sum/count pair, LongAdder-style.
+     * Each stripe packs the scaled sum (upper 40 bits) and the count (lower
+     * 24 bits) into one long, and sits on its own cache line (PAD slots
+     * apart) so threads rating the same restaurant do not contend on one
+     * counter. A stripe holds up to 16.7M ratings between flushes.
+     */
+    private static final class RatingAccumulator {
+
+        // Ratings are stored as thousandths so sums stay exact in a long
+        static final long SCALE = 1000;
+
+        private static final int STRIPES = 8;
+        private static final int PAD = 8;
+        private static final int COUNT_BITS = 24;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PAD);
+
+        void add(long scaledSum, long count) {
+            int slot = ThreadLocalRandom.current().nextInt(STRIPES) * PAD;
+            cells.addAndGet(slot, (scaledSum << COUNT_BITS) + count);
+        }
+
+        Drained drain() {
+            long scaledSum = 0;
+            long count = 0;
+            for (int slot = 0; slot < cells.length(); slot += PAD) {
+                long packed = cells.getAndSet(slot, 0);
+                scaledSum += packed >>> COUNT_BITS;
+                count += packed & COUNT_MASK;
+            }
+            return new Drained(scaledSum, count);
+        }
+
+        record Drained(long scaledSum, long count) {
+        }
+    }
+}
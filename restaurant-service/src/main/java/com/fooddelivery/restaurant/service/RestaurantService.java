@@ -1,19 +1,46 @@
 package com.fooddelivery.restaurant.service;
 
+import com.fooddelivery.restaurant.cache.RedisGuard;
+import com.fooddelivery.restaurant.catalog.CuisineCatalogIndex;
+import com.fooddelivery.restaurant.dto.AutocompleteSuggestionDTO;
+import com.fooddelivery.restaurant.dto.CuisineFacetDTO;
+import com.fooddelivery.restaurant.dto.CursorPageDTO;
 import com.fooddelivery.restaurant.dto.MenuItemDTO;
+import com.fooddelivery.restaurant.dto.NearbyRestaurantDTO;
 import com.fooddelivery.restaurant.dto.RestaurantDTO;
 import com.fooddelivery.restaurant.entity.MenuItem;
 import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.RestaurantChangeType;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import com.fooddelivery.restaurant.geo.RestaurantGeoIndex;
 import com.fooddelivery.restaurant.repository.MenuItemRepository;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.schedule.OpeningScheduleIndex;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * RESTAURANT SERVICE LAYER
@@ -28,6 +55,7 @@ import java.util.stream.Collectors;
  * 
  * Caching Annotations:
  * @Cacheable: Stores method result in Redis cache
+ *   (sync = true: concurrent misses for one key share a single load, see CoalescingCache)
  * @CacheEvict: Removes data from cache when it's modified
  */
 @Service
@@ -37,13 +65,23 @@ public class RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
     private final MenuItemRepository menuItemRepository;
+    private final RestaurantGeoIndex geoIndex;
+    private final CuisineCatalogIndex catalogIndex;
+    private final OpeningScheduleIndex scheduleIndex;
+    private final AutocompleteService autocompleteService;
+    private final MenuAvailabilityService availabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheManager cacheManager;
+    private final RedisGuard redisGuard;
 
     /**
      * CREATE RESTAURANT
      * Converts DTO to Entity and saves to database
      */
     @Transactional
-    @CacheEvict(value = "restaurants", allEntries = true)
+    @CacheEvict(value = {"restaurants", "restaurantPages"}, allEntries = true)
     public RestaurantDTO createRestaurant(RestaurantDTO restaurantDTO) {
         log.info("Creating new restaurant: {}", restaurantDTO.getName());
         
@@ -51,6 +89,8 @@ public class RestaurantService {
         restaurant.setName(restaurantDTO.getName());
         restaurant.setCuisine(restaurantDTO.getCuisine());
         restaurant.setAddress(restaurantDTO.getAddress());
+        restaurant.setLatitude(restaurantDTO.getLatitude());
+        restaurant.setLongitude(restaurantDTO.getLongitude());
         restaurant.setPhone(restaurantDTO.getPhone());
         restaurant.setEmail(restaurantDTO.getEmail());
         restaurant.setIsActive(true);
@@ -58,7 +98,9 @@ public class RestaurantService {
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
         log.info("Restaurant created successfully with ID: {}", savedRestaurant.getId());
         
-        return convertToDTO(savedRestaurant);
+        RestaurantDTO createdDTO = convertToDTO(savedRestaurant);
+        publishChange(RestaurantChangeType.CREATED, createdDTO.getId(), createdDTO);
+        return createdDTO;
     }
 
     /**
@@ -66,7 +108,7 @@ public class RestaurantService {
      * Uses Redis cache - if restaurant is in cache, returns from cache
      * Otherwise, fetches from database and stores in cache
      */
-    @Cacheable(value = "restaurants", key = "#id")
+    @Cacheable(value = "restaurants", key = "#id", sync = true)
     public RestaurantDTO getRestaurantById(Long id) {
         log.info("Fetching restaurant with ID: {}", id);
         
@@ -76,11 +118,60 @@ public class RestaurantService {
         return convertToDTO(restaurant);
     }
 
+    /**
+     * GET RESTAURANTS BY IDS (batch lookup)
+     * 1. One Redis MGET for all ids (same entries getRestaurantById caches), through RedisGuard
+     * 2. One findAllById query for the misses, which are then cached
+     *    (under the DB fallback limit if Redis could not be reached)
+     * Unknown ids are skipped; results keep the request order.
+     */
+    public List<RestaurantDTO> getRestaurantsByIds(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        log.info("Fetching {} restaurants by ID", distinctIds.size());
+
+        Map<Long, RestaurantDTO> found = new LinkedHashMap<>();
+        List<String> keys = distinctIds.stream().map(id -> "restaurants::" + id).collect(Collectors.toList());
+        List<Object> cached = redisGuard.call("restaurants", "multiGet",
+                () -> redisTemplate.opsForValue().multiGet(keys), () -> null);
+        boolean redisUnavailable = cached == null;
+        for (int i = 0; cached != null && i < cached.size(); i++) {
+            if (cached.get(i) instanceof RestaurantDTO dto) {
+                found.put(distinctIds.get(i), dto);
+            }
+        }
+
+        List<Long> misses = distinctIds.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+        if (!misses.isEmpty()) {
+            Cache cache = cacheManager.getCache("restaurants");
+            List<Restaurant> loaded;
+            if (redisUnavailable) {
+                redisGuard.acquireDatabasePermit();
+                try {
+                    loaded = restaurantRepository.findAllById(misses);
+                } finally {
+                    redisGuard.releaseDatabasePermit();
+                }
+            } else {
+                loaded = restaurantRepository.findAllById(misses);
+            }
+            for (Restaurant restaurant : loaded) {
+                RestaurantDTO dto = convertToDTO(restaurant);
+                found.put(restaurant.getId(), dto);
+                if (cache != null) {
+                    cache.put(restaurant.getId(), dto);
+                }
+            }
+        }
+        log.debug("Batch lookup: {} cache hits, {} loaded from MySQL", distinctIds.size() - misses.size(), misses.size());
+
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     /**
      * GET ALL RESTAURANTS
      * Cached with key "all"
      */
-    @Cacheable(value = "restaurants", key = "'all'")
+    @Cacheable(value = "restaurants", key = "'all'", sync = true)
     public List<RestaurantDTO> getAllRestaurants() {
         log.info("Fetching all restaurants");
         
@@ -89,12 +180,45 @@ public class RestaurantService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * GET RESTAURANTS PAGE (keyset pagination)
+     * Each page is cached on its own, so Redis values stay page-sized
+     */
+    @Cacheable(value = "restaurantPages", key = "#afterId + ':' + #size", sync = true)
+    public CursorPageDTO<RestaurantDTO> getRestaurantsPage(Long afterId, int size) {
+        log.info("Fetching restaurants page after ID: {} (size {})", afterId, size);
+
+        List<Restaurant> rows = restaurantRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size, Restaurant::getId, this::convertToDTO);
+    }
+
+    /**
+     * STREAM ALL RESTAURANTS (NDJSON export)
+     * Rows are read through a streaming cursor and detached one by one,
+     * so neither the heap nor the persistence context grows with the catalogue
+     */
+    @Transactional(readOnly = true)
+    public void streamAllRestaurants(Consumer<RestaurantDTO> sink) {
+        log.info("Streaming restaurant export");
+
+        try (Stream<Restaurant> restaurants = restaurantRepository.streamAll()) {
+            restaurants.forEach(restaurant -> {
+                sink.accept(convertToDTO(restaurant));
+                entityManager.detach(restaurant);
+            });
+        }
+    }
+
     /**
      * SEARCH RESTAURANTS BY CUISINE
+     * Served from the in-memory catalog index (ranked) once it is loaded
      */
     public List<RestaurantDTO> getRestaurantsByCuisine(String cuisine) {
         log.info("Searching restaurants by cuisine: {}", cuisine);
-        
+
+        if (catalogIndex.isLoaded()) {
+            return catalogIndex.restaurantsOf(cuisine);
+        }
         return restaurantRepository.findByCuisineAndIsActiveTrue(cuisine).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -111,12 +235,59 @@ public class RestaurantService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * AUTOCOMPLETE restaurant, cuisine and dish names
+     * Served entirely from the in-memory prefix index (no MySQL / Redis access)
+     */
+    public List<AutocompleteSuggestionDTO> autocomplete(String prefix, int limit) {
+        log.debug("Autocomplete for prefix: {}", prefix);
+
+        return autocompleteService.complete(prefix, limit);
+    }
+
+    /**
+     * FIND RESTAURANTS NEAR A LOCATION
+     * Served entirely from the in-memory geo and schedule indexes (no MySQL / Redis access)
+     *
+     * @param openNow keep only restaurants open at this minute
+     */
+    public List<NearbyRestaurantDTO> findNearbyRestaurants(double latitude, double longitude, double radiusKm,
+                                                          String cuisine, int limit, boolean openNow) {
+        log.info("Searching restaurants within {} km of ({}, {})", radiusKm, latitude, longitude);
+
+        if (openNow) {
+            return geoIndex.findNearby(latitude, longitude, radiusKm, cuisine, limit,
+                    restaurant -> scheduleIndex.isOpenNow(restaurant.getId()));
+        }
+        return geoIndex.findNearby(latitude, longitude, radiusKm, cuisine, limit);
+    }
+
+    /**
+     * GET CUISINE FACETS (active restaurant count per cuisine)
+     * Served entirely from the in-memory catalog index
+     */
+    public List<CuisineFacetDTO> getCuisineFacets() {
+        log.info("Fetching cuisine facets");
+
+        return catalogIndex.facets();
+    }
+
+    /**
+     * GET TOP-RATED RESTAURANTS, overall or for one cuisine
+     * Served entirely from the in-memory catalog index
+     */
+    public List<RestaurantDTO> getTopRestaurants(String cuisine, int limit) {
+        log.info("Fetching top {} restaurants (cuisine: {})", limit, cuisine);
+
+        return catalogIndex.top(cuisine, limit);
+    }
+
     /**
      * UPDATE RESTAURANT
      * Evicts (removes) old data from cache
      */
     @Transactional
-    @CacheEvict(value = "restaurants", allEntries = true)
+    @CacheEvict(value = {"restaurants", "restaurantPages"}, allEntries = true)
     public RestaurantDTO updateRestaurant(Long id, RestaurantDTO restaurantDTO) {
         log.info("Updating restaurant with ID: {}", id);
         
@@ -126,13 +297,17 @@ public class RestaurantService {
         restaurant.setName(restaurantDTO.getName());
         restaurant.setCuisine(restaurantDTO.getCuisine());
         restaurant.setAddress(restaurantDTO.getAddress());
+        restaurant.setLatitude(restaurantDTO.getLatitude());
+        restaurant.setLongitude(restaurantDTO.getLongitude());
         restaurant.setPhone(restaurantDTO.getPhone());
         restaurant.setEmail(restaurantDTO.getEmail());
         
         Restaurant updatedRestaurant = restaurantRepository.save(restaurant);
         log.info("Restaurant updated successfully");
         
-        return convertToDTO(updatedRestaurant);
+        RestaurantDTO updatedDTO = convertToDTO(updatedRestaurant);
+        publishChange(RestaurantChangeType.UPDATED, id, updatedDTO);
+        return updatedDTO;
     }
 
     /**
@@ -140,7 +315,7 @@ public class RestaurantService {
      * Evicts cache entry
      */
     @Transactional
-    @CacheEvict(value = "restaurants", allEntries = true)
+    @CacheEvict(value = {"restaurants", "restaurantPages", "menuitems", "menuItemPages"}, allEntries = true)
     public void deleteRestaurant(Long id) {
         log.info("Deleting restaurant with ID: {}", id);
         
@@ -150,13 +325,14 @@ public class RestaurantService {
         
         restaurantRepository.deleteById(id);
         log.info("Restaurant deleted successfully");
+        publishChange(RestaurantChangeType.DELETED, id, null);
     }
 
     /**
      * ADD MENU ITEM TO RESTAURANT
      */
     @Transactional
-    @CacheEvict(value = "restaurants", allEntries = true)
+    @CacheEvict(value = {"restaurants", "menuitems", "menuItemPages"}, allEntries = true)
     public MenuItemDTO addMenuItem(MenuItemDTO menuItemDTO) {
         log.info("Adding menu item to restaurant ID: {}", menuItemDTO.getRestaurantId());
         
@@ -173,55 +349,89 @@ public class RestaurantService {
         menuItem.setIsVegetarian(menuItemDTO.getIsVegetarian());
         menuItem.setRestaurant(restaurant);
         
-        MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        MenuItem savedMenuItem;
+        try {
+            savedMenuItem = menuItemRepository.save(menuItem);
+        } catch (DataIntegrityViolationException e) {
+            // uk_menu_item_restaurant_name
+            throw new DataIntegrityViolationException("Menu item '" + menuItemDTO.getName()
+                    + "' already exists for restaurant " + restaurant.getId(), e);
+        }
         log.info("Menu item added successfully with ID: {}", savedMenuItem.getId());
+        publishChange(RestaurantChangeType.MENU_CHANGED, restaurant.getId(), null);
         
         return convertToMenuItemDTO(savedMenuItem);
     }
 
     /**
      * GET MENU ITEMS FOR A RESTAURANT
+     * Applies live sold-out / available overrides from MenuAvailabilityService
      */
     public List<MenuItemDTO> getMenuItems(Long restaurantId) {
         log.info("Fetching menu items for restaurant ID: {}", restaurantId);
-        
-        return menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId).stream()
-                .map(this::convertToMenuItemDTO)
+
+        Map<Long, Boolean> overrides = availabilityService.getOverrides(restaurantId);
+        List<MenuItem> menuItems = overrides.isEmpty()
+                ? menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId)
+                : menuItemRepository.findByRestaurantId(restaurantId).stream()
+                        .filter(menuItem -> availabilityService.isAvailable(menuItem, overrides))
+                        .collect(Collectors.toList());
+
+        return menuItems.stream()
+                .map(menuItem -> {
+                    MenuItemDTO dto = convertToMenuItemDTO(menuItem);
+                    dto.setIsAvailable(true);
+                    return dto;
+                })
                 .collect(Collectors.toList());
     }
 
     /**
-     * UPDATE RESTAURANT RATING
-     * Called by Rating Service
+     * GET FULL MENU WITH EFFECTIVE AVAILABILITY
+     * Includes sold-out items (isAvailable = false); used for the restaurant page document
+     */
+    public List<MenuItemDTO> getMenuWithAvailability(Long restaurantId) {
+        Map<Long, Boolean> overrides = availabilityService.getOverrides(restaurantId);
+
+        return menuItemRepository.findByRestaurantId(restaurantId).stream()
+                .map(menuItem -> {
+                    MenuItemDTO dto = convertToMenuItemDTO(menuItem);
+                    dto.setIsAvailable(availabilityService.isAvailable(menuItem, overrides));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * APPLY A BATCH OF RATINGS
+     * Called by RestaurantRatingAggregator on every flush.
+     * Single atomic SQL increment; only this restaurant's cache entry is evicted.
+     *
+     * @return false if the restaurant does not exist (ratings are dropped)
      */
     @Transactional
-    @CacheEvict(value = "restaurants", allEntries = true)
-    public void updateRating(Long restaurantId, Double newRating) {
-        log.info("Updating rating for restaurant ID: {}", restaurantId);
-        
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
-        
-        int currentTotal = restaurant.getTotalRatings();
-        double currentRating = restaurant.getRating();
-        
-        // Calculate new average rating
-        double totalRatingPoints = (currentRating * currentTotal) + newRating;
-        int newTotalRatings = currentTotal + 1;
-        double averageRating = totalRatingPoints / newTotalRatings;
-        
-        restaurant.setRating(Math.round(averageRating * 10.0) / 10.0); // Round to 1 decimal
-        restaurant.setTotalRatings(newTotalRatings);
-        
-        restaurantRepository.save(restaurant);
-        log.info("Rating updated successfully. New average: {}", restaurant.getRating());
+    @CacheEvict(value = "restaurants", key = "#restaurantId")
+    public boolean applyRatings(Long restaurantId, double ratingSum, long ratingCount) {
+        log.info("Applying {} ratings to restaurant ID: {}", ratingCount, restaurantId);
+
+        if (restaurantRepository.addRatings(restaurantId, ratingSum, ratingCount) == 0) {
+            log.warn("Dropping {} ratings for unknown restaurant ID: {}", ratingCount, restaurantId);
+            return false;
+        }
+
+        restaurantRepository.findById(restaurantId).ifPresent(restaurant -> {
+            RestaurantDTO dto = convertToDTO(restaurant);
+            log.info("Rating updated successfully. New average: {}", dto.getRating());
+            publishChange(RestaurantChangeType.RATING_CHANGED, restaurantId, dto);
+        });
+        return true;
     }
 
     /**
      * GET ALL MENUITEMS
      * Cached with key "all"
      */
-    @Cacheable(value = "menuitems", key = "'all'")
+    @Cacheable(value = "menuitems", key = "'all'", sync = true)
     public List<MenuItemDTO> getAllMenuitems(){
         List<MenuItem> menuItems = menuItemRepository.findAll();
         log.info("Fetching all menuitems");
@@ -229,6 +439,87 @@ public class RestaurantService {
        return menuItems.stream().map(this::convertToMenuItemDTO).collect(Collectors.toList());
     }
 
+    /**
+     * LOAD IN-MEMORY INDEXES ON STARTUP (geo index, cuisine catalog, autocomplete)
+     * After that the indexes are kept current through RestaurantChangedEvent,
+     * for writes on other instances via RestaurantEventConsumer
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInMemoryIndexes() {
+        List<RestaurantDTO> restaurants = restaurantRepository.findAll().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        restaurants.forEach(geoIndex::upsert);
+        catalogIndex.load(restaurants);
+        autocompleteService.load(restaurants);
+        log.info("In-memory indexes loaded: geo index {} restaurants, catalog index {} active restaurants",
+                geoIndex.size(), catalogIndex.size());
+    }
+
+    /**
+     * FOLLOW A WRITE MADE BY ANY INSTANCE (Called from RestaurantEventConsumer)
+     *
+     * Re-reads the restaurant and republishes the change in-process, marked
+     * remote, so the in-memory indexes of this instance catch up. Safe to
+     * repeat: the current row is applied, whatever order events arrive in.
+     */
+    public void applyRemoteChange(Long restaurantId, RestaurantChangeType changeType) {
+        RestaurantDTO restaurant = null;
+        if (changeType == RestaurantChangeType.CREATED || changeType == RestaurantChangeType.UPDATED
+                || changeType == RestaurantChangeType.RATING_CHANGED) {
+            restaurant = restaurantRepository.findById(restaurantId).map(this::convertToDTO).orElse(null);
+            if (restaurant == null) {
+                changeType = RestaurantChangeType.DELETED; // Deleted since
+            }
+        }
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, changeType, restaurant, true));
+    }
+
+    /**
+     * GET MENU ITEMS PAGE (keyset pagination)
+     */
+    @Cacheable(value = "menuItemPages", key = "#afterId + ':' + #size", sync = true)
+    public CursorPageDTO<MenuItemDTO> getMenuItemsPage(Long afterId, int size) {
+        log.info("Fetching menu items page after ID: {} (size {})", afterId, size);
+
+        List<MenuItem> rows = menuItemRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size, MenuItem::getId, this::convertToMenuItemDTO);
+    }
+
+    /**
+     * STREAM ALL MENU ITEMS (NDJSON export)
+     */
+    @Transactional(readOnly = true)
+    public void streamAllMenuItems(Consumer<MenuItemDTO> sink) {
+        log.info("Streaming menu item export");
+
+        try (Stream<MenuItem> menuItems = menuItemRepository.streamAll()) {
+            menuItems.forEach(menuItem -> {
+                sink.accept(convertToMenuItemDTO(menuItem));
+                entityManager.detach(menuItem);
+            });
+        }
+    }
+
+    /**
+     * HELPER METHOD: Build a cursor page from size + 1 fetched rows
+     */
+    private <E, D> CursorPageDTO<D> toCursorPage(List<E> rows, int size, Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> pageRows = hasMore ? rows.subList(0, size) : rows;
+        Long nextCursor = hasMore ? idOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+
+        List<D> items = pageRows.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * HELPER METHOD: Publish in-process change event
+     */
+    private void publishChange(RestaurantChangeType changeType, Long restaurantId, RestaurantDTO restaurant) {
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, changeType, restaurant));
+    }
+
     /**
      * HELPER METHOD: Convert Entity to DTO
      */
@@ -238,14 +529,28 @@ public class RestaurantService {
         dto.setName(restaurant.getName());
         dto.setCuisine(restaurant.getCuisine());
         dto.setAddress(restaurant.getAddress());
+        dto.setLatitude(restaurant.getLatitude());
+        dto.setLongitude(restaurant.getLongitude());
         dto.setPhone(restaurant.getPhone());
         dto.setEmail(restaurant.getEmail());
         dto.setIsActive(restaurant.getIsActive());
-        dto.setRating(restaurant.getRating());
+        dto.setRating(averageRating(restaurant));
         dto.setTotalRatings(restaurant.getTotalRatings());
         return dto;
     }
 
+    /**
+     * HELPER METHOD: Average rating derived from running sum / count
+     * Falls back to the stored average for rows that predate rating_sum
+     */
+    private Double averageRating(Restaurant restaurant) {
+        Integer count = restaurant.getTotalRatings();
+        if (restaurant.getRatingSum() == null || count == null || count == 0) {
+            return restaurant.getRating();
+        }
+        return Math.round(restaurant.getRatingSum() / count * 10.0) / 10.0;  // Round to 1 decimal
+    }
+
     /**
      * HELPER METHOD: Convert MenuItem Entity to DTO
      */
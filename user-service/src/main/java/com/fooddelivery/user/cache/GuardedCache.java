@@ -0,0 +1,224 @@
+package com.fooddelivery.user.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * GUARDED CACHE - Redis cache behind RedisGuard, with a local (L1) copy
+ *
+ * Every Redis call goes through RedisGuard (bulkhead, timeout, health gate).
+ * Values read or written through this instance are also kept in a small
+ * bounded local map. While Redis is unavailable:
+ * - reads are served from the local copy if it is younger than localMaxStale
+ * - misses (@Cacheable(sync = true)) load from MySQL under the guard's
+ *   DB fallback limit
+ * - evictions are remembered and re-sent once Redis answers again
+ *
+ * The local copy is only read while Redis is unavailable, because other
+ * instances' evictions do not reach it.
+ *
+ * Misses are coalesced per key (as in restaurant-service's CoalescingCache):
+ * the first caller runs the loader, concurrent callers for the same key wait
+ * for its result instead of all querying MySQL.
+ */
+public class GuardedCache implements Cache {
+
+    // Returned by guarded Redis reads that did not reach Redis (distinct from a miss)
+    private static final ValueWrapper UNAVAILABLE = new SimpleValueWrapper(null);
+
+    private final Cache delegate;
+    private final RedisGuard guard;
+    private final int localMaxEntries;
+    private final long localMaxStaleMillis;
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, LocalCopy> localCopies = new ConcurrentHashMap<>();
+    private final Set<Object> failedEvictions = ConcurrentHashMap.newKeySet();
+    private volatile boolean failedClear;
+
+    public GuardedCache(Cache delegate, RedisGuard guard, int localMaxEntries, Duration localMaxStale) {
+        this.delegate = delegate;
+        this.guard = guard;
+        this.localMaxEntries = localMaxEntries;
+        this.localMaxStaleMillis = localMaxStale.toMillis();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = redisGet(key);
+        if (cached == UNAVAILABLE) {
+            return localValue(key);
+        }
+        if (cached != null) {
+            remember(key, cached.get());
+        }
+        return cached;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper cached = get(key);
+        Object value = cached != null ? cached.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = redisGet(key);
+        if (cached == UNAVAILABLE) {
+            ValueWrapper local = localValue(key);
+            if (local != null) {
+                return (T) local.get();
+            }
+            return (T) loadOnce(key, valueLoader, true);
+        }
+        if (cached != null) {
+            remember(key, cached.get());
+            return (T) cached.get();
+        }
+        return (T) loadOnce(key, valueLoader, false);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remember(key, value);
+        guard.run(getName(), "put", () -> delegate.put(key, value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = guard.call(getName(), "putIfAbsent", () -> delegate.putIfAbsent(key, value), () -> null);
+        if (existing == null) {
+            remember(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        localCopies.remove(key);
+        if (!guard.run(getName(), "evict", () -> delegate.evict(key))) {
+            failedEvictions.add(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        localCopies.clear();
+        if (!guard.run(getName(), "clear", delegate::clear)) {
+            failedClear = true;
+        }
+    }
+
+    /**
+     * LOAD A MISSING KEY ONCE PER INSTANCE: concurrent callers for the key share the result
+     */
+    private Object loadOnce(Object key, Callable<?> valueLoader, boolean redisUnavailable) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            // The previous leader may have filled the entry between our miss and our claim
+            ValueWrapper cached = redisUnavailable ? null : redisGet(key);
+            if (cached == UNAVAILABLE) {
+                cached = null;
+                redisUnavailable = true;
+            }
+            Object value;
+            if (cached != null) {
+                value = cached.get();
+            } else {
+                value = redisUnavailable ? guard.loadFromDatabase(valueLoader) : valueLoader.call();
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            mine.complete(value);
+            return value;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * GUARDED REDIS READ: the entry, null on a miss, UNAVAILABLE if Redis was not reached
+     */
+    private ValueWrapper redisGet(Object key) {
+        retryFailedEvictions();
+        return guard.call(getName(), "get", () -> delegate.get(key), () -> UNAVAILABLE);
+    }
+
+    private void retryFailedEvictions() {
+        if (!guard.isHealthy() || (!failedClear && failedEvictions.isEmpty())) {
+            return;
+        }
+        if (failedClear) {
+            if (guard.run(getName(), "clear", delegate::clear)) {
+                failedClear = false;
+                failedEvictions.clear();
+            }
+            return;
+        }
+        for (Object key : failedEvictions) {
+            if (!guard.run(getName(), "evict", () -> delegate.evict(key))) {
+                return;
+            }
+            failedEvictions.remove(key);
+        }
+    }
+
+    private void remember(Object key, Object value) {
+        if (value == null || (localCopies.size() >= localMaxEntries && !localCopies.containsKey(key))) {
+            return;
+        }
+        localCopies.put(key, new LocalCopy(value, System.currentTimeMillis()));
+    }
+
+    private ValueWrapper localValue(Object key) {
+        LocalCopy copy = localCopies.get(key);
+        if (copy == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - copy.storedAt() > localMaxStaleMillis) {
+            localCopies.remove(key, copy);
+            return null;
+        }
+        return new SimpleValueWrapper(copy.value());
+    }
+
+    private record LocalCopy(Object value, long storedAt) {
+    }
+}
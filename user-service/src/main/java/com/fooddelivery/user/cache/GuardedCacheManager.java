@@ -0,0 +1,51 @@
+package com.fooddelivery.user.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * GUARDED CACHE MANAGER
+ *
+ * Wraps every cache of the underlying (Redis) CacheManager in a GuardedCache.
+ * All caches share one RedisGuard, so the Redis concurrency limit and
+ * health state are per instance, not per cache.
+ */
+public class GuardedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final RedisGuard guard;
+    private final int localMaxEntries;
+    private final Duration localMaxStale;
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public GuardedCacheManager(CacheManager delegate, RedisGuard guard, int localMaxEntries, Duration localMaxStale) {
+        this.delegate = delegate;
+        this.guard = guard;
+        this.localMaxEntries = localMaxEntries;
+        this.localMaxStale = localMaxStale;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new GuardedCache(target, guard, localMaxEntries, localMaxStale));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
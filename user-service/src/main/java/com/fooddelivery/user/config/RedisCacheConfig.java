@@ -0,0 +1,67 @@
+package com.fooddelivery.user.config;
+
+import com.fooddelivery.user.cache.GuardedCacheManager;
+import com.fooddelivery.user.cache.RedisGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * REDIS CACHE CONFIGURATION
+ *
+ * Redis is shared with the other services; when it slows down, request
+ * threads must not all block on it. The cache manager therefore:
+ * - bounds every command by spring.data.redis.timeout
+ * - routes every cache call through RedisGuard (bounded concurrency,
+ *   health gate, DB fallback limit, metrics)
+ * - serves the local copy of a value while Redis is unavailable
+ *
+ * Values are stored as JSON (UserDTO is not java.io.Serializable).
+ */
+@Configuration
+public class RedisCacheConfig {
+
+    @Bean
+    public RedisGuard redisGuard(MeterRegistry meterRegistry,
+                                 @Value("${user.cache.redis.max-concurrent:32}") int maxConcurrent,
+                                 @Value("${user.cache.redis.acquire-timeout:50ms}") Duration acquireTimeout,
+                                 @Value("${user.cache.redis.failure-threshold:5}") int failureThreshold,
+                                 @Value("${user.cache.redis.open-duration:5s}") Duration openDuration,
+                                 @Value("${user.cache.db-fallback.max-concurrent:8}") int dbMaxConcurrent,
+                                 @Value("${user.cache.db-fallback.acquire-timeout:500ms}") Duration dbAcquireTimeout) {
+        return new RedisGuard(maxConcurrent, acquireTimeout, failureThreshold, openDuration,
+                dbMaxConcurrent, dbAcquireTimeout, meterRegistry);
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     RedisGuard redisGuard,
+                                     @Value("${spring.cache.redis.time-to-live:30m}") Duration ttl,
+                                     @Value("${user.cache.local-max-entries:1000}") int localMaxEntries,
+                                     @Value("${user.cache.local-max-stale:30m}") Duration localMaxStale) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .serializeKeysWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .disableCachingNullValues();
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(config)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new GuardedCacheManager(redisCacheManager, redisGuard, localMaxEntries, localMaxStale);
+    }
+}
@@ -1,5 +1,6 @@
 package com.fooddelivery.user.exception;
 
+import com.fooddelivery.user.cache.CacheUnavailableException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -23,6 +24,12 @@ public class GlobalExceptionHandler {
          return error;
     }
 
+    // Redis unavailable and DB fallback saturated: ask the client to retry
+    @ExceptionHandler(CacheUnavailableException.class)
+    public ResponseEntity<String> handleCacheUnavailable(CacheUnavailableException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleException(RuntimeException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
@@ -65,7 +65,7 @@ public class UserService {
      * Simple authentication - checks email and password
      * In production: Use Spring Security with JWT tokens
      */
-    @Cacheable(value = "users", key = "#loginRequest.email")
+    @Cacheable(value = "users", key = "#loginRequest.email", sync = true)
     public UserDTO loginUser(LoginRequest loginRequest) {
         log.info("Login attempt for email: {}", loginRequest.getEmail());
 
@@ -85,7 +85,7 @@ public class UserService {
     /**
      * GET USER BY ID
      */
-    @Cacheable(value = "users", key = "#id")
+    @Cacheable(value = "users", key = "#id", sync = true)
     public UserDTO getUserById(Long id) {
         log.info("Fetching user with ID: {}", id);
 